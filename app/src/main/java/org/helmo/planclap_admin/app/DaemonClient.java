@@ -0,0 +1,93 @@
+package org.helmo.planclap_admin.app;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * Client léger du mode démon.
+ *
+ * <p>Le client ne charge ni catalogue ni bibliothèque JSON : il se connecte à la socket du démon,
+ * y recopie son entrée standard et affiche tout ce que le démon répond. Il s'utilise de façon
+ * interactive ou dans un script :</p>
+ * <pre>
+ *     printf "2\n4\n" | java ... DaemonClient --socket=/tmp/planclap.sock
+ * </pre>
+ * <p>La fin de l'entrée standard ferme la session, comme "Quitter".</p>
+ */
+public final class DaemonClient {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private DaemonClient() {
+    }
+
+    /**
+     * Point d'entrée du client.
+     *
+     * @param args {@code --socket=chemin/vers/la/socket}
+     */
+    public static void main(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--socket=")) {
+                run(Path.of(arg.substring(9)), System.in, System.out);
+                return;
+            }
+        }
+        System.out.println("argument requis socket manquant ou incorrect");
+    }
+
+    /**
+     * Relaie une session entre les flux donnés et le démon.
+     *
+     * @param socket le chemin de la socket du démon
+     * @param in l'entrée envoyée au démon
+     * @param out la sortie où la réponse du démon est recopiée
+     * @return true si la session a eu lieu, false si aucun démon n'écoute
+     */
+    static boolean run(Path socket, InputStream in, PrintStream out) {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            try {
+                channel.connect(UnixDomainSocketAddress.of(socket));
+            } catch (IOException e) {
+                out.println("Aucun démon à l'écoute sur " + socket);
+                return false;
+            }
+
+            Thread sender = Thread.ofPlatform().daemon().start(() -> send(in, channel));
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                out.write(buffer.array(), 0, buffer.position());
+                out.flush();
+                buffer.clear();
+            }
+            sender.interrupt();
+            return true;
+        } catch (IOException e) {
+            out.println("Connexion au démon interrompue");
+            return false;
+        }
+    }
+
+    /**
+     * Envoie l'entrée au démon puis signale sa fin en fermant le sens client vers démon.
+     */
+    private static void send(InputStream in, SocketChannel channel) {
+        byte[] bytes = new byte[BUFFER_SIZE];
+        try {
+            int count;
+            while ((count = in.read(bytes)) >= 0) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, count);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.shutdownOutput();
+        } catch (IOException e) {
+            // Le démon a fermé la session : plus rien à envoyer
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.helmo.planclap_admin.app;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.helmo.planclap_admin.views.TypeAheadReader;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+/**
+ * Serveur du mode démon : écoute sur une socket Unix et ouvre une session par connexion.
+ *
+ * <p>Le démon garde les catalogues chargés en mémoire d'une connexion à l'autre. Chaque client
+ * obtient son propre menu, lu et affiché à travers la connexion comme s'il s'agissait de la
+ * console ; la session se termine quand le client choisit "Quitter" ou ferme sa connexion.
+ * Les sessions s'exécutent en parallèle, chacune sur son propre thread.</p>
+ */
+final class DaemonServer {
+
+    private static final Logger logger = LogManager.getLogger(DaemonServer.class);
+
+    /**
+     * Session d'un client : reçoit les flux de la connexion et rend la main quand elle se termine.
+     */
+    @FunctionalInterface
+    interface Session {
+        void run(TypeAheadReader in, PrintStream out);
+    }
+
+    private final Path socket;
+    private final Executor executor;
+    private final Session session;
+
+    /**
+     * @param socket le chemin de la socket Unix
+     * @param executor l'exécuteur des sessions
+     * @param session la session ouverte pour chaque connexion
+     */
+    DaemonServer(Path socket, Executor executor, Session session) {
+        this.socket = socket;
+        this.executor = executor;
+        this.session = session;
+    }
+
+    /**
+     * Écoute et accepte les connexions jusqu'à l'arrêt du processus.
+     * Une socket laissée par un démon arrêté est remplacée ; la socket est supprimée à l'arrêt.
+     *
+     * @param onListening appelé une fois la socket ouverte, avant la première connexion
+     * @throws IOException si la socket ne peut pas être ouverte
+     * @throws IllegalStateException si un démon écoute déjà sur ce chemin
+     */
+    void run(Runnable onListening) throws IOException {
+        removeStaleSocket();
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+            Runtime.getRuntime().addShutdownHook(new Thread(this::deleteSocket));
+            logger.info("Démon à l'écoute sur {}", socket);
+            onListening.run();
+            while (true) {
+                SocketChannel client = server.accept();
+                executor.execute(() -> serve(client));
+            }
+        } finally {
+            deleteSocket();
+        }
+    }
+
+    private void serve(SocketChannel client) {
+        logger.info("Session ouverte");
+        try (client) {
+            TypeAheadReader in = new TypeAheadReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+            PrintStream out = new PrintStream(Channels.newOutputStream(client), true, StandardCharsets.UTF_8);
+            session.run(in, out);
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Session interrompue", e);
+        }
+        logger.info("Session fermée");
+    }
+
+    /**
+     * Supprime la socket d'un démon qui n'est plus en cours d'exécution.
+     */
+    private void removeStaleSocket() throws IOException {
+        if (!Files.exists(socket)) {
+            return;
+        }
+        if (isListening()) {
+            throw new IllegalStateException("Un démon écoute déjà sur " + socket);
+        }
+        // Personne n'écoute : la socket est celle d'un démon arrêté
+        Files.deleteIfExists(socket);
+    }
+
+    /**
+     * @return true si un démon accepte les connexions sur la socket
+     */
+    private boolean isListening() {
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socket)).close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteSocket() {
+        try {
+            Files.deleteIfExists(socket);
+        } catch (IOException e) {
+            logger.warn("Impossible de supprimer la socket {}", socket, e);
+        }
+    }
+}
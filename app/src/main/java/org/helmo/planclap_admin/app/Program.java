@@ -3,12 +3,26 @@
  */
 package org.helmo.planclap_admin.app;
 
+import org.helmo.planclap_admin.domains.MovieRepository;
+import org.helmo.planclap_admin.domains.PlanningRepository;
+import org.helmo.planclap_admin.domains.ScheduleConstraints;
+import org.helmo.planclap_admin.domains.SchedulerService;
 import org.helmo.planclap_admin.presentations.*;
 import org.helmo.planclap_admin.presentations.commands.*;
 import org.helmo.planclap_admin.views.*;
+import org.helmo.planclap_admin.infrastructures.CatalogResources;
+import org.helmo.planclap_admin.infrastructures.CsvPlanningRepository;
+import org.helmo.planclap_admin.infrastructures.JsonCatalogReconciler;
 import org.helmo.planclap_admin.infrastructures.JsonMovieRepository;
+import org.helmo.planclap_admin.infrastructures.JsonScheduleCache;
+import org.helmo.planclap_admin.infrastructures.OffHeapMovieRepository;
 
 import java.io.*;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * La classe {@code Program} constitue le point d’entrée principal de l’application
@@ -17,12 +31,35 @@ import java.io.*;
  * couches de l’architecture MVP (Model-View-Presenter), puis lance la boucle principale
  * du menu CLI.</p>
  *
- * <p>Le programme doit être exécuté avec l’argument obligatoire :
+ * <p>Le programme doit être exécuté avec au moins un argument :
  * <pre>
  *     --dir=chemin/vers/le/dossier
  * </pre>
  * où le dossier spécifié contient (ou contiendra) le fichier {@code movies.json}
  * utilisé pour charger les films à planifier.</p>
+ *
+ * <p>Plusieurs cinémas peuvent être gérés par la même application en répétant l'argument,
+ * éventuellement précédé d'un nom ({@code --dir=liege=c:/data/liege --dir=namur=c:/data/namur}).
+ * Chaque cinéma a son propre repository et son propre menu ; les ressources des repositories
+ * sont partagées et les catalogues sont chargés en parallèle, en arrière-plan, dès le démarrage.
+ * Le menu principal permet alors aussi de comparer deux catalogues et de fusionner l'un dans
+ * l'autre.</p>
+ *
+ * <p>Avec {@code --daemon=chemin/vers/la/socket}, le programme reste résident : les catalogues
+ * sont chargés une fois et chaque client qui se connecte à la socket Unix obtient son propre menu.
+ * {@code --client=chemin/vers/la/socket} lance le client léger (voir {@link DaemonClient}),
+ * sans charger de catalogue.</p>
+ *
+ * <p>{@code --cleaning-gap=minutes} impose un temps de nettoyage entre deux séances d'une salle
+ * lors de la planification de la semaine (aucun par défaut), et {@code --rooms=nombre} le nombre
+ * de salles entre lesquelles les séances sont réparties (une par défaut). {@code --cinecheck-windows}
+ * réserve les soirées aux films « 16 » et « 18 » et les après-midi aux films « AL »
+ * (voir {@link ScheduleConstraints.Builder#defaultCinecheckWindows()}) ; sans cette option, un
+ * film peut commencer à toute heure d'ouverture.</p>
+ *
+ * <p>{@code --off-heap} conserve le catalogue hors du tas (voir {@link OffHeapMovieRepository}),
+ * pour les très gros catalogues. Cette option ne gère qu'un seul cinéma : la comparaison et la
+ * fusion des catalogues passent par {@link JsonMovieRepository}.</p>
  */
 public class Program {
 
@@ -34,56 +71,230 @@ public class Program {
     public static void main(String[] args) {
 
         // 1. Analyse des arguments de la ligne de commande
-        // On cherche l’argument commençant par "--dir=" afin d’obtenir le chemin du dossier de travail.
-        String dirPath = null;
+        // Chaque argument commençant par "--dir=" désigne le dossier de travail d'un cinéma,
+        // éventuellement nommé ("--dir=nom=chemin"). Sans nom, le nom du dossier est utilisé.
+        // "--daemon=socket" lance le mode démon, "--client=socket" se connecte à un démon.
+        Map<String, File> directories = new LinkedHashMap<>();
+        String daemonSocket = null;
+        int cleaningGap = 0;
+        int rooms = 1;
+        boolean offHeap = false;
+        boolean cinecheckWindows = false;
         for (String arg : args) {
+            if (arg.startsWith("--client=")) {
+                // Client léger : aucun catalogue n'est chargé
+                DaemonClient.run(Path.of(arg.substring(9)), System.in, System.out);
+                return;
+            }
+            if (arg.startsWith("--daemon=")) {
+                daemonSocket = arg.substring(9);
+            }
+            if (arg.equals("--off-heap")) {
+                offHeap = true;
+            }
+            if (arg.equals("--cinecheck-windows")) {
+                cinecheckWindows = true;
+            }
+            if (arg.startsWith("--cleaning-gap=")) {
+                try {
+                    cleaningGap = Integer.parseInt(arg.substring(15));
+                } catch (NumberFormatException e) {
+                    cleaningGap = -1;
+                }
+                if (cleaningGap < 0) {
+                    System.out.println("argument cleaning-gap incorrect");
+                    return;
+                }
+            }
+            if (arg.startsWith("--rooms=")) {
+                try {
+                    rooms = Integer.parseInt(arg.substring(8));
+                } catch (NumberFormatException e) {
+                    rooms = 0;
+                }
+                if (rooms < 1 || rooms > SchedulerService.MAX_ROOMS) {
+                    System.out.println("argument rooms incorrect");
+                    return;
+                }
+            }
             if (arg.startsWith("--dir=")) {
-                dirPath = arg.substring(6); // On extrait la partie après "--dir="
-                break;
+                String value = arg.substring(6); // On extrait la partie après "--dir="
+                int separator = value.indexOf('=');
+                File directory = new File(separator < 0 ? value : value.substring(separator + 1));
+                String name = separator < 0 ? directory.getName() : value.substring(0, separator);
+
+                // 2. Validation du dossier fourni
+                // Un dossier invalide ou un nom en double arrête le programme.
+                if (!directory.isDirectory() || directories.putIfAbsent(name, directory) != null) {
+                    System.out.println("argument requis dir manquant ou incorrect");
+                    return;
+                }
             }
         }
-
-        // 2. Validation du dossier fourni
-        // Si aucun argument ou un dossier invalide est passé, on affiche un message d’erreur et on arrête le programme.
-        if (dirPath == null || !new File(dirPath).isDirectory()) {
+        if (directories.isEmpty()) {
             System.out.println("argument requis dir manquant ou incorrect");
             return;
         }
+        if (offHeap && directories.size() > 1) {
+            System.out.println("argument off-heap incompatible avec plusieurs dossiers");
+            return;
+        }
 
-        // 3. Initialisation du pattern MVP
-        // Création du répertoire de travail à partir du chemin fourni.
-        File directory = new File(dirPath);
-        // Le repository gère la lecture du fichier JSON contenant les films.
-        JsonMovieRepository repository = new JsonMovieRepository(directory);
+        // 3. Initialisation d'un repository par cinéma, avec des ressources communes
+        CatalogResources resources = CatalogResources.shared();
+        Map<String, MovieRepository> repositories = new LinkedHashMap<>();
+        Map<String, JsonMovieRepository> jsonRepositories = new LinkedHashMap<>();
+        if (offHeap) {
+            directories.forEach((name, directory) -> repositories.put(name, new OffHeapMovieRepository(directory)));
+        } else {
+            directories.forEach((name, directory) -> jsonRepositories.put(name, new JsonMovieRepository(directory, resources)));
+            repositories.putAll(jsonRepositories);
+        }
+        // Plusieurs cinémas (ou le démon) : les catalogues sont chargés en parallèle, en arrière-plan,
+        // pendant que le menu s'ouvre. Avec un seul cinéma, rien n'est chargé d'avance : les premières
+        // recherches passent par l'index annexe et la liste des films est lue au fil de l'affichage.
+        if (repositories.size() > 1 || daemonSocket != null) {
+            repositories.values().forEach(repository -> CompletableFuture.runAsync(repository::view, resources.executor())
+                    .exceptionally(e -> null)); // Une erreur de chargement sera signalée par les commandes du cinéma
+        }
+        JsonCatalogReconciler reconciler = new JsonCatalogReconciler(jsonRepositories);
+        Map<String, PlanningRepository> plannings = new LinkedHashMap<>();
+        directories.forEach((name, directory) -> plannings.put(name, new CsvPlanningRepository(directory)));
+        ScheduleConstraints constraints = cinecheckWindows
+                ? ScheduleConstraints.builder().defaultCinecheckWindows().build()
+                : ScheduleConstraints.defaults();
+        SchedulerService scheduler = new SchedulerService(ForkJoinPool.commonPool(), SchedulerService.DEFAULT_BUDGET, cleaningGap, rooms)
+                .withConstraints(constraints);
+        Map<String, SchedulerService> schedulers = new LinkedHashMap<>();
+        directories.forEach((name, directory) -> schedulers.put(name, scheduler.withCache(new JsonScheduleCache(directory))));
 
-        // 4. Configuration des flux d'entrée/sortie
-        BufferedReader cin = new BufferedReader(new InputStreamReader(System.in));
+        // 4. Mode démon : les catalogues restent chargés, chaque connexion reçoit son propre menu
+        if (daemonSocket != null) {
+            try {
+                Path socket = Path.of(daemonSocket);
+                new DaemonServer(socket, resources.executor(),
+                        (in, out) -> runSession(repositories, plannings, schedulers, reconciler, in, out))
+                        .run(() -> System.out.println("Démon à l'écoute sur " + socket));
+            } catch (IOException | IllegalStateException e) {
+                System.out.println("Impossible de lancer le démon : " + e.getMessage());
+            }
+            return;
+        }
+
+        // 5. Configuration des flux d'entrée/sortie et du menu CLI
+        TypeAheadReader cin = new TypeAheadReader(new InputStreamReader(System.in));
         PrintStream cout = System.out;
+        CommandMap menu = createMainMenu(repositories, plannings, schedulers, reconciler, cin, cout);
+
+        // 6. Lancement du menu principal
+        try {
+            menu.execute();
+        } catch (ApplicationQuitException e) {
+            // L'utilisateur a choisi de quitter
+        }
+
+        System.out.println("Fermeture de l'application");
+    }
 
-        // 5. Initialisation des vues
-        MovieListCLIView movieListView = new MovieListCLIView();
+    /**
+     * Exécute la session d'un client du démon, avec ses propres vues et présentateurs.
+     * Les abonnements des présentateurs aux catalogues partagés sont retirés à la fin de la session.
+     *
+     * @param repositories les repositories partagés, par cinéma
+     * @param plannings les repositories des plannings, par cinéma
+     * @param schedulers les services de planification, par cinéma
+     * @param reconciler la comparaison des catalogues
+     * @param in l'entrée du client
+     * @param out la sortie du client
+     */
+    private static void runSession(Map<String, MovieRepository> repositories, Map<String, PlanningRepository> plannings,
+                                   Map<String, SchedulerService> schedulers, JsonCatalogReconciler reconciler,
+                                   TypeAheadReader in, PrintStream out) {
+        Map<String, SessionMovieRepository> sessions = new LinkedHashMap<>();
+        repositories.forEach((name, repository) -> sessions.put(name, new SessionMovieRepository(repository)));
+        try {
+            createMainMenu(sessions, plannings, schedulers, reconciler, in, out).execute();
+        } catch (ApplicationQuitException e) {
+            // Le client a choisi de quitter
+        } finally {
+            sessions.values().forEach(SessionMovieRepository::close);
+        }
+        out.println("Fermeture de la session");
+    }
+
+    /**
+     * Construit le menu principal : le menu du cinéma s'il n'y en a qu'un,
+     * sinon un sous-menu par cinéma et la comparaison des catalogues.
+     *
+     * @param repositories les repositories, par cinéma
+     * @param plannings les repositories des plannings, par cinéma
+     * @param schedulers les services de planification, par cinéma
+     * @param reconciler la comparaison des catalogues
+     * @param cin le flux d'entrée
+     * @param cout le flux de sortie
+     * @return le menu principal
+     */
+    private static CommandMap createMainMenu(Map<String, ? extends MovieRepository> repositories,
+                                             Map<String, PlanningRepository> plannings,
+                                             Map<String, SchedulerService> schedulers,
+                                             JsonCatalogReconciler reconciler, TypeAheadReader cin, PrintStream cout) {
+        if (repositories.size() == 1) {
+            String name = repositories.keySet().iterator().next();
+            return createCinemaMenu(repositories.get(name), plannings.get(name), schedulers.get(name), cin, cout,
+                    "MENU PRINCIPAL");
+        }
+        CommandMap menu = new CommandMap(cin, cout);
+        repositories.forEach((name, repository) ->
+                menu.addItem("Cinéma " + name, createCinemaMenu(repository, plannings.get(name), schedulers.get(name),
+                        cin, cout, "CINÉMA " + name.toUpperCase())));
+
+        // Comparaison et fusion des catalogues (par exemple préparation -> production)
+        CompareCatalogsPresenter compareCatalogsPresenter = new CompareCatalogsPresenter(
+                reconciler, new CompareCatalogsCLIView(cin, cout));
+        menu.addItem("Comparer deux catalogues", new CompareCatalogsCommand(compareCatalogsPresenter));
+        return menu;
+    }
+
+    /**
+     * Initialise les vues, les présentateurs et le menu d'un cinéma (pattern MVP).
+     *
+     * @param repository le repository des films du cinéma
+     * @param planningRepository le repository des plannings du cinéma
+     * @param scheduler le service de planification
+     * @param cin le flux d'entrée
+     * @param cout le flux de sortie
+     * @param title le titre du menu
+     * @return le menu du cinéma
+     */
+    private static CommandMap createCinemaMenu(MovieRepository repository, PlanningRepository planningRepository,
+                                               SchedulerService scheduler, TypeAheadReader cin, PrintStream cout,
+                                               String title) {
+        // Initialisation des vues
+        MovieListCLIView movieListView = new MovieListCLIView(cout);
         AddMovieCLIView addMovieView = new AddMovieCLIView(cin, cout);
         ConsultMovieCLIView consultMovieCLIView = new ConsultMovieCLIView(cin, cout);
+        BrowseMoviesCLIView browseMoviesView = new BrowseMoviesCLIView(cin, cout);
+        FindDuplicatesCLIView findDuplicatesView = new FindDuplicatesCLIView(cin, cout);
+        ScheduleWeekCLIView scheduleWeekView = new ScheduleWeekCLIView(cin, cout);
 
-        // 6. Initialisation des présentateurs
+        // Initialisation des présentateurs
         MoviePresenter moviePresenter = new MoviePresenter(repository, movieListView);
         AddMoviePresenter addMoviePresenter = new AddMoviePresenter(repository, addMovieView);
         ConsultMoviePresenter consultMoviePresenter = new ConsultMoviePresenter(repository, consultMovieCLIView);
+        BrowseMoviesPresenter browseMoviesPresenter = new BrowseMoviesPresenter(repository, browseMoviesView);
+        FindDuplicatesPresenter findDuplicatesPresenter = new FindDuplicatesPresenter(repository, findDuplicatesView);
+        ScheduleWeekPresenter scheduleWeekPresenter = new ScheduleWeekPresenter(repository, planningRepository,
+                scheduler, scheduleWeekView);
 
-        // 7. Configuration du menu CLI
-        CommandMap menu = new CommandMap(cin, cout);
+        // Configuration du menu CLI
+        CommandMap menu = new CommandMap(cin, cout, title);
         menu.addItem("Lister les films à planifier", new ListMoviesCommand(moviePresenter));
         menu.addItem("Encoder un film", new AddMovieCommand(addMoviePresenter));
         menu.addItem("Consulter un film", new ConsultMovieCommand(consultMoviePresenter));
+        menu.addItem("Parcourir les films", new BrowseMoviesCommand(browseMoviesPresenter));
+        menu.addItem("Détecter les doublons", new FindDuplicatesCommand(findDuplicatesPresenter));
+        menu.addItem("Planifier la semaine", new ScheduleWeekCommand(scheduleWeekPresenter));
         // TODO: Ajouter les autres commandes pour les US suivantes
-
-        // 8. Lancement du menu principal
-        try {
-            menu.execute();
-        } catch (ApplicationQuitException e) {
-            // L'utilisateur a choisi de quitter
-        }
-
-        System.out.println("Fermeture de l'application");
+        return menu;
     }
-}
\ No newline at end of file
+}
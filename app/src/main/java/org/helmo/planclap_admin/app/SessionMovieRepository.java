@@ -0,0 +1,120 @@
+package org.helmo.planclap_admin.app;
+
+import org.helmo.planclap_admin.domains.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Accès au repository partagé pour une seule session client du démon.
+ *
+ * <p>Les présentateurs s'abonnent aux modifications du catalogue pour tenir leurs caches à jour.
+ * En mode démon, chaque connexion crée ses propres présentateurs : leurs abonnements sont
+ * retenus ici et retirés du repository partagé à la fin de la session, sans quoi ils
+ * s'accumuleraient d'une connexion à l'autre. Tous les autres appels sont délégués tels quels.</p>
+ */
+final class SessionMovieRepository implements MovieRepository, AutoCloseable {
+
+    private final MovieRepository repository;
+    private final Set<CatalogListener> listeners = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param repository le repository partagé par toutes les sessions
+     */
+    SessionMovieRepository(MovieRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<Movie> loadMovies() {
+        return repository.loadMovies();
+    }
+
+    @Override
+    public Flow.Publisher<Movie> streamMovies() {
+        return repository.streamMovies();
+    }
+
+    @Override
+    public void saveMovies(List<Movie> movies) {
+        repository.saveMovies(movies);
+    }
+
+    @Override
+    public List<Movie> find(MovieQuery query) {
+        return repository.find(query);
+    }
+
+    @Override
+    public Optional<Movie> findByTitleOrSlug(String searchTerm) {
+        return repository.findByTitleOrSlug(searchTerm);
+    }
+
+    @Override
+    public boolean existsByTitle(String title) {
+        return repository.existsByTitle(title);
+    }
+
+    @Override
+    public boolean existsBySlug(String slug) {
+        return repository.existsBySlug(slug);
+    }
+
+    @Override
+    public void addMovie(Movie movie) {
+        repository.addMovie(movie);
+    }
+
+    @Override
+    public int getTotalMinutesToSchedule() {
+        return repository.getTotalMinutesToSchedule();
+    }
+
+    @Override
+    public CatalogSnapshot snapshot() {
+        return repository.snapshot();
+    }
+
+    @Override
+    public CatalogView view() {
+        return repository.view();
+    }
+
+    @Override
+    public void replaceMovie(Movie movie) {
+        repository.replaceMovie(movie);
+    }
+
+    @Override
+    public void addListener(CatalogListener listener) {
+        listeners.add(listener);
+        repository.addListener(listener);
+    }
+
+    @Override
+    public void addListener(CatalogListener listener, Executor executor) {
+        listeners.add(listener);
+        repository.addListener(listener, executor);
+    }
+
+    @Override
+    public void removeListener(CatalogListener listener) {
+        listeners.remove(listener);
+        repository.removeListener(listener);
+    }
+
+    /**
+     * Désabonne tous les observateurs inscrits pendant la session.
+     */
+    @Override
+    public void close() {
+        for (CatalogListener listener : listeners) {
+            repository.removeListener(listener);
+        }
+        listeners.clear();
+    }
+}
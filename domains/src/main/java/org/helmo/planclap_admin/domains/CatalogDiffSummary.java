@@ -0,0 +1,20 @@
+package org.helmo.planclap_admin.domains;
+
+/**
+ * Bilan d'une comparaison ou d'une fusion de deux catalogues.
+ *
+ * @param added le nombre de films présents uniquement dans la source
+ * @param removed le nombre de films présents uniquement dans la cible
+ * @param changed le nombre de films modifiés
+ * @param rejected le nombre de films qui n'ont pas pu être fusionnés
+ *                 (par exemple un titre déjà porté par un autre film de la cible)
+ */
+public record CatalogDiffSummary(int added, int removed, int changed, int rejected) {
+
+    /**
+     * @return true si les deux catalogues ont le même contenu
+     */
+    public boolean isEmpty() {
+        return added == 0 && removed == 0 && changed == 0;
+    }
+}
@@ -0,0 +1,93 @@
+package org.helmo.planclap_admin.domains;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Registre des observateurs d'un catalogue et diffusion des événements.
+ *
+ * <p>Un observateur est notifié soit de façon synchrone (dans le thread qui modifie
+ * le catalogue, avant le retour de la méthode du repository), soit de façon asynchrone
+ * via l'{@link Executor} fourni à l'abonnement. Une exception levée par un observateur
+ * est journalisée et n'interrompt ni la modification ni les autres notifications.</p>
+ */
+public class CatalogEvents {
+
+    private static final Logger logger = LogManager.getLogger(CatalogEvents.class);
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Abonne un observateur notifié de façon synchrone.
+     *
+     * @param listener l'observateur
+     */
+    public void subscribe(CatalogListener listener) {
+        subscriptions.add(new Subscription(listener, null));
+    }
+
+    /**
+     * Abonne un observateur notifié de façon asynchrone.
+     *
+     * @param listener l'observateur
+     * @param executor l'exécuteur dans lequel les notifications sont délivrées
+     */
+    public void subscribe(CatalogListener listener, Executor executor) {
+        subscriptions.add(new Subscription(listener, executor));
+    }
+
+    /**
+     * Désabonne un observateur (toutes ses inscriptions).
+     *
+     * @param listener l'observateur
+     */
+    public void unsubscribe(CatalogListener listener) {
+        subscriptions.removeIf(s -> s.listener == listener);
+    }
+
+    public void fireMovieAdded(Movie movie) {
+        fire(l -> l.onMovieAdded(movie));
+    }
+
+    public void fireMovieReplaced(Movie previous, Movie movie) {
+        fire(l -> l.onMovieReplaced(previous, movie));
+    }
+
+    public void fireMoviesSaved(List<Movie> movies) {
+        List<Movie> snapshot = List.copyOf(movies);
+        fire(l -> l.onMoviesSaved(snapshot));
+    }
+
+    private void fire(Consumer<CatalogListener> event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.executor == null) {
+                deliver(subscription.listener, event);
+            } else {
+                subscription.executor.execute(() -> deliver(subscription.listener, event));
+            }
+        }
+    }
+
+    private static void deliver(CatalogListener listener, Consumer<CatalogListener> event) {
+        try {
+            event.accept(listener);
+        } catch (RuntimeException e) {
+            logger.warn("Un observateur du catalogue a échoué", e);
+        }
+    }
+
+    private static final class Subscription {
+        private final CatalogListener listener;
+        private final Executor executor;
+
+        private Subscription(CatalogListener listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.List;
+
+/**
+ * Observateur des modifications du catalogue de films.
+ *
+ * <p>Les structures dérivées du catalogue (index, totaux, caches de vues) s'abonnent
+ * auprès d'un {@link MovieRepository} pour se mettre à jour au fil des modifications,
+ * sans recharger tout le catalogue. Toutes les méthodes ont une implémentation vide
+ * par défaut : un observateur ne redéfinit que les événements qui l'intéressent.</p>
+ */
+public interface CatalogListener {
+
+    /**
+     * Un film a été ajouté à la fin du catalogue.
+     *
+     * @param movie le film ajouté
+     */
+    default void onMovieAdded(Movie movie) {
+    }
+
+    /**
+     * Un film existant a été remplacé (même slug).
+     *
+     * @param previous le film avant modification
+     * @param movie le film après modification
+     */
+    default void onMovieReplaced(Movie previous, Movie movie) {
+    }
+
+    /**
+     * Le catalogue complet a été sauvegardé et remplace le précédent.
+     *
+     * @param movies les films du nouveau catalogue, dans l'ordre
+     */
+    default void onMoviesSaved(List<Movie> movies) {
+    }
+}
@@ -0,0 +1,40 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Comparaison et fusion de catalogues gérés par l'application, désignés par leur nom
+ * (par exemple un catalogue de préparation et celui de production).
+ */
+public interface CatalogReconciler {
+
+    /**
+     * @return les noms des catalogues disponibles
+     */
+    List<String> catalogNames();
+
+    /**
+     * Compare deux catalogues. Les différences sont transmises au fur et à mesure,
+     * par ordre de slug, sans que les catalogues soient entièrement chargés en mémoire.
+     *
+     * @param source le nom du catalogue de référence
+     * @param target le nom du catalogue comparé
+     * @param changes reçoit chaque différence à appliquer à la cible pour obtenir la source
+     * @return le bilan de la comparaison
+     * @throws IllegalArgumentException si un des noms est inconnu
+     */
+    CatalogDiffSummary diff(String source, String target, Consumer<MovieChange> changes);
+
+    /**
+     * Fusionne un catalogue dans un autre : les films ajoutés et modifiés dans la source
+     * sont écrits dans la cible, en une seule écriture. Les films absents de la source
+     * sont conservés.
+     *
+     * @param source le nom du catalogue de référence
+     * @param target le nom du catalogue modifié
+     * @return le bilan de la fusion
+     * @throws IllegalArgumentException si un des noms est inconnu
+     */
+    CatalogDiffSummary merge(String source, String target);
+}
@@ -0,0 +1,248 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Version immuable du catalogue de films.
+ *
+ * <p>Une commande complète (par exemple l'encodage d'un film) travaille sur un seul instantané :
+ * toutes ses vérifications voient le même catalogue, quelles que soient les écritures
+ * faites entre-temps, et les relectures ne coûtent rien.</p>
+ *
+ * <p>Les films et les index (slug, titre) sont conservés dans des collections persistantes
+ * ({@link PersistentVector}, {@link PersistentHashMap}) : {@link #withMovie(Movie)} construit
+ * la version suivante en O(log n) en partageant la quasi-totalité de la structure avec
+ * l'instantané courant, qui reste valable pour ses lecteurs.</p>
+ *
+ * <p>Les index secondaires utilisés par {@link #find(MovieQuery)} sont construits une seule fois
+ * par instantané, à la première requête.</p>
+ */
+public final class CatalogSnapshot implements CatalogView {
+
+    /** Nombre de minutes de séances (exclu) que le catalogue ne peut atteindre : les 77 heures d'une semaine. */
+    public static final int MAX_TOTAL_MINUTES = 77 * 60;
+
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(0, PersistentVector.empty(),
+            PersistentHashMap.empty(), PersistentHashMap.empty(), 0);
+
+    private final long version;
+    private final PersistentVector<Movie> movies;
+    // Slug en minuscules -> position du film
+    private final PersistentHashMap<String, Integer> slugs;
+    // Titre en minuscules -> nombre de films portant ce titre
+    private final PersistentHashMap<String, Integer> titles;
+    private final int totalMinutes;
+    // Index des requêtes (construit à la demande)
+    private volatile MovieQueryIndex queryIndex;
+
+    private CatalogSnapshot(long version, PersistentVector<Movie> movies, PersistentHashMap<String, Integer> slugs,
+                            PersistentHashMap<String, Integer> titles, int totalMinutes) {
+        this.version = version;
+        this.movies = movies;
+        this.slugs = slugs;
+        this.titles = titles;
+        this.totalMinutes = totalMinutes;
+    }
+
+    /**
+     * @return l'instantané vide, en version 0
+     */
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Vérifie qu'une modification du catalogue ne lui fait pas atteindre {@link #MAX_TOTAL_MINUTES}.
+     * Une modification qui n'augmente pas le total est toujours acceptée.
+     *
+     * @param totalBefore le nombre de minutes de séances avant la modification
+     * @param totalAfter le nombre de minutes de séances après la modification
+     * @throws IllegalArgumentException si le total augmente et atteint la capacité
+     */
+    public static void checkCapacity(int totalBefore, int totalAfter) {
+        if (totalAfter > totalBefore && totalAfter >= MAX_TOTAL_MINUTES) {
+            throw new IllegalArgumentException("Dépassement du nombre d'heures à planifier (>= 77h)");
+        }
+    }
+
+    /**
+     * Construit un instantané à partir d'une liste de films.
+     * Si plusieurs films partagent un slug, le premier est celui retrouvé par {@link #findBySlug(String)}.
+     *
+     * @param version la version du catalogue
+     * @param movies les films, dans l'ordre du catalogue
+     * @return l'instantané
+     */
+    public static CatalogSnapshot of(long version, List<Movie> movies) {
+        CatalogSnapshot snapshot = EMPTY;
+        for (Movie movie : movies) {
+            snapshot = snapshot.append(movie);
+        }
+        return new CatalogSnapshot(version, snapshot.movies, snapshot.slugs, snapshot.titles, snapshot.totalMinutes);
+    }
+
+    /**
+     * @return la version du catalogue
+     */
+    @Override
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return le nombre de films
+     */
+    public int size() {
+        return movies.size();
+    }
+
+    /**
+     * @return une vue non modifiable des films, dans l'ordre du catalogue
+     */
+    public List<Movie> movies() {
+        return movies.asList();
+    }
+
+    /**
+     * @param slug le slug recherché (sans tenir compte de la casse)
+     * @return le film portant ce slug
+     */
+    public Optional<Movie> findBySlug(String slug) {
+        Integer position = slug == null ? null : slugs.get(lowerCase(slug));
+        return position == null ? Optional.empty() : Optional.of(movies.get(position));
+    }
+
+    /**
+     * @param title le titre à vérifier (sans tenir compte de la casse)
+     * @return true si un film porte ce titre
+     */
+    @Override
+    public boolean existsByTitle(String title) {
+        return title != null && titles.containsKey(lowerCase(title));
+    }
+
+    /**
+     * @param slug le slug à vérifier (sans tenir compte de la casse)
+     * @return true si un film porte ce slug
+     */
+    @Override
+    public boolean existsBySlug(String slug) {
+        return slug != null && slugs.containsKey(lowerCase(slug));
+    }
+
+    /**
+     * @return le total en minutes (durée × nombre de séances pour chaque film)
+     */
+    @Override
+    public int getTotalMinutesToSchedule() {
+        return totalMinutes;
+    }
+
+    /**
+     * Exécute une requête sur cet instantané.
+     *
+     * @param query la requête
+     * @return les films retenus, dans l'ordre demandé
+     */
+    public List<Movie> find(MovieQuery query) {
+        MovieQueryIndex index = queryIndex;
+        if (index == null) {
+            index = new MovieQueryIndex(movies());
+            queryIndex = index;
+        }
+        return index.find(query);
+    }
+
+    /**
+     * Construit la version suivante du catalogue, avec un film de plus.
+     *
+     * @param movie le film à ajouter
+     * @return le nouvel instantané (cet instantané n'est pas modifié)
+     * @throws IllegalArgumentException si le film existe déjà (titre ou slug)
+     */
+    public CatalogSnapshot withMovie(Movie movie) {
+        if (existsByTitle(movie.getTitle())) {
+            throw new IllegalArgumentException("Un film avec ce titre existe déjà");
+        }
+        if (existsBySlug(movie.getSlug())) {
+            throw new IllegalArgumentException("Un film avec ce slug existe déjà");
+        }
+        CatalogSnapshot next = append(movie);
+        return new CatalogSnapshot(version + 1, next.movies, next.slugs, next.titles, next.totalMinutes);
+    }
+
+    /**
+     * Construit la version suivante du catalogue, où le film de même slug est remplacé.
+     *
+     * @param movie le film modifié
+     * @return le nouvel instantané (cet instantané n'est pas modifié)
+     * @throws IllegalArgumentException si aucun film n'a ce slug
+     */
+    public CatalogSnapshot withReplacedMovie(Movie movie) {
+        Integer position = movie.getSlug() == null ? null : slugs.get(lowerCase(movie.getSlug()));
+        if (position == null) {
+            throw new IllegalArgumentException("Aucun film avec ce slug");
+        }
+        Movie previous = movies.get(position);
+        PersistentHashMap<String, Integer> newTitles = addTitle(removeTitle(titles, previous.getTitle()), movie.getTitle());
+        int newTotal = totalMinutes - minutesOf(previous) + minutesOf(movie);
+        return new CatalogSnapshot(version + 1, movies.with(position, movie), slugs, newTitles, newTotal);
+    }
+
+    /**
+     * Renumérote cet instantané, par exemple lorsque plusieurs modifications préparées
+     * l'une après l'autre sont écrites en une seule fois.
+     *
+     * @param version la version du catalogue
+     * @return l'instantané portant cette version (les films et les index sont partagés)
+     */
+    public CatalogSnapshot withVersion(long version) {
+        return version == this.version ? this
+                : new CatalogSnapshot(version, movies, slugs, titles, totalMinutes);
+    }
+
+    // --- Méthodes internes ---
+
+    /**
+     * Ajoute un film en fin de catalogue, sans vérification ni changement de version.
+     */
+    private CatalogSnapshot append(Movie movie) {
+        PersistentHashMap<String, Integer> newSlugs = slugs;
+        if (movie.getSlug() != null && !slugs.containsKey(lowerCase(movie.getSlug()))) {
+            newSlugs = slugs.plus(lowerCase(movie.getSlug()), movies.size());
+        }
+        return new CatalogSnapshot(version, movies.plus(movie), newSlugs,
+                addTitle(titles, movie.getTitle()), totalMinutes + minutesOf(movie));
+    }
+
+    private static PersistentHashMap<String, Integer> addTitle(PersistentHashMap<String, Integer> titles, String title) {
+        if (title == null) {
+            return titles;
+        }
+        String key = lowerCase(title);
+        Integer count = titles.get(key);
+        return titles.plus(key, count == null ? 1 : count + 1);
+    }
+
+    private static PersistentHashMap<String, Integer> removeTitle(PersistentHashMap<String, Integer> titles, String title) {
+        if (title == null) {
+            return titles;
+        }
+        String key = lowerCase(title);
+        Integer count = titles.get(key);
+        if (count == null) {
+            return titles;
+        }
+        return count == 1 ? titles.minus(key) : titles.plus(key, count - 1);
+    }
+
+    private static int minutesOf(Movie movie) {
+        return movie.getDuration() * movie.getSeances();
+    }
+
+    private static String lowerCase(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
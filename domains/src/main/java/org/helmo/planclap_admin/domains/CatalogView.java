@@ -0,0 +1,34 @@
+package org.helmo.planclap_admin.domains;
+
+/**
+ * Version figée du catalogue, réduite aux vérifications d'une commande d'encodage :
+ * existence d'un titre ou d'un slug et total des minutes à planifier.
+ *
+ * <p>Comme un {@link CatalogSnapshot}, une vue voit le même catalogue quelles que soient les
+ * écritures faites après sa création ; mais elle n'expose pas la liste des films, ce qui permet
+ * à un repository de l'obtenir sans décoder tout le catalogue (voir {@link MovieRepository#view()}).</p>
+ */
+public interface CatalogView {
+
+    /**
+     * @return la version du catalogue
+     */
+    long version();
+
+    /**
+     * @param title le titre à vérifier (sans tenir compte de la casse)
+     * @return true si un film porte ce titre
+     */
+    boolean existsByTitle(String title);
+
+    /**
+     * @param slug le slug à vérifier (sans tenir compte de la casse)
+     * @return true si un film porte ce slug
+     */
+    boolean existsBySlug(String slug);
+
+    /**
+     * @return le total en minutes (durée × nombre de séances pour chaque film)
+     */
+    int getTotalMinutesToSchedule();
+}
@@ -0,0 +1,154 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.Arrays;
+
+/**
+ * Occupation d'une salle pendant une journée : index des séances, triées par début.
+ *
+ * <p>Chaque séance est codée dans un {@code long} ({@code début << 32 | fin}) et rangée dans un
+ * tableau trié. Les séances ne se chevauchant pas, leurs fins sont triées elles aussi : la séance
+ * en conflit avec un créneau se trouve par recherche dichotomique, en O(log n). La recherche du
+ * prochain créneau libre part de la même recherche puis saute de séance en séance.</p>
+ *
+ * <p>Un temps de nettoyage minimal peut séparer deux séances consécutives ; il ne s'applique pas
+ * avant la première séance ni après la dernière.</p>
+ */
+final class DayTimeline {
+
+    private final int opening;
+    private final int closing;
+    private final int gap;
+    private long[] seances = new long[16];
+    private int size;
+
+    /**
+     * @param opening l'ouverture, en minutes depuis minuit
+     * @param closing la fermeture (exclue), en minutes depuis minuit
+     */
+    DayTimeline(int opening, int closing) {
+        this(opening, closing, 0);
+    }
+
+    /**
+     * @param opening l'ouverture, en minutes depuis minuit
+     * @param closing la fermeture (exclue), en minutes depuis minuit
+     * @param gap le temps de nettoyage minimal entre deux séances, en minutes
+     */
+    DayTimeline(int opening, int closing, int gap) {
+        this.opening = opening;
+        this.closing = closing;
+        this.gap = gap;
+    }
+
+    /**
+     * Recherche le premier créneau libre assez long.
+     *
+     * @param duration la durée du créneau, en minutes
+     * @return le début du créneau en minutes depuis minuit, ou -1 s'il n'y en a pas
+     */
+    int firstFit(int duration) {
+        return nextFree(opening, duration);
+    }
+
+    /**
+     * Recherche le premier créneau libre assez long commençant au plus tôt à une minute donnée.
+     *
+     * @param from la minute à partir de laquelle chercher
+     * @param duration la durée du créneau, en minutes
+     * @return le début du créneau en minutes depuis minuit, ou -1 s'il n'y en a pas
+     */
+    int nextFree(int from, int duration) {
+        int start = Math.max(from, opening);
+        for (int i = firstEndingAfter(start); i < size && startOf(seances[i]) < start + duration + gap; i++) {
+            start = endOf(seances[i]) + gap;
+        }
+        return start + duration <= closing ? start : -1;
+    }
+
+    /**
+     * @param start le début, en minutes depuis minuit
+     * @param duration la durée, en minutes
+     * @return true si le créneau est entièrement libre et compris dans les heures d'ouverture
+     */
+    boolean isFree(int start, int duration) {
+        return start >= opening && start + duration <= closing && conflict(start, duration) < 0;
+    }
+
+    /**
+     * Recherche une séance en conflit avec un créneau (chevauchement ou temps de nettoyage insuffisant).
+     *
+     * @param start le début, en minutes depuis minuit
+     * @param duration la durée, en minutes
+     * @return le début de la première séance en conflit, ou -1 s'il n'y en a pas
+     */
+    int conflict(int start, int duration) {
+        int i = firstEndingAfter(start);
+        return i < size && startOf(seances[i]) < start + duration + gap ? startOf(seances[i]) : -1;
+    }
+
+    /**
+     * Ajoute une séance. Le créneau doit être libre.
+     *
+     * @param start le début, en minutes depuis minuit
+     * @param duration la durée, en minutes
+     */
+    void occupy(int start, int duration) {
+        int i = Arrays.binarySearch(seances, 0, size, (long) start << 32);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        if (size == seances.length) {
+            seances = Arrays.copyOf(seances, size * 2);
+        }
+        System.arraycopy(seances, i, seances, i + 1, size - i);
+        seances[i] = (long) start << 32 | (start + duration);
+        size++;
+    }
+
+    /**
+     * Retire une séance.
+     *
+     * @param start le début, en minutes depuis minuit
+     * @param duration la durée, en minutes
+     */
+    void release(int start, int duration) {
+        int i = Arrays.binarySearch(seances, 0, size, (long) start << 32 | (start + duration));
+        if (i < 0) {
+            return;
+        }
+        System.arraycopy(seances, i + 1, seances, i, size - i - 1);
+        size--;
+    }
+
+    /**
+     * @return le nombre de séances du jour
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Indice de la première séance dont la fin, temps de nettoyage compris, dépasse une minute.
+     */
+    private int firstEndingAfter(int minute) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (endOf(seances[middle]) + gap > minute) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static int startOf(long seance) {
+        return (int) (seance >>> 32);
+    }
+
+    private static int endOf(long seance) {
+        return (int) seance;
+    }
+}
@@ -59,4 +59,59 @@ public class LevenshteinCalculator {
 
         return dp[s1.length()][s2.length()];
     }
+
+    /**
+     * Calcule la distance de Levenshtein si elle ne dépasse pas un seuil.
+     * Seule la bande diagonale de largeur {@code 2 × max + 1} de la matrice est calculée,
+     * et le calcul s'arrête dès que toute une ligne dépasse le seuil.
+     *
+     * @param s1 première chaîne
+     * @param s2 deuxième chaîne
+     * @param max la distance maximale recherchée
+     * @return la distance de Levenshtein, ou {@code max + 1} si elle dépasse {@code max}
+     */
+    public static int calculate(String s1, String s2, int max) {
+        if (s1 == null || s2 == null) {
+            throw new IllegalArgumentException("Les chaînes ne peuvent pas être null");
+        }
+        if (Math.abs(s1.length() - s2.length()) > max) {
+            return max + 1;
+        }
+
+        int outside = max + 1;
+        int[] previous = new int[s2.length() + 1];
+        int[] current = new int[s2.length() + 1];
+        for (int j = 0; j <= s2.length(); j++) {
+            previous[j] = Math.min(j, outside);
+        }
+
+        for (int i = 1; i <= s1.length(); i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(s2.length(), i + max);
+            current[0] = Math.min(i, outside);
+            if (from > 1) {
+                current[from - 1] = outside;
+            }
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = (s1.charAt(i - 1) == s2.charAt(j - 1)) ? 0 : 1;
+                int value = Math.min(Math.min(
+                                previous[j] + 1,      // suppression
+                                current[j - 1] + 1),  // insertion
+                        previous[j - 1] + cost);      // substitution
+                current[j] = Math.min(value, outside);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < s2.length()) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > max) {
+                return outside;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[s2.length()];
+    }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package org.helmo.planclap_admin.domains;
 
 import java.text.Normalizer;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -21,6 +20,8 @@ public class Movie {
 
     /**
      * Constructeur complet pour créer un film avec tous ses attributs.
+     * Les libellés Cinecheck sont conservés dans une liste immuable,
+     * partagée ensuite sans copie par {@link #getCinechecks()}.
      */
     public Movie(String slug, String title, int duration, String posterUrl,
                  String description, List<String> cinechecks, int seances) {
@@ -29,7 +30,7 @@ public class Movie {
         this.duration = duration;
         this.posterUrl = posterUrl;
         this.description = description;
-        this.cinechecks = new ArrayList<>(cinechecks);
+        this.cinechecks = cinechecks == null ? List.of() : List.copyOf(cinechecks);
         this.seances = seances;
     }
 
@@ -47,7 +48,7 @@ public class Movie {
     public int getDuration() { return duration; }
     public String getPosterUrl() { return posterUrl; }
     public String getDescription() { return description; }
-    public List<String> getCinechecks() { return new ArrayList<>(cinechecks); }
+    public List<String> getCinechecks() { return cinechecks; }
     public int getSeances() { return seances; }
 
     /**
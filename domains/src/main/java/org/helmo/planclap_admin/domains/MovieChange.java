@@ -0,0 +1,101 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.Objects;
+
+/**
+ * Différence entre deux catalogues pour un film, identifié par son slug.
+ *
+ * <p>Une différence décrit ce qu'il faut appliquer au catalogue cible pour qu'il corresponde
+ * au catalogue source : un film {@link Kind#ADDED ajouté} n'existe que dans la source,
+ * un film {@link Kind#REMOVED retiré} n'existe que dans la cible et un film
+ * {@link Kind#CHANGED modifié} existe des deux côtés avec un contenu différent.</p>
+ */
+public final class MovieChange {
+
+    /**
+     * Nature de la différence.
+     */
+    public enum Kind { ADDED, REMOVED, CHANGED }
+
+    private final Kind kind;
+    private final Movie before;
+    private final Movie after;
+
+    private MovieChange(Kind kind, Movie before, Movie after) {
+        this.kind = kind;
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * @param movie le film présent uniquement dans la source
+     * @return la différence correspondante
+     */
+    public static MovieChange added(Movie movie) {
+        return new MovieChange(Kind.ADDED, null, movie);
+    }
+
+    /**
+     * @param movie le film présent uniquement dans la cible
+     * @return la différence correspondante
+     */
+    public static MovieChange removed(Movie movie) {
+        return new MovieChange(Kind.REMOVED, movie, null);
+    }
+
+    /**
+     * @param before le film de la cible
+     * @param after le film de la source, de même slug
+     * @return la différence correspondante
+     */
+    public static MovieChange changed(Movie before, Movie after) {
+        return new MovieChange(Kind.CHANGED, before, after);
+    }
+
+    /**
+     * Compare deux films champ par champ ({@link Movie#equals(Object)} ne compare que le slug).
+     *
+     * @param a un film
+     * @param b un autre film
+     * @return true si les deux films ont le même contenu
+     */
+    public static boolean sameContent(Movie a, Movie b) {
+        return Objects.equals(a.getSlug(), b.getSlug())
+                && Objects.equals(a.getTitle(), b.getTitle())
+                && a.getDuration() == b.getDuration()
+                && Objects.equals(a.getPosterUrl(), b.getPosterUrl())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && a.getCinechecks().equals(b.getCinechecks())
+                && a.getSeances() == b.getSeances();
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return le film dans la cible (null pour un ajout)
+     */
+    public Movie getBefore() {
+        return before;
+    }
+
+    /**
+     * @return le film dans la source (null pour un retrait)
+     */
+    public Movie getAfter() {
+        return after;
+    }
+
+    /**
+     * @return le slug du film concerné
+     */
+    public String getSlug() {
+        return after != null ? after.getSlug() : before.getSlug();
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + getSlug();
+    }
+}
@@ -0,0 +1,181 @@
+package org.helmo.planclap_admin.domains;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Diffuseur de films tirés d'une source à la demande (voir {@link MovieRepository#streamMovies()}).
+ *
+ * <p>Chaque abonnement ouvre sa propre source et n'en lit que le nombre de films demandés
+ * par l'abonné ({@link Flow.Subscription#request(long)}) : un abonné lent ne fait pas
+ * grossir la mémoire, et le premier film est livré sans attendre la lecture des suivants.
+ * Les signaux destinés à un abonné sont toujours émis un par un, sur l'exécuteur fourni.</p>
+ */
+public final class MoviePublisher implements Flow.Publisher<Movie> {
+
+    private static final Logger logger = LogManager.getLogger(MoviePublisher.class);
+
+    /**
+     * Source de films lue film par film.
+     */
+    @FunctionalInterface
+    public interface Source extends AutoCloseable {
+
+        /**
+         * @return le film suivant, ou null à la fin de la source
+         * @throws Exception si la lecture échoue
+         */
+        Movie next() throws Exception;
+
+        /**
+         * Libère les ressources de la source (un flux de lecture, par exemple).
+         *
+         * @throws IOException si la fermeture échoue
+         */
+        @Override
+        default void close() throws IOException {
+            // rien à libérer par défaut
+        }
+    }
+
+    private final Callable<? extends Source> opener;
+    private final Executor executor;
+
+    /**
+     * @param opener ouvre une nouvelle source pour chaque abonnement
+     * @param executor l'exécuteur sur lequel les films sont lus et livrés
+     */
+    public MoviePublisher(Callable<? extends Source> opener, Executor executor) {
+        this.opener = opener;
+        this.executor = executor;
+    }
+
+    /**
+     * Diffuseur sur une liste déjà en mémoire, livrée dans le thread qui fait la demande.
+     *
+     * @param movies les films à diffuser
+     * @return le diffuseur
+     */
+    public static MoviePublisher of(List<Movie> movies) {
+        return new MoviePublisher(() -> {
+            Iterator<Movie> iterator = movies.iterator();
+            return () -> iterator.hasNext() ? iterator.next() : null;
+        }, Runnable::run);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Movie> subscriber) {
+        StreamSubscription subscription = new StreamSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Abonnement : la demande est cumulée et un seul thread à la fois lit la source
+     * et livre les films (les demandes faites depuis onNext ne sont pas réentrantes).
+     */
+    private final class StreamSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super Movie> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        // Accédés uniquement par le thread qui livre
+        private Source source;
+        private boolean done;
+
+        StreamSubscription(Flow.Subscriber<? super Movie> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("La demande doit être positive : " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (invalidRequest != null) {
+                finish();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+
+            try {
+                if (source == null) {
+                    source = opener.call();
+                }
+                while (demand.get() > 0 && !cancelled) {
+                    Movie movie = source.next();
+                    if (movie == null) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    subscriber.onNext(movie);
+                }
+                if (cancelled) {
+                    finish();
+                }
+            } catch (Exception e) {
+                finish();
+                subscriber.onError(e);
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (source != null) {
+                try {
+                    source.close();
+                } catch (IOException e) {
+                    logger.warn("Erreur lors de la fermeture de la source de films", e);
+                }
+            }
+        }
+    }
+}
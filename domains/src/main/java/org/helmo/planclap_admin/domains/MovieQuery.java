@@ -0,0 +1,326 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Requête sur le catalogue de films : filtres, tri, décalage et limite
+ * (voir {@link MovieRepository#find(MovieQuery)}).
+ *
+ * <p>Une requête est immuable et se construit avec {@link #builder()} :</p>
+ * <pre>
+ *     MovieQuery.builder()
+ *             .durationBetween(90, 120)
+ *             .withCinecheck("AL")
+ *             .orderBy(MovieQuery.Order.TITLE)
+ *             .page(2, 10)
+ *             .build();
+ * </pre>
+ *
+ * <p>Tous les filtres indiqués doivent être satisfaits. Les bornes sont incluses ;
+ * le préfixe de titre et les Cinechecks ne tiennent pas compte de la casse.</p>
+ */
+public final class MovieQuery {
+
+    /**
+     * Ordre des résultats. À clé égale, les films sont départagés par titre puis par slug.
+     */
+    public enum Order {
+        /** Ordre du catalogue. */
+        CATALOG(null),
+        /** Ordre alphabétique des titres. */
+        TITLE(Comparator.comparing(movie -> lowerCase(movie.getTitle()), Comparator.nullsFirst(Comparator.naturalOrder()))),
+        /** Durée croissante. */
+        DURATION(Comparator.comparingInt(Movie::getDuration)),
+        /** Nombre de séances croissant. */
+        SEANCES(Comparator.comparingInt(Movie::getSeances));
+
+        private final Comparator<Movie> comparator;
+
+        Order(Comparator<Movie> key) {
+            this.comparator = key == null ? null : key
+                    .thenComparing(movie -> lowerCase(movie.getTitle()), Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(movie -> lowerCase(movie.getSlug()), Comparator.nullsFirst(Comparator.naturalOrder()));
+        }
+
+        /**
+         * @return le comparateur croissant de cet ordre (null pour {@link #CATALOG})
+         */
+        public Comparator<Movie> comparator() {
+            return comparator;
+        }
+    }
+
+    private static final MovieQuery ALL = builder().build();
+
+    private final int minDuration;
+    private final int maxDuration;
+    private final int minSeances;
+    private final int maxSeances;
+    private final Set<String> cinechecks;
+    private final String titlePrefix;
+    private final Order order;
+    private final boolean descending;
+    private final int offset;
+    private final int limit;
+
+    private MovieQuery(Builder builder) {
+        this.minDuration = builder.minDuration;
+        this.maxDuration = builder.maxDuration;
+        this.minSeances = builder.minSeances;
+        this.maxSeances = builder.maxSeances;
+        this.cinechecks = Set.copyOf(builder.cinechecks);
+        this.titlePrefix = builder.titlePrefix;
+        this.order = builder.order;
+        this.descending = builder.descending;
+        this.offset = builder.offset;
+        this.limit = builder.limit;
+    }
+
+    /**
+     * @return une requête sans filtre, dans l'ordre du catalogue
+     */
+    public static MovieQuery all() {
+        return ALL;
+    }
+
+    /**
+     * @return un constructeur de requête, sans filtre, dans l'ordre du catalogue
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMinDuration() {
+        return minDuration;
+    }
+
+    public int getMaxDuration() {
+        return maxDuration;
+    }
+
+    public int getMinSeances() {
+        return minSeances;
+    }
+
+    public int getMaxSeances() {
+        return maxSeances;
+    }
+
+    /**
+     * @return les Cinechecks exigés, en minuscules
+     */
+    public Set<String> getCinechecks() {
+        return cinechecks;
+    }
+
+    /**
+     * @return le préfixe de titre exigé, en minuscules (null si aucun)
+     */
+    public String getTitlePrefix() {
+        return titlePrefix;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return le nombre maximal de résultats ({@link Integer#MAX_VALUE} si aucune limite)
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return true si la durée est filtrée
+     */
+    public boolean hasDurationRange() {
+        return minDuration > 0 || maxDuration < Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return le comparateur des résultats, sens compris (null pour l'ordre du catalogue)
+     */
+    public Comparator<Movie> comparator() {
+        Comparator<Movie> comparator = order.comparator();
+        return comparator != null && descending ? comparator.reversed() : comparator;
+    }
+
+    /**
+     * Vérifie qu'un film satisfait tous les filtres de la requête (sans tenir compte du tri ni de la limite).
+     *
+     * @param movie le film à tester
+     * @return true si le film est retenu
+     */
+    public boolean matches(Movie movie) {
+        if (movie.getDuration() < minDuration || movie.getDuration() > maxDuration) {
+            return false;
+        }
+        if (movie.getSeances() < minSeances || movie.getSeances() > maxSeances) {
+            return false;
+        }
+        if (titlePrefix != null && (movie.getTitle() == null || !lowerCase(movie.getTitle()).startsWith(titlePrefix))) {
+            return false;
+        }
+        if (!cinechecks.isEmpty()) {
+            Set<String> labels = new LinkedHashSet<>();
+            for (String label : movie.getCinechecks()) {
+                labels.add(lowerCase(label));
+            }
+            return labels.containsAll(cinechecks);
+        }
+        return true;
+    }
+
+    static String lowerCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Constructeur de {@link MovieQuery}.
+     */
+    public static final class Builder {
+
+        private int minDuration = 0;
+        private int maxDuration = Integer.MAX_VALUE;
+        private int minSeances = 0;
+        private int maxSeances = Integer.MAX_VALUE;
+        private final Set<String> cinechecks = new LinkedHashSet<>();
+        private String titlePrefix;
+        private Order order = Order.CATALOG;
+        private boolean descending;
+        private int offset;
+        private int limit = Integer.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        /**
+         * @param min la durée minimale en minutes (incluse)
+         * @param max la durée maximale en minutes (incluse)
+         * @return ce constructeur
+         */
+        public Builder durationBetween(int min, int max) {
+            checkRange(min, max);
+            this.minDuration = min;
+            this.maxDuration = max;
+            return this;
+        }
+
+        /**
+         * @param min le nombre minimal de séances (inclus)
+         * @param max le nombre maximal de séances (inclus)
+         * @return ce constructeur
+         */
+        public Builder seancesBetween(int min, int max) {
+            checkRange(min, max);
+            this.minSeances = min;
+            this.maxSeances = max;
+            return this;
+        }
+
+        /**
+         * @param label un Cinecheck que les films doivent porter (peut être appelé plusieurs fois)
+         * @return ce constructeur
+         */
+        public Builder withCinecheck(String label) {
+            if (label == null || label.isBlank()) {
+                throw new IllegalArgumentException("Le Cinecheck ne peut pas être vide");
+            }
+            cinechecks.add(lowerCase(label.trim()));
+            return this;
+        }
+
+        /**
+         * @param prefix le début du titre des films (vide ou null pour ne pas filtrer)
+         * @return ce constructeur
+         */
+        public Builder titleStartingWith(String prefix) {
+            this.titlePrefix = prefix == null || prefix.isEmpty() ? null : lowerCase(prefix);
+            return this;
+        }
+
+        /**
+         * @param order l'ordre croissant des résultats
+         * @return ce constructeur
+         */
+        public Builder orderBy(Order order) {
+            this.order = order;
+            this.descending = false;
+            return this;
+        }
+
+        /**
+         * @param order l'ordre décroissant des résultats
+         * @return ce constructeur
+         */
+        public Builder orderByDescending(Order order) {
+            this.order = order;
+            this.descending = order != Order.CATALOG;
+            return this;
+        }
+
+        /**
+         * @param offset le nombre de résultats à sauter
+         * @return ce constructeur
+         */
+        public Builder offset(int offset) {
+            if (offset < 0) {
+                throw new IllegalArgumentException("Le décalage doit être positif");
+            }
+            this.offset = offset;
+            return this;
+        }
+
+        /**
+         * @param limit le nombre maximal de résultats
+         * @return ce constructeur
+         */
+        public Builder limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("La limite doit être positive");
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Raccourci pour la pagination.
+         *
+         * @param page le numéro de page (à partir de 0)
+         * @param size le nombre de films par page
+         * @return ce constructeur
+         */
+        public Builder page(int page, int size) {
+            if (page < 0 || size <= 0) {
+                throw new IllegalArgumentException("Page invalide");
+            }
+            offset((int) Math.min(Integer.MAX_VALUE, (long) page * size));
+            return limit(size);
+        }
+
+        /**
+         * @return la requête construite
+         */
+        public MovieQuery build() {
+            return new MovieQuery(this);
+        }
+
+        private static void checkRange(int min, int max) {
+            if (min < 0 || max < min) {
+                throw new IllegalArgumentException("Intervalle invalide : [" + min + ", " + max + "]");
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+/**
+ * Index secondaires d'un {@link CatalogSnapshot}, utilisés pour répondre aux {@link MovieQuery}.
+ *
+ * <p>Les films sont triés une fois par ordre ({@link MovieQuery.Order}) : un préfixe de titre,
+ * un intervalle de durée ou de séances correspond alors à une plage du tableau trié, trouvée
+ * par dichotomie. Les Cinechecks sont indexés par libellé. La requête ne parcourt que la plus
+ * petite plage candidate ; si celle-ci est déjà dans l'ordre demandé, le parcours s'arrête dès
+ * que la page est remplie, sinon un tas borné à {@code offset + limit} éléments garde les
+ * meilleurs résultats.</p>
+ *
+ * <p>Les tableaux triés sont construits à la première requête qui en a besoin.</p>
+ */
+final class MovieQueryIndex {
+
+    private final List<Movie> movies;
+    private final Map<MovieQuery.Order, Movie[]> sorted = new EnumMap<>(MovieQuery.Order.class);
+    private Map<String, List<Movie>> byCinecheck;
+    private Map<Movie, Integer> positions;
+
+    MovieQueryIndex(List<Movie> movies) {
+        this.movies = movies;
+    }
+
+    /**
+     * @param query la requête
+     * @return les films retenus, triés, décalés et limités
+     */
+    List<Movie> find(MovieQuery query) {
+        if (query.getLimit() == 0) {
+            return List.of();
+        }
+        Candidates candidates = bestCandidates(query);
+
+        if (query.getOrder() == candidates.order) {
+            return scanInOrder(query, candidates);
+        }
+        return selectTop(query, candidates);
+    }
+
+    // --- Choix de la plage ---
+
+    /**
+     * Plage de films à parcourir, éventuellement triée selon un ordre.
+     */
+    private record Candidates(List<Movie> movies, int from, int to, MovieQuery.Order order) {
+        int size() {
+            return to - from;
+        }
+    }
+
+    private Candidates bestCandidates(MovieQuery query) {
+        List<Candidates> options = new ArrayList<>();
+
+        MovieQuery.Order preferred = query.getOrder();
+        if (preferred == MovieQuery.Order.CATALOG) {
+            options.add(new Candidates(movies, 0, movies.size(), MovieQuery.Order.CATALOG));
+        } else {
+            Movie[] all = sorted(preferred);
+            options.add(new Candidates(Arrays.asList(all), 0, all.length, preferred));
+        }
+
+        if (query.getTitlePrefix() != null) {
+            Movie[] byTitle = sorted(MovieQuery.Order.TITLE);
+            int from = titleBound(byTitle, query.getTitlePrefix());
+            int to = titleBound(byTitle, query.getTitlePrefix() + Character.MAX_VALUE);
+            options.add(new Candidates(Arrays.asList(byTitle), from, to, MovieQuery.Order.TITLE));
+        }
+        if (query.hasDurationRange()) {
+            options.add(range(MovieQuery.Order.DURATION, Movie::getDuration, query.getMinDuration(), query.getMaxDuration()));
+        }
+        if (query.getMinSeances() > 0 || query.getMaxSeances() < Integer.MAX_VALUE) {
+            options.add(range(MovieQuery.Order.SEANCES, Movie::getSeances, query.getMinSeances(), query.getMaxSeances()));
+        }
+        for (String label : query.getCinechecks()) {
+            List<Movie> tagged = cinechecks().getOrDefault(label, List.of());
+            options.add(new Candidates(tagged, 0, tagged.size(), MovieQuery.Order.CATALOG));
+        }
+
+        // La plus petite plage ; à taille égale, celle qui est déjà dans l'ordre demandé
+        Candidates best = options.get(0);
+        for (Candidates option : options) {
+            if (option.size() < best.size() || option.size() == best.size() && option.order == preferred && best.order != preferred) {
+                best = option;
+            }
+        }
+        return best;
+    }
+
+    private Candidates range(MovieQuery.Order order, ToIntFunction<Movie> key, int min, int max) {
+        Movie[] byKey = sorted(order);
+        int from = lowerBound(byKey, key, min);
+        int to = max == Integer.MAX_VALUE ? byKey.length : lowerBound(byKey, key, max + 1);
+        return new Candidates(Arrays.asList(byKey), from, to, order);
+    }
+
+    // --- Parcours ---
+
+    /**
+     * Parcourt une plage déjà dans l'ordre demandé et s'arrête dès que la page est remplie.
+     */
+    private static List<Movie> scanInOrder(MovieQuery query, Candidates candidates) {
+        List<Movie> result = new ArrayList<>();
+        int skipped = 0;
+        boolean backwards = query.isDescending();
+        for (int i = 0; i < candidates.size() && result.size() < query.getLimit(); i++) {
+            Movie movie = candidates.movies.get(backwards ? candidates.to - 1 - i : candidates.from + i);
+            if (!query.matches(movie)) {
+                continue;
+            }
+            if (skipped < query.getOffset()) {
+                skipped++;
+            } else {
+                result.add(movie);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Filtre une plage dans un autre ordre que celui demandé : seuls les {@code offset + limit}
+     * meilleurs films sont conservés dans un tas, puis triés.
+     */
+    private List<Movie> selectTop(MovieQuery query, Candidates candidates) {
+        Comparator<Movie> comparator = query.getOrder() == MovieQuery.Order.CATALOG
+                ? Comparator.comparingInt(movie -> positions().get(movie))
+                : query.comparator();
+        long wanted = (long) query.getOffset() + query.getLimit();
+
+        List<Movie> kept;
+        if (wanted >= candidates.size()) {
+            kept = new ArrayList<>();
+            for (int i = candidates.from; i < candidates.to; i++) {
+                Movie movie = candidates.movies.get(i);
+                if (query.matches(movie)) {
+                    kept.add(movie);
+                }
+            }
+        } else {
+            // Tas inversé : la racine est le moins bon des films conservés
+            PriorityQueue<Movie> heap = new PriorityQueue<>((int) wanted + 1, comparator.reversed());
+            for (int i = candidates.from; i < candidates.to; i++) {
+                Movie movie = candidates.movies.get(i);
+                if (!query.matches(movie)) {
+                    continue;
+                }
+                if (heap.size() < wanted) {
+                    heap.add(movie);
+                } else if (comparator.compare(movie, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(movie);
+                }
+            }
+            kept = new ArrayList<>(heap);
+        }
+
+        kept.sort(comparator);
+        if (query.getOffset() >= kept.size()) {
+            return List.of();
+        }
+        return new ArrayList<>(kept.subList(query.getOffset(), (int) Math.min(kept.size(), wanted)));
+    }
+
+    // --- Construction des index ---
+
+    private synchronized Movie[] sorted(MovieQuery.Order order) {
+        return sorted.computeIfAbsent(order, o -> {
+            Movie[] array = movies.toArray(new Movie[0]);
+            Arrays.sort(array, o.comparator());
+            return array;
+        });
+    }
+
+    private synchronized Map<String, List<Movie>> cinechecks() {
+        if (byCinecheck == null) {
+            Map<String, List<Movie>> index = new HashMap<>();
+            for (Movie movie : movies) {
+                movie.getCinechecks().stream()
+                        .map(MovieQuery::lowerCase)
+                        .distinct()
+                        .forEach(label -> index.computeIfAbsent(label, l -> new ArrayList<>()).add(movie));
+            }
+            byCinecheck = index;
+        }
+        return byCinecheck;
+    }
+
+    private synchronized Map<Movie, Integer> positions() {
+        if (positions == null) {
+            Map<Movie, Integer> index = new IdentityHashMap<>();
+            for (int i = 0; i < movies.size(); i++) {
+                index.put(movies.get(i), i);
+            }
+            positions = Collections.unmodifiableMap(index);
+        }
+        return positions;
+    }
+
+    /**
+     * @return la première position dont la clé est supérieure ou égale à la valeur
+     */
+    private static int lowerBound(Movie[] array, ToIntFunction<Movie> key, int value) {
+        int low = 0;
+        int high = array.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key.applyAsInt(array[mid]) < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return la première position dont le titre (en minuscules) est supérieur ou égal à la valeur
+     */
+    private static int titleBound(Movie[] array, String value) {
+        int low = 0;
+        int high = array.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            String title = MovieQuery.lowerCase(array[mid].getTitle());
+            if (title == null || title.compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -2,6 +2,8 @@ package org.helmo.planclap_admin.domains;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 
 /**
  * Interface définissant le contrat pour accéder et manipuler les films.
@@ -17,6 +19,15 @@ public interface MovieRepository {
      */
     List<Movie> loadMovies();
 
+    /**
+     * Diffuse les films au fur et à mesure de leur lecture, au rythme demandé par l'abonné.
+     * Contrairement à {@link #loadMovies()}, le premier film est disponible sans attendre
+     * la lecture du catalogue complet, qui n'est jamais entièrement en mémoire.
+     *
+     * @return un diffuseur froid : chaque abonnement relit le catalogue depuis le début
+     */
+    Flow.Publisher<Movie> streamMovies();
+
     /**
      * Sauvegarde la liste complète des films.
      *
@@ -24,6 +35,16 @@ public interface MovieRepository {
      */
     void saveMovies(List<Movie> movies);
 
+    /**
+     * Recherche les films satisfaisant une requête (filtres, tri, décalage et limite).
+     * La requête est résolue à l'aide d'index triés, sans parcourir tout le catalogue
+     * lorsque les filtres ou l'ordre demandé le permettent.
+     *
+     * @param query la requête
+     * @return les films retenus, dans l'ordre demandé
+     */
+    List<Movie> find(MovieQuery query);
+
     /**
      * Recherche un film par son titre ou son slug.
      * La recherche peut être tolérante (distance de Levenshtein).
@@ -53,7 +74,8 @@ public interface MovieRepository {
      * Ajoute un nouveau film à la collection.
      *
      * @param movie le film à ajouter
-     * @throws IllegalArgumentException si le film existe déjà (titre ou slug)
+     * @throws IllegalArgumentException si le film existe déjà (titre ou slug) ou si le catalogue
+     *         atteindrait {@link CatalogSnapshot#MAX_TOTAL_MINUTES} minutes de séances
      */
     void addMovie(Movie movie);
 
@@ -64,6 +86,56 @@ public interface MovieRepository {
      */
     int getTotalMinutesToSchedule();
 
+    /**
+     * Retourne la version courante du catalogue, sous forme d'instantané immuable.
+     * Toutes les lectures faites sur un même instantané voient le même catalogue.
+     *
+     * @return l'instantané courant
+     */
+    CatalogSnapshot snapshot();
 
+    /**
+     * Retourne une vue figée du catalogue courant, suffisante pour valider un encodage.
+     * Par défaut, la vue est l'instantané courant ; un repository qui ne garde pas les films
+     * en mémoire peut répondre sans les décoder.
+     *
+     * @return la vue courante
+     */
+    default CatalogView view() {
+        return snapshot();
+    }
 
+    /**
+     * Remplace un film existant, identifié par son slug.
+     *
+     * @param movie le film modifié
+     * @throws IllegalArgumentException si aucun film n'a ce slug
+     */
+    void replaceMovie(Movie movie);
+
+    /**
+     * Abonne un observateur aux modifications du catalogue.
+     * Les notifications sont délivrées de façon synchrone, avant le retour
+     * de la méthode qui a modifié le catalogue ; selon l'implémentation, elles peuvent l'être
+     * depuis un thread d'écriture propre au repository plutôt que depuis le thread appelant.
+     *
+     * @param listener l'observateur
+     */
+    void addListener(CatalogListener listener);
+
+    /**
+     * Abonne un observateur aux modifications du catalogue.
+     * Les notifications sont délivrées de façon asynchrone via l'exécuteur fourni.
+     *
+     * @param listener l'observateur
+     * @param executor l'exécuteur utilisé pour délivrer les notifications
+     */
+    void addListener(CatalogListener listener, Executor executor);
+
+    /**
+     * Désabonne un observateur.
+     *
+     * @param listener l'observateur
+     */
+    void removeListener(CatalogListener listener);
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Liste persistante indexée (arbre à 32 branches avec un bloc de queue).
+ *
+ * <p>Comme {@link PersistentHashMap}, la liste n'est jamais modifiée : {@link #plus(Object)}
+ * et {@link #with(int, Object)} recopient uniquement le chemin concerné (au plus
+ * log<sub>32</sub>(n) nœuds) et partagent le reste. Un ajout en fin de liste ne recopie
+ * en général que le bloc de queue.</p>
+ *
+ * @param <E> le type des éléments
+ */
+final class PersistentVector<E> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentVector<?> EMPTY =
+            new PersistentVector<>(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    E get(int i) {
+        return (E) leafFor(i)[i & MASK];
+    }
+
+    /**
+     * @param element l'élément ajouté en fin de liste
+     * @return la nouvelle liste
+     */
+    PersistentVector<E> plus(E element) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        // Queue pleine : elle rejoint l'arbre et une nouvelle queue commence
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    /**
+     * @param i la position à remplacer
+     * @param element le nouvel élément
+     * @return la nouvelle liste
+     */
+    PersistentVector<E> with(int i, E element) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        if (i >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[i & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, i, element), tail);
+    }
+
+    /**
+     * @return une vue non modifiable de la liste (accès indexé en O(log n))
+     */
+    List<E> asList() {
+        return new ListView();
+    }
+
+    // --- Méthodes internes ---
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        if (i >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(i >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int index = ((size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        if (level == BITS) {
+            copy[index] = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[index];
+            copy[index] = child != null
+                    ? pushTail(level - BITS, child, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int i, Object element) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[i & MASK] = element;
+        } else {
+            int index = (i >>> level) & MASK;
+            copy[index] = assoc(level - BITS, (Object[]) node[index], i, element);
+        }
+        return copy;
+    }
+
+    private final class ListView extends AbstractList<E> implements RandomAccess {
+
+        @Override
+        public E get(int index) {
+            return PersistentVector.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.helmo.planclap_admin.domains;
+
+/**
+ * Conflit relevé dans un planning (voir {@link SchedulerService#validate(WeekPlan)}).
+ *
+ * @param seance la séance en défaut
+ * @param other la séance qu'elle chevauche (ou dont elle ne respecte pas le temps de nettoyage),
+ *              ou null si la séance sort de la semaine, des heures d'ouverture, de la plage
+ *              permise par ses Cinechecks ou des salles du cinéma
+ */
+public record PlanConflict(Seance seance, Seance other) {
+
+    /**
+     * @return true si la séance sort de la semaine, des heures d'ouverture, de la plage permise
+     *         par ses Cinechecks ou des salles du cinéma
+     */
+    public boolean isOutOfHours() {
+        return other == null;
+    }
+}
@@ -1,4 +1,29 @@
 package org.helmo.planclap_admin.domains;
 
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Interface définissant le contrat pour enregistrer et relire les plannings hebdomadaires.
+ */
 public interface PlanningRepository {
+
+    /**
+     * Enregistre le planning d'une semaine (remplace le planning existant de cette semaine).
+     *
+     * @param plan le planning à enregistrer
+     */
+    void save(WeekPlan plan);
+
+    /**
+     * Relit le planning d'une semaine.
+     * Les séances sont rattachées aux films du catalogue par leur slug : celles d'un film qui
+     * n'existe plus sont ignorées, et les séances demandées par le catalogue mais absentes
+     * du planning sont rapportées comme non placées.
+     *
+     * @param monday le lundi de la semaine
+     * @param catalog le catalogue courant
+     * @return le planning, ou vide s'il n'a jamais été enregistré
+     */
+    Optional<WeekPlan> load(LocalDate monday, CatalogSnapshot catalog);
 }
@@ -0,0 +1,60 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.List;
+
+/**
+ * Résultat d'une replanification incrémentale : le nouveau planning et ce qui a changé
+ * par rapport au planning précédent.
+ */
+public final class Replan {
+
+    /**
+     * Séance déplacée.
+     *
+     * @param from la séance du planning précédent
+     * @param to la même séance dans le nouveau planning
+     */
+    public record Move(Seance from, Seance to) {
+    }
+
+    private final WeekPlan plan;
+    private final List<Seance> added;
+    private final List<Move> moved;
+    private final List<Seance> removed;
+
+    /**
+     * @param plan le nouveau planning
+     * @param added les séances qui n'existaient pas dans le planning précédent
+     * @param moved les séances déplacées
+     * @param removed les séances du planning précédent qui ont été supprimées
+     */
+    public Replan(WeekPlan plan, List<Seance> added, List<Move> moved, List<Seance> removed) {
+        this.plan = plan;
+        this.added = List.copyOf(added);
+        this.moved = List.copyOf(moved);
+        this.removed = List.copyOf(removed);
+    }
+
+    public WeekPlan getPlan() {
+        return plan;
+    }
+
+    public List<Seance> getAdded() {
+        return added;
+    }
+
+    public List<Move> getMoved() {
+        return moved;
+    }
+
+    public List<Seance> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return true si le planning précédent est conservé tel quel
+     */
+    public boolean isUnchanged() {
+        return added.isEmpty() && moved.isEmpty() && removed.isEmpty();
+    }
+}
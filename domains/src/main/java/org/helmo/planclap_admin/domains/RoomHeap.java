@@ -0,0 +1,90 @@
+package org.helmo.planclap_admin.domains;
+
+/**
+ * Salles d'une journée pendant la recherche d'un planning, rangées par première minute libre.
+ *
+ * <p>La recherche ajoute toujours une séance à la suite des précédentes : l'occupation d'une
+ * salle se résume donc à la minute à partir de laquelle elle est libre (fin de sa dernière
+ * séance, temps de nettoyage compris). Les salles forment un tas binaire sur cette minute ;
+ * chaque salle est codée dans un {@code long} ({@code minute libre << 8 | salle}), si bien qu'à
+ * égalité la salle de plus petit numéro passe devant. La salle libre le plus tôt est lue en
+ * O(1) et l'ajout d'une séance à sa première minute libre coûte O(log r) pour r salles.</p>
+ *
+ * <p>Une séance retardée par une contrainte horaire (voir {@link ScheduleConstraints}) va dans la
+ * salle libérée le plus tard avant son début, pour laisser le moins de temps perdu : cette
+ * recherche parcourt les salles, en O(r). Le temps perdu avant la séance n'est plus utilisé
+ * par la suite.</p>
+ */
+final class RoomHeap {
+
+    private static final int ROOM_BITS = 8;
+    private static final long ROOM_MASK = (1L << ROOM_BITS) - 1;
+
+    private final int gap;
+    private final long[] rooms;
+
+    /**
+     * @param rooms le nombre de salles
+     * @param opening l'ouverture, en minutes depuis minuit
+     * @param gap le temps de nettoyage minimal entre deux séances d'une salle, en minutes
+     */
+    RoomHeap(int rooms, int opening, int gap) {
+        this.gap = gap;
+        this.rooms = new long[rooms];
+        // Toutes les salles sont libres à l'ouverture : l'ordre des numéros forme déjà un tas
+        for (int room = 0; room < rooms; room++) {
+            this.rooms[room] = (long) opening << ROOM_BITS | room;
+        }
+    }
+
+    /**
+     * @return la première minute à laquelle une salle est libre
+     */
+    int earliestStart() {
+        return (int) (rooms[0] >>> ROOM_BITS);
+    }
+
+    /**
+     * Ajoute une séance dans la salle libérée le plus tard avant son début.
+     *
+     * @param start le début de la séance, au plus tôt {@link #earliestStart()}
+     * @param duration la durée de la séance, en minutes
+     * @return la salle de la séance
+     */
+    int occupy(int start, int duration) {
+        int index = 0;
+        if (start > earliestStart()) {
+            for (int i = 1; i < rooms.length; i++) {
+                if (rooms[i] >>> ROOM_BITS <= start && rooms[i] > rooms[index]) {
+                    index = i;
+                }
+            }
+        }
+        int room = (int) (rooms[index] & ROOM_MASK);
+        long free = start + duration + gap;
+        rooms[index] = free << ROOM_BITS | room;
+        siftDown(index);
+        return room;
+    }
+
+    /**
+     * Fait descendre une salle dont la minute libre vient d'augmenter.
+     */
+    private void siftDown(int from) {
+        long moved = rooms[from];
+        int i = from;
+        int half = rooms.length >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < rooms.length && rooms[child + 1] < rooms[child]) {
+                child++;
+            }
+            if (moved <= rooms[child]) {
+                break;
+            }
+            rooms[i] = rooms[child];
+            i = child;
+        }
+        rooms[i] = moved;
+    }
+}
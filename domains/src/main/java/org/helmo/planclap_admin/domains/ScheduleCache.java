@@ -0,0 +1,26 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.Optional;
+
+/**
+ * Interface définissant le contrat pour conserver les plannings calculés par le
+ * {@link SchedulerService}, indexés par l'empreinte du catalogue qui les a produits.
+ */
+public interface ScheduleCache {
+
+    /**
+     * Relit le planning calculé pour une empreinte.
+     *
+     * @param key l'empreinte du catalogue
+     * @return le planning, ou vide s'il n'a pas été conservé pour cette empreinte
+     */
+    Optional<StoredSchedule> load(String key);
+
+    /**
+     * Conserve un planning calculé (remplace éventuellement un planning plus ancien).
+     *
+     * @param key l'empreinte du catalogue
+     * @param schedule le planning
+     */
+    void save(String key, StoredSchedule schedule);
+}
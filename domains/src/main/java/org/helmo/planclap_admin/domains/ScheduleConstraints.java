@@ -0,0 +1,228 @@
+package org.helmo.planclap_admin.domains;
+
+import java.time.DayOfWeek;
+import java.util.*;
+
+/**
+ * Contraintes horaires de la planification : les heures d'ouverture de chaque jour et les
+ * plages de début permises selon les Cinechecks des films.
+ *
+ * <p>Des contraintes sont immuables et se construisent avec {@link #builder()} :</p>
+ * <pre>
+ *     ScheduleConstraints.builder()
+ *             .openingHours(DayOfWeek.SUNDAY, 10 * 60, 24 * 60)
+ *             .cinecheckWindow("18", 20 * 60, 24 * 60)
+ *             .build();
+ * </pre>
+ *
+ * <p>Les minutes de début permises d'un film sont précalculées, jour par jour, dans un
+ * {@link BitSet} (voir {@link #allowedStarts(Movie)}) : une minute y figure si la séance commence
+ * après l'ouverture, se termine avant la fermeture et commence dans la plage de chacun des
+ * Cinechecks du film. Pendant la recherche, la prochaine minute permise à partir du premier
+ * créneau libre s'obtient par {@link BitSet#nextSetBit(int)}. Les Cinechecks ne tiennent pas
+ * compte de la casse.</p>
+ */
+public final class ScheduleConstraints {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DAYS = DayOfWeek.values().length;
+
+    private final int[] opening;
+    private final int[] closing;
+    // Cinecheck (en minuscules) -> {premier début permis, dernier début permis (exclu)}
+    private final Map<String, int[]> windows;
+
+    private ScheduleConstraints(Builder builder) {
+        this.opening = builder.opening.clone();
+        this.closing = builder.closing.clone();
+        Map<String, int[]> copy = new TreeMap<>();
+        builder.windows.forEach((label, window) -> copy.put(label, window.clone()));
+        this.windows = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Contraintes par défaut : ouvert de 13 h à minuit tous les jours, sans plage Cinecheck.
+     * Les plages se configurent explicitement, par exemple avec
+     * {@link Builder#defaultCinecheckWindows()}.
+     *
+     * @return les contraintes par défaut
+     */
+    public static ScheduleConstraints defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return un constructeur partant de l'ouverture par défaut (13 h à minuit tous les jours),
+     *         sans plage Cinecheck
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param day le jour, de 0 (lundi) à 6
+     * @return l'ouverture, en minutes depuis minuit
+     */
+    public int getOpening(int day) {
+        return opening[day];
+    }
+
+    /**
+     * @param day le jour, de 0 (lundi) à 6
+     * @return la fermeture (exclue), en minutes depuis minuit
+     */
+    public int getClosing(int day) {
+        return closing[day];
+    }
+
+    /**
+     * @return le nombre de minutes d'ouverture de la semaine
+     */
+    public int getWeeklyMinutes() {
+        int minutes = 0;
+        for (int day = 0; day < DAYS; day++) {
+            minutes += closing[day] - opening[day];
+        }
+        return minutes;
+    }
+
+    /**
+     * Calcule les minutes de début permises d'un film, pour chaque jour de la semaine.
+     *
+     * @param movie le film
+     * @return pour chaque jour (0 = lundi), les minutes auxquelles une séance du film peut commencer
+     */
+    public BitSet[] allowedStarts(Movie movie) {
+        int[] window = window(movie);
+        BitSet[] allowed = new BitSet[DAYS];
+        for (int day = 0; day < DAYS; day++) {
+            allowed[day] = new BitSet(MINUTES_PER_DAY);
+            int first = Math.max(window[0], opening[day]);
+            int last = Math.min(window[1], closing[day] - movie.getDuration() + 1);
+            if (first < last) {
+                allowed[day].set(first, last);
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * @param movie le film
+     * @param day le jour, de 0 (lundi) à 6
+     * @param start le début, en minutes depuis minuit
+     * @return true si une séance du film peut commencer à cette minute ce jour-là
+     */
+    public boolean allows(Movie movie, int day, int start) {
+        if (day < 0 || day >= DAYS) {
+            return false;
+        }
+        int[] window = window(movie);
+        return start >= Math.max(window[0], opening[day])
+                && start < Math.min(window[1], closing[day] - movie.getDuration() + 1);
+    }
+
+    /**
+     * @return la plage de début permise par les Cinechecks du film : l'intersection de leurs plages
+     */
+    private int[] window(Movie movie) {
+        int from = 0;
+        int to = MINUTES_PER_DAY;
+        for (String label : movie.getCinechecks()) {
+            int[] window = label == null ? null : windows.get(MovieQuery.lowerCase(label.trim()));
+            if (window != null) {
+                from = Math.max(from, window[0]);
+                to = Math.min(to, window[1]);
+            }
+        }
+        return new int[]{from, to};
+    }
+
+    /**
+     * @return une description stable des contraintes, qui entre dans l'empreinte des plannings
+     */
+    String describe() {
+        StringBuilder description = new StringBuilder();
+        for (int day = 0; day < DAYS; day++) {
+            description.append(opening[day]).append('-').append(closing[day]).append(',');
+        }
+        windows.forEach((label, window) -> description
+                .append(label.length()).append(':').append(label)
+                .append('=').append(window[0]).append('-').append(window[1]).append(','));
+        return description.toString();
+    }
+
+    /**
+     * Constructeur de {@link ScheduleConstraints}.
+     */
+    public static final class Builder {
+
+        private final int[] opening = new int[DAYS];
+        private final int[] closing = new int[DAYS];
+        private final Map<String, int[]> windows = new HashMap<>();
+
+        private Builder() {
+            Arrays.fill(opening, SchedulerService.OPENING_MINUTE);
+            Arrays.fill(closing, SchedulerService.CLOSING_MINUTE);
+        }
+
+        /**
+         * @param day le jour
+         * @param opening l'ouverture, en minutes depuis minuit
+         * @param closing la fermeture (exclue), en minutes depuis minuit (au plus minuit)
+         * @return ce constructeur
+         */
+        public Builder openingHours(DayOfWeek day, int opening, int closing) {
+            checkRange(opening, closing);
+            this.opening[day.ordinal()] = opening;
+            this.closing[day.ordinal()] = closing;
+            return this;
+        }
+
+        /**
+         * Restreint le début des séances des films portant un Cinecheck. Un film portant
+         * plusieurs Cinecheck doit respecter toutes leurs plages.
+         *
+         * @param label le Cinecheck
+         * @param earliestStart le premier début permis, en minutes depuis minuit
+         * @param latestStart le dernier début permis (exclu), en minutes depuis minuit
+         * @return ce constructeur
+         */
+        public Builder cinecheckWindow(String label, int earliestStart, int latestStart) {
+            if (label == null || label.isBlank()) {
+                throw new IllegalArgumentException("Le Cinecheck ne peut pas être vide");
+            }
+            checkRange(earliestStart, latestStart);
+            windows.put(MovieQuery.lowerCase(label.trim()), new int[]{earliestStart, latestStart});
+            return this;
+        }
+
+        /**
+         * Ajoute les plages Cinecheck usuelles : films « 16 » et « 18 » à partir de 20 h, films
+         * « AL » (tous publics) l'après-midi, c'est-à-dire avant 18 h.
+         *
+         * <p>Ces plages réservent les soirées aux films « 16 » et « 18 » : un catalogue sans
+         * assez de films de ce type laisse les soirées vides et peut ne plus tenir dans la semaine,
+         * même en dessous de sa capacité.</p>
+         *
+         * @return ce constructeur
+         */
+        public Builder defaultCinecheckWindows() {
+            return cinecheckWindow("16", 20 * 60, MINUTES_PER_DAY)
+                    .cinecheckWindow("18", 20 * 60, MINUTES_PER_DAY)
+                    .cinecheckWindow("AL", 0, 18 * 60);
+        }
+
+        /**
+         * @return les contraintes construites
+         */
+        public ScheduleConstraints build() {
+            return new ScheduleConstraints(this);
+        }
+
+        private static void checkRange(int from, int to) {
+            if (from < 0 || to < from || to > MINUTES_PER_DAY) {
+                throw new IllegalArgumentException("Plage horaire invalide : [" + from + ", " + to + "]");
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.helmo.planclap_admin.domains;
+
+/**
+ * Avancement de la recherche d'un planning (voir {@link SchedulerService}).
+ *
+ * @param explored le nombre de stratégies examinées
+ * @param strategies le nombre total de stratégies du portefeuille
+ * @param scheduledMinutes les minutes de projection placées par le meilleur planning trouvé
+ * @param unplaced le nombre de séances sans place dans le meilleur planning trouvé
+ */
+public record ScheduleProgress(int explored, int strategies, int scheduledMinutes, int unplaced) {
+}
@@ -1,4 +1,748 @@
 package org.helmo.planclap_admin.domains;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Planification des séances d'une semaine.
+ *
+ * <p>Par défaut, le cinéma est ouvert de 13 h à minuit, soit 11 heures par jour et 77 heures
+ * par semaine et par salle. Les heures d'ouverture de chaque jour et les plages horaires
+ * imposées par les Cinechecks (les films « 18 » le soir, par exemple) sont données par des
+ * {@link ScheduleConstraints} (aucune plage Cinecheck par défaut) ; les minutes de début
+ * permises de chaque film sont précalculées une fois par recherche et consultées en temps
+ * constant pendant le placement. Chaque séance demandée (un film × son nombre de séances) est
+ * placée dans la salle libre le plus tôt d'un jour : les salles de chaque jour forment un tas
+ * ordonné sur leur première minute libre ({@link RoomHeap}), si bien qu'une séance coûte
+ * O(log r) pour r salles et qu'ajouter des salles ne ralentit guère la recherche. Les séances
+ * d'un même film sont réparties sur des jours différents tant que c'est possible.</p>
+ *
+ * <p>Le résultat d'un placement glouton dépend de l'ordre des films. Plusieurs ordres sont donc
+ * essayés en parallèle (un portefeuille de stratégies) : les plus longs d'abord, ceux qui ont
+ * le plus de séances d'abord, dans l'ordre de leurs plages horaires, puis des ordres aléatoires
+ * à graines fixes, d'autant plus nombreux que le pool a de threads. Le meilleur planning est
+ * retenu ; à score égal, celui de la première stratégie, si bien que le choix ne dépend pas de
+ * l'ordre d'exécution. La recherche s'arrête dès qu'une stratégie place toutes les séances, ou
+ * à l'échéance du budget.</p>
+ *
+ * <p>Une recherche menée à terme est mémorisée sous l'empreinte du catalogue (voir
+ * {@link #fingerprint(List)}) : en mémoire, et dans le {@link ScheduleCache} du cinéma s'il y en a
+ * un. Replanifier un catalogue inchangé ne refait donc pas la recherche ; toute modification
+ * d'un champ utile à la planification change l'empreinte et invalide l'entrée.</p>
+ */
 public class SchedulerService {
+
+    /** Ouverture par défaut du cinéma, en minutes depuis minuit (13 h). */
+    public static final int OPENING_MINUTE = 13 * 60;
+    /** Fermeture par défaut du cinéma (exclue), en minutes depuis minuit (minuit). */
+    public static final int CLOSING_MINUTE = 24 * 60;
+    /** Nombre de jours planifiés. */
+    public static final int DAYS = 7;
+    /** Nombre maximal de salles d'un cinéma. */
+    public static final int MAX_ROOMS = Seance.MAX_ROOMS;
+
+    /** Budget de temps par défaut de la recherche. */
+    public static final Duration DEFAULT_BUDGET = Duration.ofMillis(200);
+    /** Nombre d'ordres aléatoires essayés par thread du pool. */
+    private static final int RANDOM_ORDERS_PER_THREAD = 4;
+    /** Intervalle de vérification d'une demande d'interruption pendant l'attente d'une stratégie. */
+    private static final long CANCELLATION_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static final Logger logger = LogManager.getLogger(SchedulerService.class);
+
+    /** Nombre de plannings mémorisés en mémoire. */
+    private static final int MEMORY_ENTRIES = 16;
+    /** Version du codage des plannings conservés : à changer si le placement ou le codage change. */
+    private static final int FORMAT_VERSION = 3;
+
+    private static final Comparator<Movie> LONGEST_FIRST =
+            Comparator.comparingInt(Movie::getDuration).reversed();
+
+    private final ForkJoinPool pool;
+    private final int randomOrders;
+    private final Duration budget;
+    private final int cleaningGap;
+    private final int rooms;
+    private final ScheduleConstraints constraints;
+    private final Map<String, Candidate> memory;
+    private final ScheduleCache cache;
+
+    /**
+     * Construit un service de planification utilisant le pool commun, le budget et les
+     * contraintes par défaut, pour une seule salle, sans temps de nettoyage entre les séances.
+     */
+    public SchedulerService() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUDGET, 0);
+    }
+
+    /**
+     * Construit un service de planification pour une seule salle.
+     *
+     * @param pool le pool exécutant les stratégies
+     * @param budget le temps maximal accordé à la recherche
+     * @param cleaningGap le temps de nettoyage minimal entre deux séances d'une salle, en minutes
+     */
+    public SchedulerService(ForkJoinPool pool, Duration budget, int cleaningGap) {
+        this(pool, budget, cleaningGap, 1);
+    }
+
+    /**
+     * @param pool le pool exécutant les stratégies
+     * @param budget le temps maximal accordé à la recherche
+     * @param cleaningGap le temps de nettoyage minimal entre deux séances d'une salle, en minutes
+     * @param rooms le nombre de salles
+     */
+    public SchedulerService(ForkJoinPool pool, Duration budget, int cleaningGap, int rooms) {
+        this(pool, RANDOM_ORDERS_PER_THREAD * pool.getParallelism(), budget, cleaningGap, rooms);
+    }
+
+    /**
+     * Construit un service de planification pour une seule salle.
+     *
+     * @param pool le pool exécutant les stratégies
+     * @param randomOrders le nombre d'ordres aléatoires essayés en plus des ordres fixes
+     * @param budget le temps maximal accordé à la recherche
+     * @param cleaningGap le temps de nettoyage minimal entre deux séances d'une salle, en minutes
+     */
+    public SchedulerService(ForkJoinPool pool, int randomOrders, Duration budget, int cleaningGap) {
+        this(pool, randomOrders, budget, cleaningGap, 1);
+    }
+
+    /**
+     * @param pool le pool exécutant les stratégies
+     * @param randomOrders le nombre d'ordres aléatoires essayés en plus des ordres fixes
+     * @param budget le temps maximal accordé à la recherche
+     * @param cleaningGap le temps de nettoyage minimal entre deux séances d'une salle, en minutes
+     * @param rooms le nombre de salles, de 1 à {@link #MAX_ROOMS}
+     */
+    public SchedulerService(ForkJoinPool pool, int randomOrders, Duration budget, int cleaningGap, int rooms) {
+        if (cleaningGap < 0) {
+            throw new IllegalArgumentException("Le temps de nettoyage ne peut pas être négatif");
+        }
+        if (rooms < 1 || rooms > MAX_ROOMS) {
+            throw new IllegalArgumentException("Le nombre de salles doit être compris entre 1 et " + MAX_ROOMS);
+        }
+        this.pool = pool;
+        this.randomOrders = randomOrders;
+        this.budget = budget;
+        this.cleaningGap = cleaningGap;
+        this.rooms = rooms;
+        this.constraints = ScheduleConstraints.defaults();
+        this.memory = Collections.synchronizedMap(new LinkedHashMap<>(MEMORY_ENTRIES, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Candidate> eldest) {
+                return size() > MEMORY_ENTRIES;
+            }
+        });
+        this.cache = null;
+    }
+
+    private SchedulerService(SchedulerService base, ScheduleConstraints constraints, ScheduleCache cache) {
+        this.pool = base.pool;
+        this.randomOrders = base.randomOrders;
+        this.budget = base.budget;
+        this.cleaningGap = base.cleaningGap;
+        this.rooms = base.rooms;
+        this.constraints = constraints;
+        this.memory = base.memory;
+        this.cache = cache;
+    }
+
+    /**
+     * Construit un service identique soumis à d'autres contraintes horaires.
+     * La mémoire des plannings est partagée : les contraintes entrent dans l'empreinte.
+     *
+     * @param constraints les heures d'ouverture et les plages des Cinechecks
+     * @return le service utilisant ces contraintes
+     */
+    public SchedulerService withConstraints(ScheduleConstraints constraints) {
+        return new SchedulerService(this, constraints, cache);
+    }
+
+    /**
+     * Construit un service identique qui conserve aussi ses plannings dans un cache persistant
+     * (typiquement celui du dossier d'un cinéma). La mémoire des plannings est partagée.
+     *
+     * @param cache le cache persistant
+     * @return le service utilisant ce cache
+     */
+    public SchedulerService withCache(ScheduleCache cache) {
+        return new SchedulerService(this, constraints, cache);
+    }
+
+    /**
+     * Calcule l'empreinte d'un catalogue pour ce service : un SHA-256 des champs utiles à la
+     * planification (slug, durée, nombre de séances, Cinecheck), dans l'ordre du catalogue,
+     * et des réglages du service (dont le nombre de salles et les contraintes horaires).
+     * L'empreinte est stable d'une exécution à l'autre.
+     *
+     * @param movies les films à planifier
+     * @return l'empreinte, en hexadécimal
+     */
+    public String fingerprint(List<Movie> movies) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+        StringBuilder settings = new StringBuilder()
+                .append(FORMAT_VERSION).append(';').append(constraints.describe())
+                .append(';').append(cleaningGap).append(';').append(randomOrders).append(';').append(rooms).append('\n');
+        digest.update(settings.toString().getBytes(StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder();
+        for (Movie movie : movies) {
+            line.setLength(0);
+            // Chaque champ est préfixé par sa longueur : aucun contenu ne peut imiter un séparateur
+            appendField(line, movie.getSlug());
+            line.append(movie.getDuration()).append(';').append(movie.getSeances()).append(';');
+            line.append(movie.getCinechecks().size()).append(';');
+            for (String label : movie.getCinechecks()) {
+                appendField(line, label);
+            }
+            digest.update(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void appendField(StringBuilder line, String value) {
+        String text = value == null ? "" : value;
+        line.append(value == null ? -1 : text.length()).append(':').append(text).append(';');
+    }
+
+    /**
+     * Planifie toutes les séances demandées par le catalogue pour une semaine.
+     *
+     * @param movies les films à planifier
+     * @param monday le lundi de la semaine
+     * @return le meilleur planning trouvé, avec les séances qui n'ont pas trouvé de place
+     */
+    public WeekPlan schedule(List<Movie> movies, LocalDate monday) {
+        return schedule(movies, monday, progress -> { }, () -> false);
+    }
+
+    /**
+     * Planifie toutes les séances demandées par le catalogue pour une semaine, en rendant compte
+     * de l'avancement de la recherche.
+     *
+     * <p>L'avancement est signalé après chaque stratégie examinée, depuis le thread appelant.
+     * Une demande d'interruption est prise en compte en quelques millisecondes : comme à
+     * l'échéance du budget, le meilleur planning trouvé jusque-là est rendu.</p>
+     *
+     * @param movies les films à planifier
+     * @param monday le lundi de la semaine
+     * @param progress reçoit l'avancement de la recherche
+     * @param cancelled indique si l'utilisateur a demandé l'interruption de la recherche
+     * @return le meilleur planning trouvé, avec les séances qui n'ont pas trouvé de place
+     */
+    public WeekPlan schedule(List<Movie> movies, LocalDate monday, Consumer<ScheduleProgress> progress,
+                             BooleanSupplier cancelled) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        List<Movie> table = List.copyOf(movies);
+        String key = fingerprint(table);
+        Candidate cached = lookup(key, table.size());
+        if (cached != null) {
+            return cached.toPlan(table, monday);
+        }
+
+        int[] durations = table.stream().mapToInt(Movie::getDuration).toArray();
+        int[] counts = table.stream().mapToInt(Movie::getSeances).toArray();
+        // Minutes de début permises par film et par jour, partagées en lecture par les stratégies
+        BitSet[][] allowed = table.stream().map(constraints::allowedStarts).toArray(BitSet[][]::new);
+        List<int[]> orders = orders(durations, counts, allowed);
+
+        // La première stratégie est toujours menée à terme : il y a toujours un planning à rendre
+        Candidate best = placeInOrder(orders.get(0), durations, counts, allowed);
+        progress.accept(best.progress(1, orders.size()));
+        if (best.isComplete() || orders.size() == 1) {
+            remember(key, best);
+            return best.toPlan(table, monday);
+        }
+
+        // Indice de la première stratégie ayant tout placé : les suivantes ne peuvent plus gagner
+        AtomicInteger firstComplete = new AtomicInteger(Integer.MAX_VALUE);
+        // Une stratégie abandonnée faute de temps rend le résultat dépendant de la machine :
+        // il n'est pas mémorisé
+        AtomicBoolean truncated = new AtomicBoolean();
+        List<ForkJoinTask<Candidate>> tasks = new ArrayList<>(orders.size() - 1);
+        for (int i = 1; i < orders.size(); i++) {
+            int index = i;
+            tasks.add(pool.submit(() -> {
+                if (index > firstComplete.get()) {
+                    return null;
+                }
+                if (System.nanoTime() > deadline || cancelled.getAsBoolean()) {
+                    truncated.set(true);
+                    return null;
+                }
+                Candidate candidate = placeInOrder(orders.get(index), durations, counts, allowed);
+                if (candidate.isComplete()) {
+                    firstComplete.accumulateAndGet(index, Math::min);
+                }
+                return candidate;
+            }));
+        }
+
+        // Parcours dans l'ordre des stratégies : à score égal, la première l'emporte
+        for (int i = 0; i < tasks.size(); i++) {
+            Candidate candidate = await(tasks.get(i), deadline, cancelled);
+            if (candidate == null && !tasks.get(i).isCompletedNormally()) {
+                truncated.set(true);
+            }
+            if (candidate != null && candidate.score() > best.score()) {
+                best = candidate;
+            }
+            progress.accept(best.progress(i + 2, orders.size()));
+            if (best.isComplete() || cancelled.getAsBoolean()) {
+                cancelFrom(tasks, i + 1);
+                break;
+            }
+        }
+        if (!truncated.get() || best.isComplete()) {
+            remember(key, best);
+        }
+        return best.toPlan(table, monday);
+    }
+
+    /**
+     * Recherche un planning mémorisé, en mémoire puis dans le cache persistant.
+     *
+     * @return le planning, ou null s'il n'y en a pas (ou s'il ne correspond pas au catalogue)
+     */
+    private Candidate lookup(String key, int movies) {
+        Candidate candidate = memory.get(key);
+        if (candidate != null || cache == null) {
+            return candidate;
+        }
+        try {
+            candidate = cache.load(key)
+                    .filter(stored -> isConsistent(stored, movies, rooms))
+                    .map(Candidate::of)
+                    .orElse(null);
+        } catch (RuntimeException e) {
+            logger.warn("Cache des plannings illisible, le planning est recalculé", e);
+            return null;
+        }
+        if (candidate != null) {
+            memory.put(key, candidate);
+        }
+        return candidate;
+    }
+
+    private void remember(String key, Candidate candidate) {
+        memory.put(key, candidate);
+        if (cache != null) {
+            try {
+                cache.save(key, candidate.toStored());
+            } catch (RuntimeException e) {
+                logger.warn("Impossible de conserver le planning calculé", e);
+            }
+        }
+    }
+
+    private static boolean isConsistent(StoredSchedule stored, int movies, int rooms) {
+        for (long seance : stored.seances()) {
+            if (Seance.movieOf(seance) >= movies || Seance.dayOf(seance) >= DAYS || Seance.roomOf(seance) >= rooms) {
+                return false;
+            }
+        }
+        for (int movie : stored.unplaced()) {
+            if (movie < 0 || movie >= movies) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Vérifie un planning, par exemple modifié à la main : chaque séance doit tenir dans les
+     * heures d'ouverture d'un jour de la semaine et dans la plage permise par ses Cinechecks,
+     * dans une salle existante, et respecter le temps de nettoyage avec les séances de sa salle
+     * qui la précèdent.
+     *
+     * @param plan le planning à vérifier
+     * @return les conflits, dans l'ordre chronologique (vide si le planning est valide)
+     */
+    public List<PlanConflict> validate(WeekPlan plan) {
+        // Une occupation et un index des séances par début pour chaque jour et chaque salle
+        DayTimeline[] timelines = new DayTimeline[DAYS * rooms];
+        List<Map<Integer, Seance>> byStart = new ArrayList<>(DAYS * rooms);
+        for (int i = 0; i < timelines.length; i++) {
+            int day = i / rooms;
+            timelines[i] = new DayTimeline(constraints.getOpening(day), constraints.getClosing(day), cleaningGap);
+            byStart.add(new HashMap<>());
+        }
+
+        List<PlanConflict> conflicts = new ArrayList<>();
+        for (Seance seance : plan.getSeances()) {
+            int day = (int) ChronoUnit.DAYS.between(plan.getMonday(), seance.getDate());
+            int duration = seance.getMovie().getDuration();
+            if (seance.getRoom() >= rooms || !constraints.allows(seance.getMovie(), day, seance.getStartMinute())) {
+                conflicts.add(new PlanConflict(seance, null));
+                continue;
+            }
+            int slot = day * rooms + seance.getRoom();
+            int other = timelines[slot].conflict(seance.getStartMinute(), duration);
+            if (other >= 0) {
+                conflicts.add(new PlanConflict(seance, byStart.get(slot).get(other)));
+                continue;
+            }
+            timelines[slot].occupy(seance.getStartMinute(), duration);
+            byStart.get(slot).put(seance.getStartMinute(), seance);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Replanifie une semaine déjà planifiée après des modifications du catalogue.
+     *
+     * <p>Les séances des films non modifiés restent en place. Celles d'un film modifié restent
+     * à leur horaire tant que le créneau convient encore à sa nouvelle durée ; les séances en
+     * trop sont supprimées et celles qui manquent sont placées dans les créneaux libres,
+     * en resserrant au besoin un seul jour. Les séances restées sans place dans le planning
+     * précédent sont retentées. Le travail de réparation ne porte que sur les films modifiés.</p>
+     *
+     * @param previous le planning précédent
+     * @param changes les modifications du catalogue depuis ce planning, dans l'ordre
+     * @return le nouveau planning, avec les séances ajoutées, déplacées et supprimées
+     */
+    public Replan replan(WeekPlan previous, List<MovieChange> changes) {
+        // Slug -> film après modification (null s'il a été retiré) ; la dernière modification l'emporte
+        Map<String, Movie> touched = new LinkedHashMap<>();
+        for (MovieChange change : changes) {
+            touched.put(change.getSlug(), change.getAfter());
+        }
+
+        // Les séances des films non modifiés restent en place, sauf si leur créneau est déjà pris
+        WeekRepair repair = new WeekRepair(previous.getMonday(), cleaningGap, rooms, constraints);
+        Map<String, List<Seance>> touchedSeances = new HashMap<>();
+        List<Seance> displaced = new ArrayList<>();
+        for (Seance seance : previous.getSeances()) {
+            String slug = seance.getMovie().getSlug();
+            if (touched.containsKey(slug)) {
+                touchedSeances.computeIfAbsent(slug, key -> new ArrayList<>()).add(seance);
+            } else if (!repair.keep(seance, seance.getMovie())) {
+                displaced.add(seance);
+            }
+        }
+
+        // Séances à (re)placer : le film, et la séance d'origine si c'est un déplacement
+        List<Map.Entry<Movie, Seance>> pending = new ArrayList<>();
+        touched.forEach((slug, movie) -> {
+            if (movie == null) {
+                return;
+            }
+            int placed = 0;
+            for (Seance seance : touchedSeances.getOrDefault(slug, List.of())) {
+                if (placed == movie.getSeances()) {
+                    break; // Séances en trop : supprimées
+                }
+                if (!repair.keep(seance, movie)) {
+                    pending.add(new AbstractMap.SimpleImmutableEntry<>(movie, seance));
+                }
+                placed++;
+            }
+            for (; placed < movie.getSeances(); placed++) {
+                pending.add(new AbstractMap.SimpleImmutableEntry<>(movie, null));
+            }
+        });
+        for (Seance seance : displaced) {
+            pending.add(new AbstractMap.SimpleImmutableEntry<>(seance.getMovie(), seance));
+        }
+        for (Movie movie : previous.getUnplaced()) {
+            if (!touched.containsKey(movie.getSlug())) {
+                pending.add(new AbstractMap.SimpleImmutableEntry<>(movie, null));
+            }
+        }
+
+        pending.sort(Comparator.comparing(Map.Entry::getKey, LONGEST_FIRST));
+        for (Map.Entry<Movie, Seance> entry : pending) {
+            repair.place(entry.getKey(), entry.getValue());
+        }
+        return repair.result(previous);
+    }
+
+    /**
+     * Met un planning existant en conformité avec le catalogue : les modifications appliquées
+     * par {@link #replan(WeekPlan, List)} sont les différences entre les films du planning et
+     * ceux du catalogue (films ajoutés, retirés, modifiés ou dont le nombre de séances a changé).
+     *
+     * @param previous le planning existant
+     * @param catalog le catalogue courant
+     * @return le nouveau planning, avec les séances ajoutées, déplacées et supprimées
+     */
+    public Replan replan(WeekPlan previous, CatalogSnapshot catalog) {
+        return replan(previous, changesSince(previous, catalog.movies()));
+    }
+
+    /**
+     * Planifie les semaines qui suivent une semaine déjà planifiée (horizon glissant).
+     *
+     * <p>Chaque semaine part d'un planning existant plutôt que d'une recherche complète : celui
+     * qui a été enregistré pour cette semaine s'il y en a un, sinon celui de la semaine
+     * précédente reporté de sept jours. Ce point de départ est ensuite mis en conformité avec
+     * le catalogue par {@link #replan(WeekPlan, CatalogSnapshot)} : les créneaux stables sont
+     * conservés et seules les différences sont replacées.</p>
+     *
+     * @param first le planning de la première semaine
+     * @param weeks le nombre de semaines suivantes à planifier
+     * @param catalog le catalogue courant
+     * @param plannings les plannings enregistrés
+     * @return pour chaque semaine suivante, son planning et les différences avec son point de départ
+     */
+    public List<Replan> planFollowingWeeks(WeekPlan first, int weeks, CatalogSnapshot catalog,
+                                           PlanningRepository plannings) {
+        List<Replan> following = new ArrayList<>(weeks);
+        WeekPlan previous = first;
+        for (int week = 1; week <= weeks; week++) {
+            LocalDate monday = first.getMonday().plusWeeks(week);
+            WeekPlan from = previous;
+            WeekPlan seed = plannings.load(monday, catalog).orElseGet(() -> from.shiftedTo(monday));
+            Replan replan = replan(seed, catalog);
+            following.add(replan);
+            previous = replan.getPlan();
+        }
+        return following;
+    }
+
+    /**
+     * Calcule les modifications qui mènent des films d'un planning aux films du catalogue :
+     * film absent du planning, film retiré du catalogue, film dont le contenu ou le nombre
+     * de séances (placées ou non) ne correspond plus.
+     */
+    private static List<MovieChange> changesSince(WeekPlan plan, List<Movie> movies) {
+        Map<String, Movie> planned = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        for (Seance seance : plan.getSeances()) {
+            planned.putIfAbsent(seance.getMovie().getSlug(), seance.getMovie());
+            counts.merge(seance.getMovie().getSlug(), 1, Integer::sum);
+        }
+        for (Movie movie : plan.getUnplaced()) {
+            planned.putIfAbsent(movie.getSlug(), movie);
+            counts.merge(movie.getSlug(), 1, Integer::sum);
+        }
+
+        List<MovieChange> changes = new ArrayList<>();
+        Set<String> slugs = new HashSet<>();
+        for (Movie movie : movies) {
+            slugs.add(movie.getSlug());
+            Movie before = planned.get(movie.getSlug());
+            if (before == null) {
+                changes.add(MovieChange.added(movie));
+            } else if (!MovieChange.sameContent(before, movie) || counts.get(movie.getSlug()) != movie.getSeances()) {
+                changes.add(MovieChange.changed(before, movie));
+            }
+        }
+        planned.forEach((slug, movie) -> {
+            if (!slugs.contains(slug)) {
+                changes.add(MovieChange.removed(movie));
+            }
+        });
+        return changes;
+    }
+
+    /**
+     * @return les ordres de placement du portefeuille (indices dans la table des films),
+     *         le premier étant les plus longs d'abord
+     */
+    private List<int[]> orders(int[] durations, int[] counts, BitSet[][] allowed) {
+        List<int[]> orders = new ArrayList<>(randomOrders + 3);
+        // Tris stables : à égalité, l'ordre du catalogue est conservé
+        Comparator<Integer> longestFirst = Comparator.comparingInt((Integer movie) -> durations[movie]).reversed();
+        orders.add(sorted(durations.length, longestFirst));
+        orders.add(sorted(durations.length, Comparator.comparingInt((Integer movie) -> counts[movie]).reversed()
+                .thenComparing(longestFirst)));
+        // Dans l'ordre des plages horaires : les films de l'après-midi d'abord, ceux du soir en dernier,
+        // pour que les séances ajoutées à la suite des précédentes tombent dans leur plage
+        int[] earliest = new int[durations.length];
+        int[] latest = new int[durations.length];
+        for (int movie = 0; movie < durations.length; movie++) {
+            earliest[movie] = Integer.MAX_VALUE;
+            for (BitSet starts : allowed[movie]) {
+                if (!starts.isEmpty()) {
+                    earliest[movie] = Math.min(earliest[movie], starts.nextSetBit(0));
+                    latest[movie] = Math.max(latest[movie], starts.length() - 1);
+                }
+            }
+        }
+        orders.add(sorted(durations.length, Comparator.comparingInt((Integer movie) -> earliest[movie])
+                .thenComparingInt(movie -> latest[movie])
+                .thenComparing(longestFirst)));
+        for (int seed = 1; seed <= randomOrders; seed++) {
+            int[] order = sorted(durations.length, Comparator.naturalOrder());
+            Random random = new Random(seed);
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int movie = order[i];
+                order[i] = order[j];
+                order[j] = movie;
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    private static int[] sorted(int size, Comparator<Integer> comparator) {
+        List<Integer> order = new ArrayList<>(size);
+        for (int movie = 0; movie < size; movie++) {
+            order.add(movie);
+        }
+        order.sort(comparator);
+        return order.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Attend le résultat d'une stratégie jusqu'à l'échéance, en vérifiant régulièrement si
+     * l'interruption a été demandée.
+     *
+     * @return le résultat, ou null si la stratégie a été abandonnée
+     */
+    private static <T> T await(ForkJoinTask<T> task, long deadline, BooleanSupplier cancelled) {
+        try {
+            while (true) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || cancelled.getAsBoolean()) {
+                    task.cancel(false);
+                    return task.isCompletedNormally() ? task.join() : null;
+                }
+                try {
+                    return task.get(Math.min(remaining, CANCELLATION_POLL_NANOS), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // Nouvelle vérification de l'échéance et de l'interruption
+                }
+            }
+        } catch (CancellationException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur lors de la planification", e.getCause());
+        }
+    }
+
+    private static void cancelFrom(List<? extends ForkJoinTask<?>> tasks, int from) {
+        for (int i = from; i < tasks.size(); i++) {
+            tasks.get(i).cancel(false);
+        }
+    }
+
+    /**
+     * Place les séances des films dans l'ordre donné. Les séances sont codées dans un
+     * {@link SeanceBuffer} : aucun objet n'est créé par séance.
+     */
+    private Candidate placeInOrder(int[] order, int[] durations, int[] counts, BitSet[][] allowed) {
+        RoomHeap[] days = new RoomHeap[DAYS];
+        for (int day = 0; day < DAYS; day++) {
+            days[day] = new RoomHeap(rooms, constraints.getOpening(day), cleaningGap);
+        }
+
+        int requested = Arrays.stream(counts).sum();
+        SeanceBuffer seances = new SeanceBuffer(requested);
+        int[] unplaced = new int[requested];
+        int unplacedCount = 0;
+        long minutes = 0;
+        int[] perDay = new int[DAYS];
+        for (int movie : order) {
+            Arrays.fill(perDay, 0);
+            for (int copy = 0; copy < counts[movie]; copy++) {
+                long seance = place(movie, durations[movie], allowed[movie], days, perDay);
+                if (seance < 0) {
+                    unplaced[unplacedCount++] = movie;
+                } else {
+                    seances.add(seance);
+                    minutes += durations[movie];
+                }
+            }
+        }
+        return new Candidate(seances, Arrays.copyOf(unplaced, unplacedCount), minutes);
+    }
+
+    /**
+     * Place une séance dans le jour qui compte le moins de séances de ce film ; à égalité, le
+     * premier jour de la semaine où elle tient. Dans ce jour, la séance commence à la première
+     * minute permise à partir de la première minute libre, toutes salles confondues : les
+     * minutes permises ayant été précalculées, il suffit d'un {@link BitSet#nextSetBit(int)}.
+     *
+     * @param allowed les minutes de début permises du film, jour par jour
+     * @return le code de la séance placée, ou -1 si elle ne tient nulle part
+     */
+    private static long place(int movie, int duration, BitSet[] allowed, RoomHeap[] days, int[] perDay) {
+        int bestDay = -1;
+        int bestStart = -1;
+        for (int day = 0; day < DAYS; day++) {
+            if (bestDay >= 0 && perDay[day] >= perDay[bestDay]) {
+                continue;
+            }
+            int start = allowed[day].nextSetBit(days[day].earliestStart());
+            if (start >= 0) {
+                bestDay = day;
+                bestStart = start;
+            }
+        }
+        if (bestDay < 0) {
+            return -1;
+        }
+        int room = days[bestDay].occupy(bestStart, duration);
+        perDay[bestDay]++;
+        return Seance.pack(movie, bestDay, bestStart, room);
+    }
+
+    /**
+     * Planning candidat d'une stratégie, sous forme codée.
+     *
+     * @param seances les séances placées
+     * @param unplaced les indices des films dont une séance n'a pas pu être placée (un par séance)
+     * @param minutes les minutes de projection placées
+     */
+    private record Candidate(SeanceBuffer seances, int[] unplaced, long minutes) {
+
+        static Candidate of(StoredSchedule stored) {
+            // Un planning relu n'est plus comparé à d'autres : son score n'est pas recalculé
+            return new Candidate(SeanceBuffer.of(stored.seances()), stored.unplaced().clone(), 0);
+        }
+
+        StoredSchedule toStored() {
+            return new StoredSchedule(seances.toArray(), unplaced.clone());
+        }
+
+        boolean isComplete() {
+            return unplaced.length == 0;
+        }
+
+        /**
+         * Score : les minutes de projection placées, puis le nombre de séances placées.
+         */
+        long score() {
+            return minutes * Integer.MAX_VALUE + seances.size();
+        }
+
+        ScheduleProgress progress(int explored, int strategies) {
+            return new ScheduleProgress(explored, strategies, (int) minutes, unplaced.length);
+        }
+
+        /**
+         * Construit le planning du domaine : seules les séances du candidat retenu deviennent des objets.
+         */
+        WeekPlan toPlan(List<Movie> table, LocalDate monday) {
+            List<Movie> unplacedMovies = new ArrayList<>(unplaced.length);
+            for (int movie : unplaced) {
+                unplacedMovies.add(table.get(movie));
+            }
+            return new WeekPlan(monday, seances.toSeances(table, monday), unplacedMovies);
+        }
+    }
 }
@@ -1,4 +1,186 @@
 package org.helmo.planclap_admin.domains;
 
-public class Seance {
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Séance planifiée : un film projeté un jour donné, dans une salle, à partir d'une minute de la journée.
+ * Les salles sont numérotées à partir de 0.
+ *
+ * <p>Pendant la recherche d'un planning, une séance n'est pas un objet : elle est codée dans un
+ * {@code long} (voir {@link #pack(int, int, int, int)}) et rangée dans un {@link SeanceBuffer}.
+ * Les objets {@code Seance} ne sont construits que pour le planning retenu, au moment de
+ * l'afficher ou de l'enregistrer.</p>
+ */
+public final class Seance {
+
+    // Codage compact, du bit de poids faible au bit de poids fort :
+    // film (24 bits) | salle (8 bits) | minute de début (11 bits) | jour (3 bits).
+    // L'ordre naturel des codes est donc l'ordre chronologique.
+    private static final int MOVIE_BITS = 24;
+    private static final int ROOM_BITS = 8;
+    private static final int START_BITS = 11;
+    private static final int DAY_BITS = 3;
+    private static final int ROOM_SHIFT = MOVIE_BITS;
+    private static final int START_SHIFT = ROOM_SHIFT + ROOM_BITS;
+    private static final int DAY_SHIFT = START_SHIFT + START_BITS;
+
+    /** Nombre de salles que le codage compact sait représenter. */
+    static final int MAX_ROOMS = 1 << ROOM_BITS;
+
+    private final Movie movie;
+    private final LocalDate date;
+    private final int startMinute;
+    private final int room;
+
+    /**
+     * Construit une séance dans la première salle.
+     *
+     * @param movie le film projeté
+     * @param date le jour de la séance
+     * @param startMinute le début de la séance, en minutes depuis minuit
+     */
+    public Seance(Movie movie, LocalDate date, int startMinute) {
+        this(movie, date, startMinute, 0);
+    }
+
+    /**
+     * @param movie le film projeté
+     * @param date le jour de la séance
+     * @param startMinute le début de la séance, en minutes depuis minuit
+     * @param room la salle, à partir de 0
+     */
+    public Seance(Movie movie, LocalDate date, int startMinute, int room) {
+        if (startMinute < 0 || startMinute + movie.getDuration() > 24 * 60) {
+            throw new IllegalArgumentException("La séance doit se terminer le jour même");
+        }
+        if (room < 0 || room >= MAX_ROOMS) {
+            throw new IllegalArgumentException("La salle doit être comprise entre 0 et " + (MAX_ROOMS - 1));
+        }
+        this.movie = movie;
+        this.date = date;
+        this.startMinute = startMinute;
+        this.room = room;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return la salle, à partir de 0
+     */
+    public int getRoom() {
+        return room;
+    }
+
+    /**
+     * Déplace la séance sans changer de film ni de salle.
+     *
+     * @param otherDate le nouveau jour
+     * @param otherStart le nouveau début, en minutes depuis minuit
+     * @return la séance déplacée
+     */
+    Seance movedTo(LocalDate otherDate, int otherStart) {
+        return new Seance(movie, otherDate, otherStart, room);
+    }
+
+    /**
+     * @return le début de la séance, en minutes depuis minuit
+     */
+    public int getStartMinute() {
+        return startMinute;
+    }
+
+    /**
+     * @return la fin de la séance (exclue), en minutes depuis minuit
+     */
+    public int getEndMinute() {
+        return startMinute + movie.getDuration();
+    }
+
+    /**
+     * @return l'heure de début
+     */
+    public LocalTime getStartTime() {
+        return LocalTime.of(startMinute / 60, startMinute % 60);
+    }
+
+    /**
+     * @return la date et l'heure de début
+     */
+    public LocalDateTime getStart() {
+        return date.atTime(getStartTime());
+    }
+
+    /**
+     * Code une séance dans un {@code long}.
+     *
+     * @param movie l'indice du film dans la table des films planifiés
+     * @param day le jour, de 0 (lundi) à 6
+     * @param startMinute le début, en minutes depuis minuit
+     * @param room la salle
+     * @return le code de la séance
+     */
+    static long pack(int movie, int day, int startMinute, int room) {
+        return (long) day << DAY_SHIFT | (long) startMinute << START_SHIFT | (long) room << ROOM_SHIFT | movie;
+    }
+
+    static int movieOf(long packed) {
+        return (int) (packed & ((1L << MOVIE_BITS) - 1));
+    }
+
+    static int roomOf(long packed) {
+        return (int) (packed >>> ROOM_SHIFT & ((1L << ROOM_BITS) - 1));
+    }
+
+    static int startOf(long packed) {
+        return (int) (packed >>> START_SHIFT & ((1L << START_BITS) - 1));
+    }
+
+    static int dayOf(long packed) {
+        return (int) (packed >>> DAY_SHIFT & ((1L << DAY_BITS) - 1));
+    }
+
+    /**
+     * Construit la séance décrite par un code.
+     *
+     * @param packed le code de la séance
+     * @param movies la table des films planifiés
+     * @param monday le lundi de la semaine
+     * @return la séance
+     */
+    static Seance unpack(long packed, List<Movie> movies, LocalDate monday) {
+        return new Seance(movies.get(movieOf(packed)), monday.plusDays(dayOf(packed)), startOf(packed), roomOf(packed));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Seance seance = (Seance) o;
+        return startMinute == seance.startMinute && room == seance.room && Objects.equals(movie, seance.movie) && Objects.equals(date, seance.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(movie, date, startMinute, room);
+    }
+
+    @Override
+    public String toString() {
+        return "Seance{" +
+                "movie='" + movie.getSlug() + '\'' +
+                ", room=" + room +
+                ", start=" + getStart() +
+                ", end=" + getEndMinute() / 60 + ":" + String.format("%02d", getEndMinute() % 60) +
+                '}';
+    }
 }
@@ -0,0 +1,72 @@
+package org.helmo.planclap_admin.domains;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Liste de séances codées (voir {@link Seance#pack(int, int, int, int)}), rangées dans un
+ * tableau de {@code long}.
+ *
+ * <p>Un planning candidat tient ainsi en un seul tableau : le construire ou le mettre en cache
+ * n'alloue aucun objet par séance.</p>
+ */
+final class SeanceBuffer {
+
+    private long[] seances;
+    private int size;
+
+    /**
+     * @param capacity le nombre de séances prévu
+     */
+    SeanceBuffer(int capacity) {
+        this.seances = new long[Math.max(capacity, 8)];
+    }
+
+    private SeanceBuffer(long[] seances, int size) {
+        this.seances = seances;
+        this.size = size;
+    }
+
+    /**
+     * @param seances des séances codées
+     * @return une liste contenant une copie de ces séances
+     */
+    static SeanceBuffer of(long[] seances) {
+        return new SeanceBuffer(Arrays.copyOf(seances, Math.max(seances.length, 8)), seances.length);
+    }
+
+    /**
+     * @return une copie des séances codées
+     */
+    long[] toArray() {
+        return Arrays.copyOf(seances, size);
+    }
+
+    void add(long seance) {
+        if (size == seances.length) {
+            seances = Arrays.copyOf(seances, size * 2);
+        }
+        seances[size++] = seance;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Construit les objets {@link Seance}, pour l'affichage ou l'enregistrement.
+     *
+     * @param movies la table des films
+     * @param monday le lundi de la semaine
+     * @return les séances
+     */
+    List<Seance> toSeances(List<Movie> movies, LocalDate monday) {
+        List<Seance> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(Seance.unpack(seances[i], movies, monday));
+        }
+        return result;
+    }
+}
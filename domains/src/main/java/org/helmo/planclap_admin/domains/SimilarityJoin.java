@@ -0,0 +1,168 @@
+package org.helmo.planclap_admin.domains;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Jointure par similarité d'une liste de chaînes : toutes les paires à distance de
+ * Levenshtein inférieure ou égale à {@code k}, sans comparer chaque chaîne à toutes les autres.
+ *
+ * <p>Filtre par partition (principe des tiroirs, à la manière de PassJoin) : chaque chaîne
+ * est découpée en {@code k + 1} segments. Si deux chaînes sont à distance au plus {@code k},
+ * les {@code k} opérations touchent au plus {@code k} segments, donc au moins un segment de
+ * la plus courte apparaît tel quel dans l'autre, à une position proche de la sienne.
+ * Les segments sont indexés par (longueur de chaîne, numéro, contenu) ; chaque chaîne ne
+ * cherche dans l'index que les sous-chaînes aux positions compatibles (sélection
+ * « multi-match-aware »), ce qui produit peu de candidats.</p>
+ *
+ * <p>La recherche des candidats et leur vérification (distance de Levenshtein bornée,
+ * voir {@link LevenshteinCalculator#calculate(String, String, int)}) sont indépendantes
+ * d'une chaîne à l'autre et s'exécutent en parallèle.</p>
+ */
+public final class SimilarityJoin {
+
+    /**
+     * Paire de chaînes proches, désignées par leur position dans la liste d'entrée
+     * ({@code left < right}).
+     *
+     * @param left la position de la première chaîne
+     * @param right la position de la seconde chaîne
+     * @param distance leur distance de Levenshtein
+     */
+    public record Match(int left, int right, int distance) {
+    }
+
+    private record SegmentKey(int length, int segment, String text) {
+    }
+
+    private final List<String> strings;
+    private final int maxDistance;
+    // Segments des chaînes assez longues pour être découpées
+    private final Map<SegmentKey, List<Integer>> segments = new HashMap<>();
+    // Chaînes trop courtes pour k + 1 segments non vides, par longueur
+    private final Map<Integer, List<Integer>> shortStrings = new HashMap<>();
+    // Positions des chaînes, par longueur
+    private final Map<Integer, List<Integer>> byLength = new HashMap<>();
+
+    private SimilarityJoin(List<String> strings, int maxDistance) {
+        this.strings = strings;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Recherche toutes les paires de chaînes à distance au plus {@code maxDistance}.
+     *
+     * @param strings les chaînes à comparer (sans null)
+     * @param maxDistance la distance maximale
+     * @return les paires trouvées, triées par distance puis par position
+     */
+    public static List<Match> selfJoin(List<String> strings, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("La distance maximale doit être positive");
+        }
+        SimilarityJoin join = new SimilarityJoin(List.copyOf(strings), maxDistance);
+        join.buildIndex();
+        return IntStream.range(0, join.strings.size())
+                .parallel()
+                .mapToObj(join::matchesOf)
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingInt(Match::distance)
+                        .thenComparingInt(Match::left)
+                        .thenComparingInt(Match::right))
+                .collect(Collectors.toList());
+    }
+
+    private void buildIndex() {
+        for (int id = 0; id < strings.size(); id++) {
+            String value = strings.get(id);
+            int length = value.length();
+            byLength.computeIfAbsent(length, l -> new ArrayList<>()).add(id);
+            if (length <= maxDistance) {
+                shortStrings.computeIfAbsent(length, l -> new ArrayList<>()).add(id);
+                continue;
+            }
+            for (int segment = 0; segment <= maxDistance; segment++) {
+                int start = segmentStart(length, segment);
+                String text = value.substring(start, start + segmentLength(length, segment));
+                segments.computeIfAbsent(new SegmentKey(length, segment, text), k -> new ArrayList<>()).add(id);
+            }
+        }
+    }
+
+    /**
+     * Cherche les chaînes proches de la chaîne {@code id} parmi celles qui la précèdent
+     * dans l'ordre (longueur, position) : chaque paire n'est produite qu'une fois.
+     */
+    private List<Match> matchesOf(int id) {
+        String value = strings.get(id);
+        int length = value.length();
+        Set<Integer> candidates = new HashSet<>();
+
+        for (int otherLength = Math.max(0, length - maxDistance); otherLength <= length; otherLength++) {
+            // Les chaînes trop courtes pour être découpées sont toutes vérifiées
+            for (int other : shortStrings.getOrDefault(otherLength, List.of())) {
+                if (precedes(other, id)) {
+                    candidates.add(other);
+                }
+            }
+            if (otherLength <= maxDistance || !byLength.containsKey(otherLength)) {
+                continue;
+            }
+            int delta = length - otherLength;
+            for (int segment = 0; segment <= maxDistance; segment++) {
+                int start = segmentStart(otherLength, segment);
+                int segmentLength = segmentLength(otherLength, segment);
+                // Positions compatibles avec les segments qui précèdent et ceux qui suivent
+                int from = Math.max(0, Math.max(start - segment, start + delta - (maxDistance - segment)));
+                int to = Math.min(length - segmentLength, Math.min(start + segment, start + delta + (maxDistance - segment)));
+                for (int position = from; position <= to; position++) {
+                    SegmentKey key = new SegmentKey(otherLength, segment, value.substring(position, position + segmentLength));
+                    for (int other : segments.getOrDefault(key, List.of())) {
+                        if (precedes(other, id)) {
+                            candidates.add(other);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int other : candidates) {
+            int distance = LevenshteinCalculator.calculate(strings.get(other), value, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(new Match(Math.min(other, id), Math.max(other, id), distance));
+            }
+        }
+        return matches;
+    }
+
+    private boolean precedes(int other, int id) {
+        int a = strings.get(other).length();
+        int b = strings.get(id).length();
+        return a < b || a == b && other < id;
+    }
+
+    /**
+     * Découpage en {@code k + 1} segments : les premiers ont la longueur
+     * {@code length / (k + 1)}, les derniers un caractère de plus.
+     */
+    private int segmentLength(int length, int segment) {
+        int parts = maxDistance + 1;
+        int shortOnes = parts - length % parts;
+        return length / parts + (segment < shortOnes ? 0 : 1);
+    }
+
+    private int segmentStart(int length, int segment) {
+        int parts = maxDistance + 1;
+        int shortOnes = parts - length % parts;
+        int base = length / parts;
+        return segment * base + Math.max(0, segment - shortOnes);
+    }
+}
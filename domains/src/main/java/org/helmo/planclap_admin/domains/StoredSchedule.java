@@ -0,0 +1,14 @@
+package org.helmo.planclap_admin.domains;
+
+/**
+ * Planning calculé, sous la forme conservée par un {@link ScheduleCache}.
+ *
+ * <p>Les séances sont des codes opaques produits par le {@link SchedulerService}, indépendants
+ * de la semaine ; les films y sont désignés par leur position dans le catalogue, que
+ * l'empreinte associée garantit inchangé.</p>
+ *
+ * @param seances les codes des séances placées
+ * @param unplaced la position des films dont une séance n'a pas pu être placée (une par séance)
+ */
+public record StoredSchedule(long[] seances, int[] unplaced) {
+}
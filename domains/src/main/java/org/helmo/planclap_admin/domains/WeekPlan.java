@@ -0,0 +1,86 @@
+package org.helmo.planclap_admin.domains;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Planning d'une semaine : les séances placées et celles qui n'ont pas trouvé de place.
+ */
+public final class WeekPlan {
+
+    static final Comparator<Seance> CHRONOLOGICAL = Comparator
+            .comparing(Seance::getDate)
+            .thenComparingInt(Seance::getStartMinute)
+            .thenComparingInt(Seance::getRoom);
+
+    private final LocalDate monday;
+    private final List<Seance> seances;
+    private final List<Movie> unplaced;
+
+    /**
+     * @param monday le lundi de la semaine planifiée
+     * @param seances les séances placées (dans n'importe quel ordre)
+     * @param unplaced les films dont une séance n'a pas pu être placée (une entrée par séance)
+     */
+    public WeekPlan(LocalDate monday, List<Seance> seances, List<Movie> unplaced) {
+        this.monday = monday;
+        this.seances = seances.stream().sorted(CHRONOLOGICAL).toList();
+        this.unplaced = List.copyOf(unplaced);
+    }
+
+    public LocalDate getMonday() {
+        return monday;
+    }
+
+    /**
+     * @return les séances, par ordre chronologique
+     */
+    public List<Seance> getSeances() {
+        return seances;
+    }
+
+    /**
+     * @param date un jour de la semaine
+     * @return les séances de ce jour, par ordre chronologique
+     */
+    public List<Seance> getSeances(LocalDate date) {
+        return seances.stream().filter(seance -> seance.getDate().equals(date)).toList();
+    }
+
+    /**
+     * Reporte ce planning sur une autre semaine : mêmes jours, mêmes horaires, mêmes salles.
+     *
+     * @param otherMonday le lundi de l'autre semaine
+     * @return le planning de l'autre semaine
+     */
+    public WeekPlan shiftedTo(LocalDate otherMonday) {
+        long days = ChronoUnit.DAYS.between(monday, otherMonday);
+        List<Seance> shifted = seances.stream()
+                .map(seance -> seance.movedTo(seance.getDate().plusDays(days), seance.getStartMinute()))
+                .toList();
+        return new WeekPlan(otherMonday, shifted, unplaced);
+    }
+
+    /**
+     * @return les films dont une séance n'a pas pu être placée (une entrée par séance)
+     */
+    public List<Movie> getUnplaced() {
+        return unplaced;
+    }
+
+    /**
+     * @return true si toutes les séances demandées ont été placées
+     */
+    public boolean isComplete() {
+        return unplaced.isEmpty();
+    }
+
+    /**
+     * @return le nombre de minutes de projection planifiées
+     */
+    public int getScheduledMinutes() {
+        return seances.stream().mapToInt(seance -> seance.getMovie().getDuration()).sum();
+    }
+}
@@ -0,0 +1,248 @@
+package org.helmo.planclap_admin.domains;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Planning en cours de réparation : les séances conservées du planning précédent,
+ * auxquelles s'ajoutent les séances à (re)placer.
+ *
+ * <p>Chaque séance conservée ou déplacée garde un lien vers sa séance d'origine, ce qui permet
+ * de rapporter exactement ce qui a bougé. Une séance qui ne trouve aucun créneau libre peut
+ * encore entrer dans une salle dont les minutes libres suffisent ce jour-là : les séances de
+ * cette salle sont alors resserrées vers l'ouverture, et seules elles sont touchées.</p>
+ *
+ * <p>Chaque séance, conservée, placée ou resserrée, commence à une minute permise par les
+ * {@link ScheduleConstraints} (heures d'ouverture du jour et plages des Cinechecks du film).</p>
+ */
+final class WeekRepair {
+
+    private static final Comparator<Seance> BY_START = Comparator.comparingInt(Seance::getStartMinute);
+
+    private final LocalDate monday;
+    private final int gap;
+    private final int rooms;
+    private final ScheduleConstraints constraints;
+    // Minutes de début permises de chaque film, jour par jour (identité : un film modifié a les siennes)
+    private final Map<Movie, BitSet[]> allowed = new IdentityHashMap<>();
+    // Occupation de chaque salle, jour par jour : days[jour][salle]
+    private final DayTimeline[][] days;
+    private final List<List<Seance>> byDay = new ArrayList<>(SchedulerService.DAYS);
+    // Séance courante -> séance du planning précédent (identité : deux séances égales restent distinctes)
+    private final Map<Seance, Seance> origins = new IdentityHashMap<>();
+    private final List<Movie> unplaced = new ArrayList<>();
+
+    /**
+     * @param monday le lundi de la semaine réparée
+     * @param gap le temps de nettoyage minimal entre deux séances, en minutes
+     * @param rooms le nombre de salles
+     * @param constraints les heures d'ouverture et les plages des Cinechecks
+     */
+    WeekRepair(LocalDate monday, int gap, int rooms, ScheduleConstraints constraints) {
+        this.monday = monday;
+        this.gap = gap;
+        this.rooms = rooms;
+        this.constraints = constraints;
+        this.days = new DayTimeline[SchedulerService.DAYS][rooms];
+        for (int day = 0; day < SchedulerService.DAYS; day++) {
+            for (int room = 0; room < rooms; room++) {
+                days[day][room] = new DayTimeline(constraints.getOpening(day), constraints.getClosing(day), gap);
+            }
+            byDay.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Conserve une séance du planning précédent à sa place (même jour, même salle),
+     * si le créneau est encore libre.
+     *
+     * @param origin la séance du planning précédent
+     * @param movie le film à projeter (éventuellement modifié depuis)
+     * @return true si la séance a été conservée
+     */
+    boolean keep(Seance origin, Movie movie) {
+        int day = (int) ChronoUnit.DAYS.between(monday, origin.getDate());
+        if (origin.getRoom() >= rooms || !constraints.allows(movie, day, origin.getStartMinute())
+                || !days[day][origin.getRoom()].isFree(origin.getStartMinute(), movie.getDuration())) {
+            return false;
+        }
+        Seance seance = origin.getMovie() == movie
+                ? origin
+                : new Seance(movie, origin.getDate(), origin.getStartMinute(), origin.getRoom());
+        add(day, seance, origin);
+        return true;
+    }
+
+    /**
+     * Place une séance dans le jour qui compte le moins de séances de ce film ; à égalité, le
+     * premier jour où elle tient. Dans ce jour, elle prend le créneau qui commence le plus tôt,
+     * toutes salles confondues. Si aucune salle n'a de créneau assez long, la première salle
+     * ayant assez de minutes libres, dans le jour le moins chargé en séances du film, est resserrée.
+     *
+     * @param movie le film à projeter
+     * @param origin la séance d'origine si la séance est déplacée, null pour une nouvelle séance
+     */
+    void place(Movie movie, Seance origin) {
+        int[] perDay = new int[SchedulerService.DAYS];
+        for (int day = 0; day < SchedulerService.DAYS; day++) {
+            for (Seance seance : byDay.get(day)) {
+                if (seance.getMovie().equals(movie)) {
+                    perDay[day]++;
+                }
+            }
+        }
+
+        BitSet[] starts = allowed.computeIfAbsent(movie, constraints::allowedStarts);
+        int bestDay = -1;
+        int bestRoom = -1;
+        int bestStart = -1;
+        for (int day = 0; day < SchedulerService.DAYS; day++) {
+            if (bestDay >= 0 && perDay[day] >= perDay[bestDay]) {
+                continue;
+            }
+            int dayStart = -1;
+            for (int room = 0; room < rooms; room++) {
+                int start = firstAllowed(days[day][room], starts[day], movie.getDuration());
+                if (start >= 0 && (dayStart < 0 || start < dayStart)) {
+                    dayStart = start;
+                    bestDay = day;
+                    bestRoom = room;
+                    bestStart = start;
+                }
+            }
+        }
+        if (bestDay < 0) {
+            for (int day = 0; day < SchedulerService.DAYS; day++) {
+                if (bestDay >= 0 && perDay[day] >= perDay[bestDay]) {
+                    continue;
+                }
+                for (int room = 0; room < rooms; room++) {
+                    int start = compactedStart(day, room, starts[day]);
+                    if (start >= 0) {
+                        bestDay = day;
+                        bestRoom = room;
+                        bestStart = start;
+                        break;
+                    }
+                }
+            }
+            if (bestDay < 0) {
+                unplaced.add(movie);
+                return;
+            }
+            compact(bestDay, bestRoom);
+        }
+        add(bestDay, new Seance(movie, monday.plusDays(bestDay), bestStart, bestRoom), origin);
+    }
+
+    /**
+     * Construit le résultat en comparant les séances courantes au planning précédent.
+     *
+     * @param previous le planning précédent
+     * @return le nouveau planning et ses différences
+     */
+    Replan result(WeekPlan previous) {
+        List<Seance> seances = new ArrayList<>();
+        List<Seance> added = new ArrayList<>();
+        List<Replan.Move> moved = new ArrayList<>();
+        for (List<Seance> day : byDay) {
+            for (Seance seance : day) {
+                seances.add(seance);
+                Seance origin = origins.get(seance);
+                if (origin == null) {
+                    added.add(seance);
+                } else if (!origin.getDate().equals(seance.getDate()) || origin.getStartMinute() != seance.getStartMinute()
+                        || origin.getRoom() != seance.getRoom()) {
+                    moved.add(new Replan.Move(origin, seance));
+                }
+            }
+        }
+        Set<Seance> survivors = Collections.newSetFromMap(new IdentityHashMap<>());
+        survivors.addAll(origins.values());
+        List<Seance> removed = previous.getSeances().stream().filter(seance -> !survivors.contains(seance)).toList();
+
+        WeekPlan plan = new WeekPlan(monday, seances, unplaced);
+        added.sort(WeekPlan.CHRONOLOGICAL);
+        moved.sort(Comparator.comparing(Replan.Move::to, WeekPlan.CHRONOLOGICAL));
+        return new Replan(plan, added, moved, removed);
+    }
+
+    private void add(int day, Seance seance, Seance origin) {
+        days[day][seance.getRoom()].occupy(seance.getStartMinute(), seance.getMovie().getDuration());
+        byDay.get(day).add(seance);
+        if (origin != null) {
+            origins.put(seance, origin);
+        }
+    }
+
+    /**
+     * Premier créneau libre d'une salle qui commence à une minute permise : on alterne entre le
+     * prochain créneau libre et la prochaine minute permise jusqu'à ce qu'ils coïncident.
+     *
+     * @return le début du créneau, ou -1 s'il n'y en a pas
+     */
+    private static int firstAllowed(DayTimeline timeline, BitSet starts, int duration) {
+        int start = timeline.firstFit(duration);
+        while (start >= 0) {
+            int allowedStart = starts.nextSetBit(start);
+            if (allowedStart == start || allowedStart < 0) {
+                return allowedStart;
+            }
+            start = timeline.nextFree(allowedStart, duration);
+        }
+        return -1;
+    }
+
+    /**
+     * @return le début qu'aurait la séance après les séances de la salle une fois resserrées,
+     *         ou -1 si elle n'y tiendrait pas
+     */
+    private int compactedStart(int day, int room, BitSet starts) {
+        int cursor = constraints.getOpening(day);
+        for (Seance seance : byDay.get(day).stream().sorted(BY_START).toList()) {
+            if (seance.getRoom() == room) {
+                cursor = compactedStart(seance, day, cursor) + seance.getMovie().getDuration() + gap;
+            }
+        }
+        return starts.nextSetBit(cursor);
+    }
+
+    /**
+     * @return la première minute permise de la séance à partir du curseur ; elle ne dépasse
+     *         jamais son début actuel, qui est permis
+     */
+    private int compactedStart(Seance seance, int day, int cursor) {
+        return allowed.computeIfAbsent(seance.getMovie(), constraints::allowedStarts)[day].nextSetBit(cursor);
+    }
+
+    /**
+     * Resserre les séances d'une salle, un jour donné, vers l'ouverture, sans changer leur ordre :
+     * chacune avance jusqu'à la première minute permise après la précédente, et les minutes
+     * libres de la salle se retrouvent en fin de journée.
+     */
+    private void compact(int day, int room) {
+        List<Seance> seances = byDay.get(day);
+        seances.sort(BY_START);
+        int cursor = constraints.getOpening(day);
+        for (int i = 0; i < seances.size(); i++) {
+            Seance seance = seances.get(i);
+            if (seance.getRoom() != room) {
+                continue;
+            }
+            int duration = seance.getMovie().getDuration();
+            cursor = compactedStart(seance, day, cursor);
+            if (seance.getStartMinute() != cursor) {
+                Seance shifted = seance.movedTo(seance.getDate(), cursor);
+                days[day][room].release(seance.getStartMinute(), duration);
+                days[day][room].occupy(cursor, duration);
+                Seance origin = origins.remove(seance);
+                if (origin != null) {
+                    origins.put(shifted, origin);
+                }
+                seances.set(i, shifted);
+            }
+            cursor += duration + gap;
+        }
+    }
+}
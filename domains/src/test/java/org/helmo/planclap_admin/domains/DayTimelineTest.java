@@ -0,0 +1,81 @@
+package org.helmo.planclap_admin.domains;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayTimelineTest {
+
+    private static final int OPENING = 13 * 60;
+    private static final int CLOSING = 24 * 60;
+    private static final int GAP = 15;
+
+    /**
+     * @return une journée avec deux séances, de 13 h 20 à 15 h et de 16 h 40 à 18 h 20
+     */
+    private static DayTimeline twoSeances() {
+        DayTimeline timeline = new DayTimeline(OPENING, CLOSING, GAP);
+        timeline.occupy(800, 100);
+        timeline.occupy(1000, 100);
+        return timeline;
+    }
+
+    @Test
+    @DisplayName("Une séance collée aux précédentes en respectant le temps de nettoyage n'est pas en conflit")
+    void testGapRespected() {
+        DayTimeline timeline = twoSeances();
+
+        assertEquals(-1, timeline.conflict(915, 70));
+        assertTrue(timeline.isFree(915, 70));
+        assertEquals(-1, timeline.conflict(1115, 60));
+    }
+
+    @Test
+    @DisplayName("Un temps de nettoyage trop court avant ou après une séance est un conflit")
+    void testGapViolated() {
+        DayTimeline timeline = twoSeances();
+
+        assertEquals(800, timeline.conflict(914, 70));
+        assertEquals(1000, timeline.conflict(915, 71));
+        assertEquals(1000, timeline.conflict(1114, 60));
+        assertFalse(timeline.isFree(914, 70));
+    }
+
+    @Test
+    @DisplayName("Aucun temps de nettoyage n'est exigé avant la première séance ni après la dernière")
+    void testNoGapAtDayBounds() {
+        DayTimeline timeline = new DayTimeline(OPENING, CLOSING, GAP);
+
+        assertEquals(OPENING, timeline.firstFit(CLOSING - OPENING));
+        timeline.occupy(OPENING, 100);
+        assertEquals(OPENING + 100 + GAP, timeline.firstFit(CLOSING - OPENING - 100 - GAP));
+        assertEquals(-1, timeline.firstFit(CLOSING - OPENING - 100 - GAP + 1));
+
+        DayTimeline later = twoSeances();
+        assertTrue(later.isFree(OPENING, 800 - OPENING - GAP));
+        assertEquals(1100 + GAP, later.nextFree(0, CLOSING - 1100 - GAP));
+    }
+
+    @Test
+    @DisplayName("Le prochain créneau libre saute les séances dont le temps de nettoyage ne laisse pas la place")
+    void testNextFreeWithGap() {
+        DayTimeline timeline = twoSeances();
+
+        assertEquals(OPENING, timeline.nextFree(OPENING, 5));
+        assertEquals(915, timeline.nextFree(OPENING, 70));
+        assertEquals(1115, timeline.nextFree(OPENING, 71));
+        assertEquals(1115, timeline.nextFree(1000, 10));
+    }
+
+    @Test
+    @DisplayName("Retirer une séance libère aussi son temps de nettoyage")
+    void testReleaseFreesGap() {
+        DayTimeline timeline = twoSeances();
+
+        timeline.release(1000, 100);
+
+        assertEquals(1, timeline.size());
+        assertEquals(-1, timeline.conflict(915, 200));
+    }
+}
@@ -1,2 +1,76 @@
+package org.helmo.planclap_admin.domains;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 public class LevenshteinCalculatorTest {
+
+    @Test
+    @DisplayName("La distance compte les insertions, suppressions et substitutions")
+    void testCalculate() {
+        assertEquals(0, LevenshteinCalculator.calculate("rocky", "rocky"));
+        assertEquals(2, LevenshteinCalculator.calculate("godzilla-vs-kong", "godzilla-x-kong"));
+        assertEquals(2, LevenshteinCalculator.calculate("kung-fu-panda", "kung-fu-panda-4"));
+        assertEquals(5, LevenshteinCalculator.calculate("", "rocky"));
+    }
+
+    @Test
+    @DisplayName("Avec un seuil, la distance est exacte jusqu'au seuil et vaut seuil + 1 au-delà")
+    void testBoundedMatchesUnbounded() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            String s1 = randomSlug(random, 12);
+            String s2 = random.nextBoolean() ? mutate(random, s1, random.nextInt(5)) : randomSlug(random, 12);
+            int exact = LevenshteinCalculator.calculate(s1, s2);
+            for (int max = 0; max <= 4; max++) {
+                int bounded = LevenshteinCalculator.calculate(s1, s2, max);
+                assertEquals(exact <= max ? exact : max + 1, bounded,
+                        "\"" + s1 + "\" / \"" + s2 + "\", seuil " + max);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Avec un seuil, les chaînes vides et les écarts de longueur sont traités sans calcul inutile")
+    void testBoundedEdgeCases() {
+        assertEquals(0, LevenshteinCalculator.calculate("", "", 0));
+        assertEquals(1, LevenshteinCalculator.calculate("", "a", 0));
+        assertEquals(2, LevenshteinCalculator.calculate("", "ab", 2));
+        assertEquals(3, LevenshteinCalculator.calculate("", "abc", 2));
+        assertEquals(4, LevenshteinCalculator.calculate("a", "abcdefgh", 3));
+        assertEquals(1, LevenshteinCalculator.calculate("rocky", "rocky-2", 0));
+    }
+
+    static String randomSlug(Random random, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder slug = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            slug.append("abc-".charAt(random.nextInt(4)));
+        }
+        return slug.toString();
+    }
+
+    /**
+     * Applique des modifications aléatoires (insertion, suppression ou substitution) à une chaîne.
+     */
+    static String mutate(Random random, String value, int edits) {
+        StringBuilder result = new StringBuilder(value);
+        for (int i = 0; i < edits; i++) {
+            int position = random.nextInt(result.length() + 1);
+            char c = "abc-".charAt(random.nextInt(4));
+            int operation = result.isEmpty() ? 0 : random.nextInt(3);
+            if (operation == 0) {
+                result.insert(position, c);
+            } else if (operation == 1) {
+                result.deleteCharAt(Math.min(position, result.length() - 1));
+            } else {
+                result.setCharAt(Math.min(position, result.length() - 1), c);
+            }
+        }
+        return result.toString();
+    }
 }
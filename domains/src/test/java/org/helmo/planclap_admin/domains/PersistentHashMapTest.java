@@ -0,0 +1,140 @@
+package org.helmo.planclap_admin.domains;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashMapTest {
+
+    /**
+     * Clé au hachage imposé, pour provoquer des collisions.
+     */
+    private record Key(String name, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    @DisplayName("Les clés de même hachage sont conservées côte à côte et retrouvées")
+    void testFullCollisions() {
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 5; i++) {
+            map = map.plus(new Key("k" + i, 42), i);
+        }
+
+        assertEquals(5, map.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, map.get(new Key("k" + i, 42)));
+        }
+        assertNull(map.get(new Key("absente", 42)));
+
+        map = map.plus(new Key("k2", 42), 20);
+        assertEquals(5, map.size());
+        assertEquals(20, map.get(new Key("k2", 42)));
+    }
+
+    @Test
+    @DisplayName("Une clé de hachage voisin d'une collision la fait descendre d'un niveau")
+    void testCollisionSplitsOnDivergingHash() {
+        // Mêmes 5 bits de poids faible, hachages différents ensuite
+        Key a = new Key("a", 7);
+        Key b = new Key("b", 7);
+        Key c = new Key("c", 7 | 1 << 10);
+        PersistentHashMap<Key, String> map = PersistentHashMap.<Key, String>empty()
+                .plus(a, "A").plus(b, "B").plus(c, "C");
+
+        assertEquals(3, map.size());
+        assertEquals("A", map.get(a));
+        assertEquals("B", map.get(b));
+        assertEquals("C", map.get(c));
+
+        PersistentHashMap<Key, String> withoutA = map.minus(a);
+        assertEquals(2, withoutA.size());
+        assertNull(withoutA.get(a));
+        assertEquals("B", withoutA.get(b));
+        assertEquals("C", withoutA.get(c));
+    }
+
+    @Test
+    @DisplayName("Retirer toutes les clés, collisions comprises, ramène une table vide")
+    void testRemoveDownToEmpty() {
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        Key[] keys = new Key[300];
+        for (int i = 0; i < keys.length; i++) {
+            // Un tiers des clés partage son hachage avec une autre
+            keys[i] = new Key("k" + i, i % 3 == 0 ? i - 1 : i * 0x9E3779B1);
+            map = map.plus(keys[i], i);
+        }
+        assertEquals(keys.length, map.size());
+
+        for (int i = 0; i < keys.length; i++) {
+            map = map.minus(keys[i]);
+            assertEquals(keys.length - i - 1, map.size());
+            assertFalse(map.containsKey(keys[i]));
+            if (i + 1 < keys.length) {
+                assertEquals(i + 1, map.get(keys[i + 1]));
+            }
+        }
+        assertEquals(0, map.size());
+        assertSame(map, map.minus(keys[0]));
+        assertEquals(1, map.plus(keys[0], 0).size());
+    }
+
+    @Test
+    @DisplayName("Retirer ou réécrire une association identique retourne la même table")
+    void testNoOpReturnsSameMap() {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty().plus("dune", 1);
+
+        assertSame(map, map.minus("rocky"));
+        assertSame(map, map.plus("dune", map.get("dune")));
+    }
+
+    @Test
+    @DisplayName("Les anciennes versions ne voient pas les modifications suivantes")
+    void testOldVersionsAreImmutable() {
+        PersistentHashMap<String, Integer> v1 = PersistentHashMap.<String, Integer>empty().plus("dune", 1).plus("rocky", 2);
+        PersistentHashMap<String, Integer> v2 = v1.plus("alien", 3).plus("dune", 10);
+        PersistentHashMap<String, Integer> v3 = v2.minus("rocky");
+
+        assertEquals(2, v1.size());
+        assertEquals(1, v1.get("dune"));
+        assertNull(v1.get("alien"));
+        assertEquals(3, v2.size());
+        assertEquals(10, v2.get("dune"));
+        assertEquals(2, v2.get("rocky"));
+        assertNull(v3.get("rocky"));
+        assertEquals(2, v3.size());
+    }
+
+    @Test
+    @DisplayName("Une suite aléatoire d'ajouts et de retraits donne le même résultat qu'une HashMap")
+    void testMatchesHashMap() {
+        Random random = new Random(33);
+        Map<Key, Integer> expected = new HashMap<>();
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            // Peu de hachages distincts : beaucoup de collisions et de nœuds partagés
+            int id = random.nextInt(2_000);
+            Key key = new Key("k" + id, id % 500);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int id = 0; id < 2_000; id++) {
+            Key key = new Key("k" + id, id % 500);
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
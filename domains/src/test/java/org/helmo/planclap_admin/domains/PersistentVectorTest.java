@@ -0,0 +1,97 @@
+package org.helmo.planclap_admin.domains;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentVectorTest {
+
+    @Test
+    @DisplayName("Les éléments restent lisibles en franchissant 32, 1024 et 32768 éléments")
+    void testGrowsAcrossLevels() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 32 * 32 * 32 + 100; i++) {
+            vector = vector.plus(i);
+            int size = i + 1;
+            if (size == 32 || size == 33 || size == 1024 || size == 1025 || size == 1056
+                    || size == 32768 || size == 32769 || size == 32800) {
+                assertEquals(size, vector.size());
+                for (int j = 0; j < size; j++) {
+                    assertEquals(j, vector.get(j), "élément " + j + " pour " + size + " éléments");
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Remplacer un élément de l'arbre ou de la queue ne touche que la nouvelle version")
+    void testWithKeepsOldVersion() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 1100; i++) {
+            vector = vector.plus(i);
+        }
+
+        PersistentVector<Integer> inTree = vector.with(5, -5);
+        PersistentVector<Integer> inDeepTree = inTree.with(1030 - 100, -930);
+        PersistentVector<Integer> inTail = inDeepTree.with(1099, -1099);
+
+        assertEquals(5, vector.get(5));
+        assertEquals(930, vector.get(930));
+        assertEquals(1099, vector.get(1099));
+        assertEquals(-5, inTree.get(5));
+        assertEquals(930, inTree.get(930));
+        assertEquals(-930, inDeepTree.get(930));
+        assertEquals(1099, inDeepTree.get(1099));
+        assertEquals(-1099, inTail.get(1099));
+        assertEquals(-5, inTail.get(5));
+        assertEquals(1100, inTail.size());
+    }
+
+    @Test
+    @DisplayName("Ajouter à une ancienne version ne modifie ni elle ni ses autres descendantes")
+    void testBranchingVersionsAreIndependent() {
+        PersistentVector<String> filled = PersistentVector.empty();
+        for (int i = 0; i < 64; i++) {
+            filled = filled.plus("x" + i);
+        }
+        PersistentVector<String> base = filled;
+
+        PersistentVector<String> left = base.plus("gauche");
+        PersistentVector<String> right = base.plus("droite");
+
+        assertEquals(64, base.size());
+        assertEquals("gauche", left.get(64));
+        assertEquals("droite", right.get(64));
+        assertThrows(IndexOutOfBoundsException.class, () -> base.get(64));
+    }
+
+    @Test
+    @DisplayName("Les positions hors de la liste sont refusées")
+    void testOutOfBounds() {
+        PersistentVector<String> vector = PersistentVector.<String>empty().plus("dune");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.with(1, "rocky"));
+        assertThrows(IndexOutOfBoundsException.class, () -> PersistentVector.empty().get(0));
+    }
+
+    @Test
+    @DisplayName("La vue en liste suit l'ordre d'ajout et n'est pas modifiable")
+    void testAsList() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            vector = vector.plus(i * 3);
+            expected.add(i * 3);
+        }
+
+        List<Integer> view = vector.asList();
+        assertEquals(expected, view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(1));
+    }
+}
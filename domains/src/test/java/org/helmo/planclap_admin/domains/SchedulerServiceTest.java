@@ -0,0 +1,137 @@
+package org.helmo.planclap_admin.domains;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulerServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+    /** Budget assez large pour qu'aucune stratégie ne soit abandonnée faute de temps. */
+    private static final Duration NO_DEADLINE = Duration.ofSeconds(30);
+    private static final int RANDOM_ORDERS = 12;
+
+    private static Movie movie(String title, int duration, int seances) {
+        return new Movie(title, duration, "", "", List.of(), seances);
+    }
+
+    @Test
+    @DisplayName("Un planning modifié à la main qui ne respecte que le temps de nettoyage est signalé")
+    void testValidateReportsOnlyGap() {
+        Movie rocky = movie("Rocky", 100, 1);
+        Movie alien = movie("Alien", 100, 1);
+        Seance first = new Seance(rocky, MONDAY, 13 * 60);
+        // 10 minutes après la fin de Rocky, au lieu des 15 exigées
+        Seance second = new Seance(alien, MONDAY, 13 * 60 + 110);
+        WeekPlan plan = new WeekPlan(MONDAY, List.of(first, second), List.of());
+
+        List<PlanConflict> conflicts = new SchedulerService(ForkJoinPool.commonPool(),
+                SchedulerService.DEFAULT_BUDGET, 15).validate(plan);
+
+        assertEquals(List.of(new PlanConflict(second, first)), conflicts);
+        assertFalse(conflicts.get(0).isOutOfHours());
+        // Sans temps de nettoyage, le même planning est valide : seul l'écart est en cause
+        assertTrue(new SchedulerService(ForkJoinPool.commonPool(), SchedulerService.DEFAULT_BUDGET, 0)
+                .validate(plan).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un planning calculé avec un temps de nettoyage le respecte")
+    void testScheduledPlanRespectsGap() {
+        SchedulerService scheduler = new SchedulerService(ForkJoinPool.commonPool(),
+                SchedulerService.DEFAULT_BUDGET, 15);
+        List<Movie> movies = List.of(movie("Rocky", 100, 5), movie("Alien", 117, 4), movie("Dune", 155, 3));
+
+        WeekPlan plan = scheduler.schedule(movies, MONDAY);
+
+        assertTrue(plan.isComplete());
+        assertTrue(scheduler.validate(plan).isEmpty());
+    }
+
+    /**
+     * @return un catalogue trop chargé pour une salle : aucune stratégie ne place toutes les séances
+     */
+    private static List<Movie> overbooked() {
+        int[] durations = {95, 142, 117, 88, 155, 101, 126, 90, 134, 109, 97, 148};
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < durations.length; i++) {
+            movies.add(movie("Film " + i, durations[i], 3 + i % 4));
+        }
+        return movies;
+    }
+
+    @Test
+    @DisplayName("Le planning retenu ne dépend ni du nombre de threads ni de l'ordre d'exécution des stratégies")
+    void testPortfolioIsDeterministic() {
+        List<Movie> movies = overbooked();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+        try {
+            WeekPlan expected = new SchedulerService(single, RANDOM_ORDERS, NO_DEADLINE, 10).schedule(movies, MONDAY);
+            assertFalse(expected.isComplete());
+            for (int run = 0; run < 10; run++) {
+                // Un nouveau service à chaque fois : aucun planning mémorisé
+                WeekPlan plan = new SchedulerService(parallel, RANDOM_ORDERS, NO_DEADLINE, 10).schedule(movies, MONDAY);
+                assertEquals(expected.getSeances(), plan.getSeances(), "exécution " + run);
+                assertEquals(expected.getUnplaced(), plan.getUnplaced(), "exécution " + run);
+            }
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("À score égal, le planning de la première stratégie (les plus longs d'abord) l'emporte")
+    void testTieGoesToFirstStrategy() {
+        // Dix films identiques de 5 séances pour 42 créneaux de 100 minutes : toutes les stratégies
+        // placent autant de minutes, mais les ordres aléatoires laissent d'autres films sans place
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            movies.add(movie("Film " + i, 100, 5));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            WeekPlan plan = new SchedulerService(pool, RANDOM_ORDERS, NO_DEADLINE, 0).schedule(movies, MONDAY);
+
+            // Dans l'ordre du catalogue, seuls les derniers films manquent de place
+            List<Movie> unplaced = new ArrayList<>(Collections.nCopies(3, movies.get(8)));
+            unplaced.addAll(Collections.nCopies(5, movies.get(9)));
+            assertEquals(unplaced, plan.getUnplaced());
+            assertEquals(42, plan.getSeances().size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("La recherche s'arrête dès qu'une stratégie place toutes les séances")
+    void testStopsOnceComplete() {
+        List<Movie> movies = List.of(movie("Rocky", 100, 5), movie("Alien", 117, 4));
+        List<ScheduleProgress> steps = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            WeekPlan plan = new SchedulerService(pool, RANDOM_ORDERS, NO_DEADLINE, 0)
+                    .schedule(movies, MONDAY, steps::add, () -> false);
+
+            assertTrue(plan.isComplete());
+            assertEquals(List.of(new ScheduleProgress(1, 3 + RANDOM_ORDERS, 5 * 100 + 4 * 117, 0)), steps);
+
+            // A contrario, un catalogue trop chargé fait examiner tout le portefeuille
+            steps.clear();
+            new SchedulerService(pool, RANDOM_ORDERS, NO_DEADLINE, 10)
+                    .schedule(overbooked(), MONDAY, steps::add, () -> false);
+            assertEquals(3 + RANDOM_ORDERS, steps.get(steps.size() - 1).explored());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.helmo.planclap_admin.domains;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeanceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+
+    @Test
+    @DisplayName("Le codage compact restitue le film, le jour, la minute et la salle, valeurs extrêmes comprises")
+    void testPackRoundTrip() {
+        long last = Seance.pack((1 << 24) - 1, 6, 1439, 255);
+        assertEquals((1 << 24) - 1, Seance.movieOf(last));
+        assertEquals(6, Seance.dayOf(last));
+        assertEquals(1439, Seance.startOf(last));
+        assertEquals(255, Seance.roomOf(last));
+
+        long first = Seance.pack(0, 0, 0, 0);
+        assertEquals(0, Seance.movieOf(first));
+        assertEquals(0, Seance.dayOf(first));
+        assertEquals(0, Seance.startOf(first));
+        assertEquals(0, Seance.roomOf(first));
+    }
+
+    @Test
+    @DisplayName("Une séance codée puis décodée est identique à l'originale")
+    void testUnpack() {
+        List<Movie> movies = List.of(new Movie("Court", 1, "", "", List.of(), 1));
+
+        Seance seance = Seance.unpack(Seance.pack(0, 6, 1439, 255), movies, MONDAY);
+
+        assertEquals(new Seance(movies.get(0), MONDAY.plusDays(6), 1439, 255), seance);
+    }
+
+    @Test
+    @DisplayName("L'ordre naturel des codes est l'ordre chronologique, puis celui des salles et des films")
+    void testPackedOrderIsChronological() {
+        Random random = new Random(3);
+        int[][] seances = new int[2000][];
+        long[] packed = new long[seances.length];
+        for (int i = 0; i < seances.length; i++) {
+            seances[i] = new int[]{random.nextInt(1 << 24), random.nextInt(7), random.nextInt(1440), random.nextInt(256)};
+            packed[i] = Seance.pack(seances[i][0], seances[i][1], seances[i][2], seances[i][3]);
+        }
+
+        Arrays.sort(seances, Comparator.<int[]>comparingInt(seance -> seance[1])
+                .thenComparingInt(seance -> seance[2])
+                .thenComparingInt(seance -> seance[3])
+                .thenComparingInt(seance -> seance[0]));
+        Arrays.sort(packed);
+
+        for (int i = 0; i < seances.length; i++) {
+            assertEquals(Seance.pack(seances[i][0], seances[i][1], seances[i][2], seances[i][3]), packed[i]);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.helmo.planclap_admin.domains;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimilarityJoinTest {
+
+    @Test
+    @DisplayName("La jointure trouve exactement les paires d'une comparaison exhaustive, pour k de 0 à 3")
+    void testSelfJoinMatchesBruteForce() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            // Chaînes courtes (longueur <= k comprise) et variantes proches les unes des autres
+            List<String> slugs = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                slugs.add(LevenshteinCalculatorTest.randomSlug(random, 10));
+            }
+            for (int i = 0; i < 60; i++) {
+                String base = slugs.get(random.nextInt(slugs.size()));
+                slugs.add(LevenshteinCalculatorTest.mutate(random, base, random.nextInt(4)));
+            }
+            for (int k = 0; k <= 3; k++) {
+                assertEquals(bruteForce(slugs, k), SimilarityJoin.selfJoin(slugs, k), "k = " + k + ", tour " + round);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Les chaînes plus courtes que le nombre de segments, même vides, sont comparées entre elles")
+    void testShortStrings() {
+        List<String> slugs = List.of("", "a", "ab", "abc", "b", "");
+
+        assertEquals(bruteForce(slugs, 2), SimilarityJoin.selfJoin(slugs, 2));
+        assertTrue(SimilarityJoin.selfJoin(slugs, 0).contains(new SimilarityJoin.Match(0, 5, 0)));
+    }
+
+    @Test
+    @DisplayName("Une distance maximale négative est refusée")
+    void testNegativeDistance() {
+        assertThrows(IllegalArgumentException.class, () -> SimilarityJoin.selfJoin(List.of("a"), -1));
+    }
+
+    private static List<SimilarityJoin.Match> bruteForce(List<String> strings, int k) {
+        List<SimilarityJoin.Match> matches = new ArrayList<>();
+        for (int i = 0; i < strings.size(); i++) {
+            for (int j = i + 1; j < strings.size(); j++) {
+                int distance = LevenshteinCalculator.calculate(strings.get(i), strings.get(j));
+                if (distance <= k) {
+                    matches.add(new SimilarityJoin.Match(i, j, distance));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(SimilarityJoin.Match::distance)
+                .thenComparingInt(SimilarityJoin.Match::left)
+                .thenComparingInt(SimilarityJoin.Match::right));
+        return matches;
+    }
+}
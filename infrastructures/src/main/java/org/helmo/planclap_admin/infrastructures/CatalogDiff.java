@@ -0,0 +1,333 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.helmo.planclap_admin.domains.CatalogDiffSummary;
+import org.helmo.planclap_admin.domains.Movie;
+import org.helmo.planclap_admin.domains.MovieChange;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Comparaison en flux de deux catalogues {@code movies.json}.
+ *
+ * <p>Chaque catalogue est lu film par film et trié par slug, puis les deux suites triées
+ * sont parcourues ensemble (jointure par fusion) : un slug présent d'un seul côté est un ajout
+ * ou un retrait, un slug présent des deux côtés avec un contenu différent est une modification.</p>
+ *
+ * <p>La mémoire utilisée est bornée par la taille des séquences de tri : un catalogue plus grand
+ * est découpé en séquences triées écrites dans des fichiers temporaires, relues ensuite
+ * ensemble par une fusion à k voies. Un catalogue qui tient dans une séquence est trié
+ * en mémoire, sans fichier temporaire.</p>
+ *
+ * <p>Comme dans {@link org.helmo.planclap_admin.domains.CatalogSnapshot}, les slugs sont comparés
+ * sans tenir compte de la casse et seul le premier film d'un slug en double est retenu.</p>
+ */
+public final class CatalogDiff {
+
+    private static final Logger logger = LogManager.getLogger(CatalogDiff.class);
+
+    /** Nombre de films par séquence de tri par défaut. */
+    public static final int DEFAULT_RUN_SIZE = 50_000;
+
+    private static final Comparator<Movie> BY_SLUG = Comparator.comparing(CatalogDiff::key);
+
+    private final int runSize;
+    private final File tempDir;
+
+    /**
+     * Construit un comparateur avec la taille de séquence par défaut,
+     * dont les fichiers temporaires sont écrits dans le répertoire temporaire du système.
+     */
+    public CatalogDiff() {
+        this(DEFAULT_RUN_SIZE, null);
+    }
+
+    /**
+     * @param runSize le nombre maximal de films triés en mémoire à la fois
+     * @param tempDir le répertoire des séquences de tri (null pour le répertoire temporaire du système)
+     */
+    public CatalogDiff(int runSize, File tempDir) {
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("La taille des séquences doit être positive");
+        }
+        this.runSize = runSize;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Compare les catalogues de deux répertoires.
+     *
+     * @param sourceDir le répertoire du catalogue de référence
+     * @param targetDir le répertoire du catalogue comparé
+     * @param changes reçoit chaque différence, par ordre de slug
+     * @return le bilan de la comparaison
+     * @throws IOException si un catalogue ne peut pas être lu
+     */
+    public CatalogDiffSummary diff(File sourceDir, File targetDir, Consumer<MovieChange> changes) throws IOException {
+        try (SortedMovies source = sort(new File(sourceDir, "movies.json"));
+             SortedMovies target = sort(new File(targetDir, "movies.json"))) {
+            return mergeJoin(source, target, changes);
+        }
+    }
+
+    /**
+     * Compare le catalogue d'un répertoire à une liste de films déjà en mémoire.
+     *
+     * @param sourceDir le répertoire du catalogue de référence
+     * @param target les films du catalogue comparé
+     * @param changes reçoit chaque différence, par ordre de slug
+     * @return le bilan de la comparaison
+     * @throws IOException si le catalogue de référence ne peut pas être lu
+     */
+    public CatalogDiffSummary diff(File sourceDir, List<Movie> target, Consumer<MovieChange> changes) throws IOException {
+        List<Movie> sorted = new ArrayList<>(target);
+        sorted.sort(BY_SLUG);
+        try (SortedMovies source = sort(new File(sourceDir, "movies.json"));
+             SortedMovies inMemory = new ListRun(sorted)) {
+            return mergeJoin(source, new DistinctSlugs(inMemory), changes);
+        }
+    }
+
+    // --- Jointure ---
+
+    private static CatalogDiffSummary mergeJoin(SortedMovies source, SortedMovies target,
+                                                Consumer<MovieChange> changes) throws IOException {
+        int added = 0;
+        int removed = 0;
+        int changed = 0;
+        Movie s = source.next();
+        Movie t = target.next();
+        while (s != null || t != null) {
+            int order = s == null ? 1 : t == null ? -1 : key(s).compareTo(key(t));
+            if (order < 0) {
+                changes.accept(MovieChange.added(s));
+                added++;
+                s = source.next();
+            } else if (order > 0) {
+                changes.accept(MovieChange.removed(t));
+                removed++;
+                t = target.next();
+            } else {
+                if (!MovieChange.sameContent(t, s)) {
+                    changes.accept(MovieChange.changed(t, s));
+                    changed++;
+                }
+                s = source.next();
+                t = target.next();
+            }
+        }
+        return new CatalogDiffSummary(added, removed, changed, 0);
+    }
+
+    // --- Tri externe ---
+
+    /**
+     * Lit un catalogue et le découpe en séquences triées.
+     *
+     * @param jsonFile le fichier movies.json (absent : catalogue vide)
+     * @return les films du catalogue triés par slug, sans doublon
+     */
+    private SortedMovies sort(File jsonFile) throws IOException {
+        if (!jsonFile.exists()) {
+            return new ListRun(List.of());
+        }
+        List<SortedMovies> runs = new ArrayList<>();
+        try (MovieJsonReader reader = new MovieJsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(jsonFile), StandardCharsets.UTF_8)), new StringPool())) {
+            List<Movie> buffer = new ArrayList<>();
+            Movie movie;
+            while ((movie = reader.next()) != null) {
+                buffer.add(movie);
+                if (buffer.size() == runSize) {
+                    runs.add(spill(buffer));
+                    buffer.clear();
+                }
+            }
+            // La dernière séquence reste en mémoire
+            buffer.sort(BY_SLUG);
+            runs.add(new ListRun(buffer));
+        } catch (IOException | RuntimeException e) {
+            closeAll(runs);
+            throw e;
+        }
+        if (runs.size() > 1) {
+            logger.info("{} trié en {} séquences", jsonFile, runs.size());
+        }
+        return new DistinctSlugs(runs.size() == 1 ? runs.get(0) : new MergedRuns(runs));
+    }
+
+    /**
+     * Trie une séquence et l'écrit dans un fichier temporaire.
+     */
+    private SortedMovies spill(List<Movie> buffer) throws IOException {
+        buffer.sort(BY_SLUG);
+        File run = tempDir == null
+                ? Files.createTempFile("movies-run-", ".json").toFile()
+                : Files.createTempFile(tempDir.toPath(), "movies-run-", ".json").toFile();
+        try (MovieJsonWriter writer = new MovieJsonWriter(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(run), StandardCharsets.UTF_8)))) {
+            for (Movie movie : buffer) {
+                writer.write(movie);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(run.toPath());
+            throw e;
+        }
+        return new FileRun(run);
+    }
+
+    private static void closeAll(List<SortedMovies> runs) {
+        for (SortedMovies run : runs) {
+            try {
+                run.close();
+            } catch (IOException e) {
+                logger.warn("Impossible de supprimer une séquence de tri", e);
+            }
+        }
+    }
+
+    private static String key(Movie movie) {
+        return movie.getSlug() == null ? "" : movie.getSlug().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Suite de films triés par slug, lue une seule fois.
+     */
+    private interface SortedMovies extends Closeable {
+
+        /**
+         * @return le film suivant, ou null à la fin de la suite
+         */
+        Movie next() throws IOException;
+
+        @Override
+        default void close() throws IOException {
+        }
+    }
+
+    /**
+     * Séquence triée en mémoire.
+     */
+    private static final class ListRun implements SortedMovies {
+
+        private final List<Movie> movies;
+        private int position;
+
+        ListRun(List<Movie> movies) {
+            this.movies = movies;
+        }
+
+        @Override
+        public Movie next() {
+            return position < movies.size() ? movies.get(position++) : null;
+        }
+    }
+
+    /**
+     * Séquence triée relue depuis son fichier temporaire, supprimé à la fermeture.
+     */
+    private static final class FileRun implements SortedMovies {
+
+        private final File file;
+        private final MovieJsonReader reader;
+
+        FileRun(File file) throws IOException {
+            this.file = file;
+            this.reader = new MovieJsonReader(new BufferedReader(
+                    new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)), new StringPool());
+        }
+
+        @Override
+        public Movie next() throws IOException {
+            return reader.next();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    /**
+     * Fusion à k voies des séquences triées. À slug égal, le film de la première séquence
+     * (la plus proche du début du catalogue) sort en premier.
+     */
+    private static final class MergedRuns implements SortedMovies {
+
+        private record Head(Movie movie, int run) {
+        }
+
+        private final List<SortedMovies> runs;
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(
+                Comparator.comparing((Head head) -> key(head.movie())).thenComparingInt(Head::run));
+
+        MergedRuns(List<SortedMovies> runs) throws IOException {
+            this.runs = runs;
+            for (int i = 0; i < runs.size(); i++) {
+                advance(i);
+            }
+        }
+
+        @Override
+        public Movie next() throws IOException {
+            Head head = heads.poll();
+            if (head == null) {
+                return null;
+            }
+            advance(head.run());
+            return head.movie();
+        }
+
+        private void advance(int run) throws IOException {
+            Movie movie = runs.get(run).next();
+            if (movie != null) {
+                heads.add(new Head(movie, run));
+            }
+        }
+
+        @Override
+        public void close() {
+            closeAll(runs);
+        }
+    }
+
+    /**
+     * Ne laisse passer que le premier film de chaque slug.
+     */
+    private static final class DistinctSlugs implements SortedMovies {
+
+        private final SortedMovies movies;
+        private String lastKey;
+
+        DistinctSlugs(SortedMovies movies) {
+            this.movies = movies;
+        }
+
+        @Override
+        public Movie next() throws IOException {
+            Movie movie;
+            do {
+                movie = movies.next();
+            } while (movie != null && key(movie).equals(lastKey));
+            if (movie != null) {
+                lastKey = key(movie);
+            }
+            return movie;
+        }
+
+        @Override
+        public void close() throws IOException {
+            movies.close();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Écriture de {@code movies.json} partagée entre processus, commune aux repositories de films.
+ *
+ * <p>Le fichier porte un numéro de version incrémenté à chaque écriture. Une écriture se fait
+ * sous un verrou de fichier ({@code movies.lock}, tenu uniquement le temps de l'écriture) et
+ * n'a lieu que si la version sur disque est celle attendue. Le contenu est écrit dans un fichier
+ * temporaire forcé sur disque, qui remplace ensuite movies.json de manière atomique : un lecteur
+ * d'un autre processus voit toujours un fichier complet.</p>
+ */
+final class CatalogFile {
+
+    private static final long LOCK_TIMEOUT_MILLIS = 10_000;
+    private static final long LOCK_RETRY_MILLIS = 5;
+
+    private final File jsonFile;
+    private final File lockFile;
+
+    /**
+     * Contenu à écrire dans movies.json.
+     */
+    @FunctionalInterface
+    interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * @param dir le répertoire contenant movies.json et movies.lock
+     */
+    CatalogFile(File dir) {
+        this.jsonFile = new File(dir, "movies.json");
+        this.lockFile = new File(dir, "movies.lock");
+    }
+
+    /**
+     * @return le fichier movies.json
+     */
+    File jsonFile() {
+        return jsonFile;
+    }
+
+    /**
+     * Remplace movies.json si la version sur disque est toujours celle attendue.
+     *
+     * @param expectedVersion la version à partir de laquelle le contenu a été préparé
+     * @param content le contenu à écrire
+     * @return true si le fichier a été écrit, false si un autre processus a écrit entre-temps
+     * @throws IOException en cas d'erreur d'écriture ou si le verrou n'a pas pu être obtenu
+     */
+    boolean replace(long expectedVersion, Content content) throws IOException {
+        try (FileChannel lockChannel = FileChannel.open(lockFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = lock(lockChannel);
+            try {
+                if (readVersion() != expectedVersion) {
+                    return false;
+                }
+
+                File tmpFile = new File(jsonFile.getParentFile(), jsonFile.getName() + ".tmp");
+                try (FileOutputStream out = new FileOutputStream(tmpFile)) {
+                    content.writeTo(out);
+                    // Le fichier est forcé sur disque avant de confirmer l'écriture
+                    out.getFD().sync();
+                }
+                Files.move(tmpFile.toPath(), jsonFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Lit la version de movies.json sans décoder les films.
+     *
+     * @return la version sur disque (0 si le fichier n'existe pas, n'en contient pas ou est invalide)
+     */
+    long readVersion() throws IOException {
+        if (!jsonFile.exists()) {
+            return 0;
+        }
+        try (MovieJsonReader movieReader = new MovieJsonReader(new FileReader(jsonFile))) {
+            return movieReader.readVersion();
+        } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Prend le verrou de fichier partagé entre processus, en réessayant tant qu'il est tenu ailleurs.
+     * Le verrou porte sur un fichier dédié : fermer un autre descripteur de movies.json
+     * (lecture concurrente) pourrait sinon le relâcher sur certains systèmes.
+     *
+     * @param channel le canal ouvert sur movies.lock
+     * @return le verrou obtenu
+     * @throws IOException si le verrou n'a pas pu être obtenu dans le délai imparti
+     */
+    private FileLock lock(FileChannel channel) throws IOException {
+        long deadline = System.currentTimeMillis() + LOCK_TIMEOUT_MILLIS;
+        FileLock lock;
+        while ((lock = tryLock(channel)) == null) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IOException("Verrou " + lockFile.getName() + " indisponible");
+            }
+            try {
+                Thread.sleep(LOCK_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Attente du verrou " + lockFile.getName() + " interrompue");
+            }
+        }
+        return lock;
+    }
+
+    /**
+     * @param channel le canal ouvert sur movies.lock
+     * @return le verrou, ou null s'il est tenu par un autre processus
+     *         ou par un autre repository de cette JVM sur le même répertoire
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ressources partagées par les repositories de plusieurs catalogues (un par cinéma)
+ * ouverts dans la même JVM.
+ *
+ * <p>Les cinémas d'un même réseau programment en grande partie les mêmes films :
+ * titres, slugs, descriptions, URL de posters et libellés Cinecheck sont identiques
+ * d'un catalogue à l'autre. Les chaînes lues passent par un réservoir commun et ne sont
+ * conservées qu'une fois en mémoire, quel que soit le nombre de catalogues qui les
+ * contiennent. Le réservoir ne retient pas les chaînes : une chaîne qui n'est plus
+ * utilisée par aucun catalogue est libérée par le ramasse-miettes. Le réservoir est découpé
+ * en segments verrouillés séparément, pour que des chargements parallèles ne se bloquent
+ * pas les uns les autres.</p>
+ *
+ * <p>Les lectures en flux et les chargements s'exécutent sur un même exécuteur
+ * de threads virtuels.</p>
+ */
+public final class CatalogResources {
+
+    private static final CatalogResources SHARED = new CatalogResources();
+    private static final int SEGMENTS = 64;
+
+    private final List<Map<String, WeakReference<String>>> segments = newSegments();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Construit un ensemble de ressources indépendant de celui partagé par défaut.
+     */
+    public CatalogResources() {
+    }
+
+    /**
+     * @return les ressources partagées par défaut par tous les repositories de la JVM
+     */
+    public static CatalogResources shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return l'exécuteur (threads virtuels) des chargements et des lectures en flux
+     */
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    /**
+     * Retourne l'instance commune de la chaîne.
+     *
+     * @param value la chaîne lue (peut être null)
+     * @return la chaîne commune égale à {@code value}, ou null
+     */
+    String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        Map<String, WeakReference<String>> segment = segments.get((value.hashCode() & Integer.MAX_VALUE) % SEGMENTS);
+        synchronized (segment) {
+            WeakReference<String> reference = segment.get(value);
+            String existing = reference == null ? null : reference.get();
+            if (existing != null) {
+                return existing;
+            }
+            segment.put(value, new WeakReference<>(value));
+            return value;
+        }
+    }
+
+    /**
+     * @return le nombre de chaînes communes encore référencées
+     */
+    int size() {
+        int size = 0;
+        for (Map<String, WeakReference<String>> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private static List<Map<String, WeakReference<String>>> newSegments() {
+        List<Map<String, WeakReference<String>>> segments = new ArrayList<>(SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments.add(new WeakHashMap<>());
+        }
+        return List.copyOf(segments);
+    }
+}
@@ -0,0 +1,109 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import org.helmo.planclap_admin.domains.CatalogSnapshot;
+import org.helmo.planclap_admin.domains.LevenshteinCalculator;
+import org.helmo.planclap_admin.domains.Movie;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * État immuable du catalogue publié par {@link JsonMovieRepository}.
+ *
+ * <p>Un état n'est jamais modifié : chaque écriture en construit un nouveau et le publie
+ * d'un seul coup. Les lecteurs travaillent sur l'état qu'ils ont obtenu, sans verrou.
+ * Le catalogue lui-même est un {@link CatalogSnapshot} dont la version est celle stockée
+ * dans movies.json (voir {@link JsonMovieRepository}). L'état y ajoute l'index des slugs
+ * et retient la taille et la date de movies.json au moment où il a été construit,
+ * afin de détecter une modification du fichier faite en dehors du repository.</p>
+ */
+final class CatalogState {
+
+    private final CatalogSnapshot snapshot;
+    private final SlugIndex index;
+    private final long fileLength;
+    private final long fileModified;
+
+    private CatalogState(CatalogSnapshot snapshot, SlugIndex index, long fileLength, long fileModified) {
+        this.snapshot = snapshot;
+        this.index = index;
+        this.fileLength = fileLength;
+        this.fileModified = fileModified;
+    }
+
+    /**
+     * Construit l'état correspondant au contenu actuel de movies.json.
+     *
+     * @param snapshot le catalogue lu ou écrit
+     * @param index l'index des slugs de ces films (peut être null)
+     * @param jsonFile le fichier movies.json
+     * @return le nouvel état
+     */
+    static CatalogState of(CatalogSnapshot snapshot, SlugIndex index, File jsonFile) {
+        return new CatalogState(snapshot, index, jsonFile.length(), jsonFile.lastModified());
+    }
+
+    /**
+     * @param jsonFile le fichier movies.json
+     * @return true si le fichier n'a pas changé depuis la construction de l'état
+     */
+    boolean isFresh(File jsonFile) {
+        return jsonFile.length() == fileLength && jsonFile.lastModified() == fileModified;
+    }
+
+    CatalogSnapshot snapshot() {
+        return snapshot;
+    }
+
+    long version() {
+        return snapshot.version();
+    }
+
+    List<Movie> movies() {
+        return snapshot.movies();
+    }
+
+    int totalMinutes() {
+        return snapshot.getTotalMinutesToSchedule();
+    }
+
+    Movie findBySlug(String slug) {
+        return snapshot.findBySlug(slug).orElse(null);
+    }
+
+    boolean containsSlug(String slug) {
+        return snapshot.existsBySlug(slug);
+    }
+
+    boolean containsTitle(String title) {
+        return snapshot.existsByTitle(title);
+    }
+
+    /**
+     * Recherche le film dont le slug est le plus proche au sens de Levenshtein.
+     * L'index des slugs limite les comparaisons aux slugs de longueur voisine.
+     *
+     * @param slug le slug recherché
+     * @param maxDistance la distance maximale acceptée
+     * @return le film le plus proche, ou null
+     */
+    Movie findClosest(String slug, int maxDistance) {
+        if (index != null) {
+            int entry = index.findClosest(slug, maxDistance);
+            return entry < 0 ? null : movies().get(index.movieIndex(entry));
+        }
+        Movie best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Movie movie : movies()) {
+            if (movie.getSlug() == null) {
+                continue;
+            }
+            int distance = LevenshteinCalculator.calculate(slug, movie.getSlug());
+            if (distance <= maxDistance && distance < bestDistance) {
+                bestDistance = distance;
+                best = movie;
+            }
+        }
+        return best;
+    }
+}
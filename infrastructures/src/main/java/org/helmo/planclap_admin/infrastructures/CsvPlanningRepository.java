@@ -1,6 +1,145 @@
 package org.helmo.planclap_admin.infrastructures;
 
-import org.helmo.planclap_admin.domains.PlanningRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.helmo.planclap_admin.domains.*;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Implémentation du repository des plannings utilisant un fichier CSV par semaine
+ * ({@code planning-AAAA-MM-JJ.csv}, daté du lundi), dans le répertoire du catalogue.
+ *
+ * <p>Chaque ligne décrit une séance : {@code date;début;fin;salle;slug;titre}, la salle étant
+ * numérotée à partir de 1. Le titre, en dernière colonne, peut contenir des points-virgules.
+ * Les fichiers écrits avant l'existence des salles (sans colonne {@code salle}) sont encore
+ * relus : toutes leurs séances sont dans la première salle. Le fichier est écrit à côté puis renommé :
+ * un lecteur ne voit jamais un planning à moitié écrit.</p>
+ */
 public class CsvPlanningRepository implements PlanningRepository {
+
+    private static final Logger logger = LogManager.getLogger(CsvPlanningRepository.class);
+
+    private static final String HEADER = "date;debut;fin;salle;slug;titre";
+    private static final String HEADER_WITHOUT_ROOM = "date;debut;fin;slug;titre";
+
+    private final File dir;
+
+    /**
+     * Construit un repository CSV pour les plannings.
+     *
+     * @param dir le répertoire contenant les fichiers de planning
+     */
+    public CsvPlanningRepository(File dir) {
+        this.dir = dir;
+    }
+
+    @Override
+    public void save(WeekPlan plan) {
+        File file = fileOf(plan.getMonday());
+        File tmpFile = new File(dir, file.getName() + ".tmp");
+        try {
+            try (PrintWriter out = new PrintWriter(new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(tmpFile), StandardCharsets.UTF_8)))) {
+                out.println(HEADER);
+                for (Seance seance : plan.getSeances()) {
+                    out.println(seance.getDate() + ";" + time(seance.getStartMinute()) + ";" + time(seance.getEndMinute())
+                            + ";" + (seance.getRoom() + 1) + ";" + seance.getMovie().getSlug() + ";" + seance.getMovie().getTitle());
+                }
+                if (out.checkError()) {
+                    throw new IOException("Erreur d'écriture de " + tmpFile.getName());
+                }
+            }
+            // Le fichier temporaire est fermé avant d'être renommé : Windows refuse de renommer un fichier ouvert
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Planning enregistré : {} ({} séances)", file.getName(), plan.getSeances().size());
+        } catch (IOException e) {
+            tmpFile.delete();
+            logger.error("Erreur lors de l'écriture du planning", e);
+            throw new RuntimeException("Erreur lors de l'écriture du planning", e);
+        }
+    }
+
+    @Override
+    public Optional<WeekPlan> load(LocalDate monday, CatalogSnapshot catalog) {
+        File file = fileOf(monday);
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+
+        List<Seance> seances = new ArrayList<>();
+        Map<String, Integer> planned = new HashMap<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            boolean withRoom = true;
+            while ((line = in.readLine()) != null) {
+                number++;
+                if (number == 1 && (line.equals(HEADER) || line.equals(HEADER_WITHOUT_ROOM))) {
+                    withRoom = line.equals(HEADER);
+                    continue;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                Seance seance = parse(line, catalog, withRoom);
+                if (seance == null) {
+                    logger.warn("Ligne {} de {} ignorée : {}", number, file.getName(), line);
+                    continue;
+                }
+                seances.add(seance);
+                planned.merge(seance.getMovie().getSlug(), 1, Integer::sum);
+            }
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture du planning", e);
+            throw new RuntimeException("Erreur lors de la lecture du planning", e);
+        }
+
+        // Séances demandées par le catalogue mais absentes du planning
+        List<Movie> unplaced = new ArrayList<>();
+        for (Movie movie : catalog.movies()) {
+            int missing = movie.getSeances() - planned.getOrDefault(movie.getSlug(), 0);
+            for (int i = 0; i < missing; i++) {
+                unplaced.add(movie);
+            }
+        }
+        return Optional.of(new WeekPlan(monday, seances, unplaced));
+    }
+
+    /**
+     * @param withRoom true si la ligne contient la colonne {@code salle}
+     * @return la séance décrite par la ligne, ou null si la ligne est invalide ou si le film n'existe plus
+     */
+    private static Seance parse(String line, CatalogSnapshot catalog, boolean withRoom) {
+        int slugColumn = withRoom ? 4 : 3;
+        String[] columns = line.split(";", slugColumn + 2);
+        if (columns.length < slugColumn + 1) {
+            return null;
+        }
+        try {
+            LocalDate date = LocalDate.parse(columns[0]);
+            LocalTime start = LocalTime.parse(columns[1]);
+            int room = withRoom ? Integer.parseInt(columns[3]) - 1 : 0;
+            return catalog.findBySlug(columns[slugColumn])
+                    .map(movie -> new Seance(movie, date, start.getHour() * 60 + start.getMinute(), room))
+                    .orElse(null);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private File fileOf(LocalDate monday) {
+        return new File(dir, "planning-" + monday + ".csv");
+    }
+
+    private static String time(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
 }
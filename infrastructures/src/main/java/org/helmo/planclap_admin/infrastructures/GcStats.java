@@ -0,0 +1,48 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Instantané des statistiques du ramasse-miettes (nombre de collections et temps cumulé).
+ * Permet de comparer le coût GC d'un chargement entre les différents repositories.
+ */
+final class GcStats {
+
+    private final long collections;
+    private final long pauseMillis;
+
+    private GcStats(long collections, long pauseMillis) {
+        this.collections = collections;
+        this.pauseMillis = pauseMillis;
+    }
+
+    /**
+     * @return les statistiques cumulées depuis le démarrage de la JVM
+     */
+    static GcStats now() {
+        long collections = 0;
+        long pauseMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections += Math.max(0, gc.getCollectionCount());
+            pauseMillis += Math.max(0, gc.getCollectionTime());
+        }
+        return new GcStats(collections, pauseMillis);
+    }
+
+    /**
+     * @param start l'instantané de départ
+     * @return les collections et le temps GC écoulés depuis {@code start}
+     */
+    GcStats since(GcStats start) {
+        return new GcStats(collections - start.collections, pauseMillis - start.pauseMillis);
+    }
+
+    long collections() {
+        return collections;
+    }
+
+    long pauseMillis() {
+        return pauseMillis;
+    }
+}
@@ -0,0 +1,139 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.helmo.planclap_admin.domains.Movie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File d'écriture regroupant les ajouts concurrents de films (« group commit »).
+ *
+ * <p>Les demandes d'ajout sont déposées dans une file et traitées par un unique thread
+ * d'écriture. Celui-ci attend une courte fenêtre après la première demande pour en
+ * rassembler d'autres, puis confie le lot entier au {@link BatchHandler} : une seule
+ * validation contre le catalogue courant et une seule écriture sur disque pour tout le lot.
+ * Chaque appelant reçoit un {@link CompletableFuture} complété individuellement
+ * (succès ou conflit).</p>
+ *
+ * <p>Le thread d'écriture est un thread virtuel : de nombreux catalogues ouverts dans
+ * la même JVM partagent les mêmes threads porteurs.</p>
+ */
+final class GroupCommitWriter {
+
+    private static final Logger logger = LogManager.getLogger(GroupCommitWriter.class);
+
+    /** Durée pendant laquelle les demandes sont rassemblées après la première. */
+    static final long BATCH_WINDOW_MICROS = 2_000;
+    /** Taille maximale d'un lot. */
+    static final int MAX_BATCH_SIZE = 256;
+
+    /**
+     * Traitement d'un lot de demandes : validation, écriture unique et complétion des futures.
+     */
+    interface BatchHandler {
+        void commit(List<PendingAdd> batch);
+    }
+
+    /**
+     * Demande d'ajout en attente.
+     */
+    static final class PendingAdd {
+        private final Movie movie;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        PendingAdd(Movie movie) {
+            this.movie = movie;
+        }
+
+        Movie movie() {
+            return movie;
+        }
+
+        CompletableFuture<Void> result() {
+            return result;
+        }
+    }
+
+    private final BlockingQueue<PendingAdd> queue = new LinkedBlockingQueue<>();
+    private final BatchHandler handler;
+    private final String name;
+    private Thread worker;
+
+    /**
+     * @param name le nom du thread d'écriture
+     * @param handler le traitement appliqué à chaque lot
+     */
+    GroupCommitWriter(String name, BatchHandler handler) {
+        this.name = name;
+        this.handler = handler;
+    }
+
+    /**
+     * Dépose une demande d'ajout.
+     *
+     * @param movie le film à ajouter
+     * @return le futur complété lorsque le lot contenant la demande a été écrit
+     */
+    CompletableFuture<Void> submit(Movie movie) {
+        PendingAdd pending = new PendingAdd(movie);
+        startWorkerIfNeeded();
+        queue.add(pending);
+        return pending.result();
+    }
+
+    private synchronized void startWorkerIfNeeded() {
+        if (worker == null) {
+            worker = Thread.ofVirtual().name(name).start(this::run);
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<PendingAdd> batch = nextBatch();
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Attend une première demande puis rassemble celles qui arrivent pendant la fenêtre.
+     */
+    private List<PendingAdd> nextBatch() throws InterruptedException {
+        List<PendingAdd> batch = new ArrayList<>();
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(BATCH_WINDOW_MICROS);
+        while (batch.size() < MAX_BATCH_SIZE) {
+            queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || batch.size() >= MAX_BATCH_SIZE) {
+                break;
+            }
+            PendingAdd next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void commit(List<PendingAdd> batch) {
+        try {
+            handler.commit(batch);
+        } catch (RuntimeException e) {
+            logger.error("Échec de l'écriture d'un lot de {} films", batch.size(), e);
+            for (PendingAdd pending : batch) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+    }
+}
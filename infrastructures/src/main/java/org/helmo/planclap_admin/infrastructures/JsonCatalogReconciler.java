@@ -0,0 +1,78 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.helmo.planclap_admin.domains.CatalogDiffSummary;
+import org.helmo.planclap_admin.domains.CatalogReconciler;
+import org.helmo.planclap_admin.domains.MovieChange;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Comparaison et fusion des catalogues JSON ouverts par l'application.
+ *
+ * <p>La comparaison lit les deux fichiers {@code movies.json} en flux avec un {@link CatalogDiff}.
+ * La fusion passe par le repository de la cible ({@link JsonMovieRepository#mergeFrom}) :
+ * elle est écrite comme une modification ordinaire, sous les mêmes verrous et avec les mêmes
+ * notifications que les autres écritures.</p>
+ */
+public class JsonCatalogReconciler implements CatalogReconciler {
+
+    private static final Logger logger = LogManager.getLogger(JsonCatalogReconciler.class);
+
+    private final Map<String, JsonMovieRepository> repositories;
+    private final CatalogDiff diff;
+
+    /**
+     * @param repositories les repositories des catalogues, par nom
+     */
+    public JsonCatalogReconciler(Map<String, JsonMovieRepository> repositories) {
+        this(repositories, new CatalogDiff());
+    }
+
+    /**
+     * @param repositories les repositories des catalogues, par nom
+     * @param diff le comparateur utilisé (taille des séquences de tri, répertoire temporaire)
+     */
+    public JsonCatalogReconciler(Map<String, JsonMovieRepository> repositories, CatalogDiff diff) {
+        this.repositories = new LinkedHashMap<>(repositories);
+        this.diff = diff;
+    }
+
+    @Override
+    public List<String> catalogNames() {
+        return List.copyOf(repositories.keySet());
+    }
+
+    @Override
+    public CatalogDiffSummary diff(String source, String target, Consumer<MovieChange> changes) {
+        JsonMovieRepository from = repository(source);
+        JsonMovieRepository to = repository(target);
+        try {
+            return diff.diff(from.directory(), to.directory(), changes);
+        } catch (IOException e) {
+            logger.error("Erreur lors de la comparaison des catalogues {} et {}", source, target, e);
+            throw new RuntimeException("Erreur lors de la comparaison des catalogues", e);
+        }
+    }
+
+    @Override
+    public CatalogDiffSummary merge(String source, String target) {
+        JsonMovieRepository from = repository(source);
+        CatalogDiffSummary summary = repository(target).mergeFrom(from.directory(), diff);
+        logger.info("Catalogue {} fusionné dans {} : {}", source, target, summary);
+        return summary;
+    }
+
+    private JsonMovieRepository repository(String name) {
+        JsonMovieRepository repository = repositories.get(name);
+        if (repository == null) {
+            throw new IllegalArgumentException("Catalogue inconnu : " + name);
+        }
+        return repository;
+    }
+}
@@ -1,25 +1,67 @@
 package org.helmo.planclap_admin.infrastructures;
 
 import com.google.gson.*;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.MalformedJsonException;
 import org.apache.logging.log4j.*;
 import org.helmo.planclap_admin.domains.*;
 
 import java.io.*;
-import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Implémentation du repository de films utilisant un fichier JSON pour le stockage.
  * Cette classe gère la sérialisation/désérialisation des films et implémente
  * la recherche avec tolérance (distance de Levenshtein).
+ *
+ * <p>Les recherches par slug s'appuient sur un index annexe ({@code movies.idx}) réécrit
+ * à chaque sauvegarde et projeté en mémoire au démarrage (voir {@link SlugIndex}).
+ * Un film trouvé est décodé seul, à partir de ses bornes dans le fichier JSON.</p>
+ *
+ * <p>Les ajouts passent par un {@link GroupCommitWriter} : les ajouts concurrents sont
+ * validés ensemble contre le catalogue courant et écrits en une seule fois (avec fsync).</p>
+ *
+ * <p>Le repository est thread-safe. Le catalogue chargé est publié sous forme d'un
+ * {@link CatalogState} immuable derrière une référence volatile : les lectures
+ * ({@link #loadMovies()}, {@link #findByTitleOrSlug(String)}, {@code existsBy*}) ne prennent
+ * aucun verrou. Les écritures sont sérialisées par un verrou unique ; chacune construit un
+ * nouvel état et le publie une fois le fichier écrit. Un état dont le fichier a été modifié
+ * hors du repository est rechargé.</p>
+ *
+ * <p>Plusieurs processus peuvent partager le même répertoire. movies.json porte un numéro de
+ * version incrémenté à chaque écriture ; l'écriture se fait sous un verrou de fichier
+ * ({@code movies.lock}, tenu uniquement le temps de l'écriture) et n'a lieu que si la version
+ * sur disque est celle de l'état à partir duquel les modifications ont été préparées.
+ * Sinon, le catalogue est relu et les modifications sont validées à nouveau sur cette base.</p>
  */
 public class JsonMovieRepository implements MovieRepository {
 
     private static final Logger logger = LogManager.getLogger(JsonMovieRepository.class);
 
+    private static final int MAX_LEVENSHTEIN_DISTANCE = 3;
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
     private final File jsonFile;
-    private final Gson gson;
+    private final File indexFile;
+    private final CatalogFile catalogFile;
+    private final CatalogResources resources;
+    private final CatalogEvents events = new CatalogEvents();
+    private final GroupCommitWriter writer;
+    // Verrou unique des écrivains (et du chargement initial)
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Catalogue publié (null tant qu'il n'a pas été chargé)
+    private volatile CatalogState state;
+    // Index projeté au démarrage, utilisé avant le premier chargement complet
+    private volatile SlugIndex sidecar;
 
     /**
      * Construit un repository JSON pour les films.
@@ -27,41 +69,65 @@ public class JsonMovieRepository implements MovieRepository {
      * @param dir le répertoire contenant le fichier movies.json
      */
     public JsonMovieRepository(File dir) {
+        this(dir, CatalogResources.shared());
+    }
+
+    /**
+     * Construit un repository JSON pour les films, avec les ressources communes
+     * aux catalogues ouverts dans la même JVM.
+     *
+     * @param dir le répertoire contenant le fichier movies.json
+     * @param resources les ressources partagées (chaînes communes, exécuteur)
+     */
+    public JsonMovieRepository(File dir, CatalogResources resources) {
         this.jsonFile = new File(dir, "movies.json");
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        this.indexFile = new File(dir, "movies.idx");
+        this.catalogFile = new CatalogFile(dir);
+        this.resources = resources;
+        this.sidecar = SlugIndex.open(indexFile);
+        this.writer = new GroupCommitWriter("movies-writer-" + dir.getName(), this::commitBatch);
     }
 
     @Override
     public List<Movie> loadMovies() {
-        if (!jsonFile.exists()) {
-            logger.info("Fichier JSON inexistant. Création d'un fichier vide.");
-            createEmptyJsonFile();
-            return new ArrayList<>();
-        }
+        return new ArrayList<>(state().movies());
+    }
 
-        try (Reader reader = new FileReader(jsonFile)) {
-            List<Movie> movies = readMoviesFromJson(reader);
-            logger.info("{} films chargés depuis {}", movies.size(), jsonFile.getName());
-            return movies;
-        } catch (IOException e) {
-            logger.error("Erreur lors de la lecture du fichier JSON", e);
-            throw new RuntimeException("Erreur lors de la lecture du fichier JSON", e);
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Si le catalogue est déjà chargé et à jour, les films sont diffusés depuis la mémoire ;
+     * sinon ils sont décodés directement depuis movies.json, à la demande de l'abonné.</p>
+     */
+    @Override
+    public Flow.Publisher<Movie> streamMovies() {
+        CatalogState current = state;
+        if (current != null && current.isFresh(jsonFile)) {
+            return MoviePublisher.of(current.movies());
         }
+        return new MoviePublisher(this::openStream, resources.executor());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ConcurrentModificationException si un autre processus a écrit movies.json
+     *         pendant la sauvegarde (le catalogue est alors relu et rien n'est écrit)
+     */
     @Override
     public void saveMovies(List<Movie> movies) {
-        try (FileWriter writer = new FileWriter(jsonFile)) {
-            // Sérialisation directe de la liste de Movie
-            JsonObject root = new JsonObject();
-            root.add("movies", gson.toJsonTree(movies));
-
-            gson.toJson(root, writer);
-            logger.info("{} films sauvegardés dans {}", movies.size(), jsonFile.getName());
-
-        } catch (IOException e) {
-            logger.error("Erreur lors de l'écriture du fichier JSON", e);
-            throw new RuntimeException("Erreur lors de l'écriture du fichier JSON", e);
+        writeLock.lock();
+        try {
+            CatalogState current = state();
+            CatalogState written = writeMovies(current.version(), CatalogSnapshot.of(current.version() + 1, movies));
+            if (written == null) {
+                state = readState();
+                throw new ConcurrentModificationException("Le catalogue a été modifié par un autre processus");
+            }
+            state = written;
+            events.fireMoviesSaved(movies);
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -71,119 +137,555 @@ public class JsonMovieRepository implements MovieRepository {
             return Optional.empty();
         }
 
-        List<Movie> movies = loadMovies();
         String searchSlug = Movie.generateSlug(searchTerm);
+        SlugIndex mapped = sidecar;
+        if (state == null && mapped != null && mapped.matches(jsonFile)) {
+            return findInSidecar(mapped, searchTerm, searchSlug);
+        }
 
-        // Recherche exacte par slug
-        Optional<Movie> exactMatch = movies.stream()
-                .filter(m -> m.getSlug().equalsIgnoreCase(searchSlug))
-                .findFirst();
+        CatalogState current = state();
 
-        if (exactMatch.isPresent()) {
-            logger.info("Film trouvé (correspondance exacte) : {}", exactMatch.get().getSlug());
-            return exactMatch;
+        // Recherche exacte par slug
+        Movie exactMatch = current.findBySlug(searchSlug);
+        if (exactMatch != null) {
+            logger.info("Film trouvé (correspondance exacte) : {}", exactMatch.getSlug());
+            return Optional.of(exactMatch);
         }
 
         // Recherche avec tolérance (distance de Levenshtein <= 3)
-        Movie bestMatch = null;
-        int bestDistance = Integer.MAX_VALUE;
-
-        for (Movie movie : movies) {
-            int distance = LevenshteinCalculator.calculate(searchSlug, movie.getSlug());
-            if (distance <= 3 && distance < bestDistance) {
-                bestDistance = distance;
-                bestMatch = movie;
-            }
-        }
-
+        Movie bestMatch = current.findClosest(searchSlug, MAX_LEVENSHTEIN_DISTANCE);
         if (bestMatch != null) {
-            logger.info("Film trouvé (distance Levenshtein = {}) : {}", bestDistance, bestMatch.getSlug());
+            logger.info("Film trouvé (distance Levenshtein = {}) : {}",
+                    LevenshteinCalculator.calculate(searchSlug, bestMatch.getSlug().toLowerCase(Locale.ROOT)),
+                    bestMatch.getSlug());
         } else {
             logger.info("Aucun film trouvé pour la recherche : '{}'", searchTerm);
         }
-
         return Optional.ofNullable(bestMatch);
     }
 
+    @Override
+    public List<Movie> find(MovieQuery query) {
+        return snapshot().find(query);
+    }
+
     @Override
     public boolean existsByTitle(String title) {
-        return loadMovies().stream()
-                .anyMatch(m -> m.getTitle().equalsIgnoreCase(title));
+        return state().containsTitle(title);
     }
 
     @Override
     public boolean existsBySlug(String slug) {
-        return loadMovies().stream()
-                .anyMatch(m -> m.getSlug().equalsIgnoreCase(slug));
+        SlugIndex mapped = sidecar;
+        if (state == null && mapped != null && mapped.matches(jsonFile)) {
+            return mapped.find(slug) >= 0;
+        }
+        return state().containsSlug(slug);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>L'appel attend l'écriture du lot dans lequel le film a été regroupé
+     * (voir {@link #addMovieAsync(Movie)}).</p>
+     */
     @Override
     public void addMovie(Movie movie) {
-        if (existsByTitle(movie.getTitle())) {
-            throw new IllegalArgumentException("Un film avec ce titre existe déjà");
-        }
-        if (existsBySlug(movie.getSlug())) {
-            throw new IllegalArgumentException("Un film avec ce slug existe déjà");
+        try {
+            addMovieAsync(movie).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
+    }
 
-        List<Movie> movies = loadMovies();
-        movies.add(movie);
-        saveMovies(movies);
+    /**
+     * Dépose une demande d'ajout dans la file d'écriture.
+     * Les demandes concurrentes sont regroupées, validées ensemble et écrites en une seule fois.
+     *
+     * @param movie le film à ajouter
+     * @return un futur complété après l'écriture, ou en erreur avec une
+     *         {@link IllegalArgumentException} si le film existe déjà (titre ou slug)
+     *         ou si le catalogue atteindrait sa capacité
+     */
+    public CompletableFuture<Void> addMovieAsync(Movie movie) {
+        return writer.submit(movie);
+    }
 
-        logger.info("Film ajouté : {}", movie.getSlug());
+    @Override
+    public void replaceMovie(Movie movie) {
+        writeLock.lock();
+        try {
+            Movie previous;
+            CatalogState written;
+            do {
+                CatalogState current = state();
+                previous = current.findBySlug(movie.getSlug());
+                if (previous == null) {
+                    throw new IllegalArgumentException("Aucun film avec ce slug");
+                }
+
+                written = writeMovies(current.version(), current.snapshot().withReplacedMovie(movie));
+                if (written == null) {
+                    state = readState();
+                }
+            } while (written == null);
+            state = written;
+
+            logger.info("Film remplacé : {}", movie.getSlug());
+            events.fireMovieReplaced(previous, movie);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Fusionne dans ce catalogue un autre catalogue {@code movies.json} : les films ajoutés
+     * et modifiés dans la source sont appliqués au catalogue courant puis écrits en une seule fois.
+     * Les films absents de la source sont conservés. Un film ajouté dont le titre ou le slug
+     * est déjà porté par un autre film, un film modifié qui prendrait le titre d'un autre film, ou
+     * un film qui porterait le catalogue à sa capacité, est rejeté. Si un autre processus a écrit entre-temps, la fusion est recommencée
+     * sur le catalogue relu.
+     *
+     * @param sourceDir le répertoire du catalogue de référence
+     * @param diff le comparateur utilisé pour lire la source
+     * @return le bilan de la fusion
+     */
+    public CatalogDiffSummary mergeFrom(File sourceDir, CatalogDiff diff) {
+        writeLock.lock();
+        try {
+            while (true) {
+                CatalogState current = state();
+                List<MovieChange> applied = new ArrayList<>();
+                int[] rejected = {0};
+                CatalogSnapshot[] next = {current.snapshot()};
+                CatalogDiffSummary summary = diff.diff(sourceDir, current.movies(), change -> {
+                    if (change.getKind() == MovieChange.Kind.REMOVED) {
+                        return;
+                    }
+                    try {
+                        next[0] = apply(next[0], change);
+                        applied.add(change);
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Film {} non fusionné : {}", change.getSlug(), e.getMessage());
+                        rejected[0]++;
+                    }
+                });
+                summary = new CatalogDiffSummary(summary.added(), summary.removed(), summary.changed(), rejected[0]);
+                if (applied.isEmpty()) {
+                    return summary;
+                }
+
+                CatalogState written = writeMovies(current.version(), next[0]);
+                if (written == null) {
+                    state = readState();
+                    continue;
+                }
+                state = written;
+                logger.info("{} film(s) fusionné(s) depuis {} en une écriture", applied.size(), sourceDir);
+                for (MovieChange change : applied) {
+                    if (change.getKind() == MovieChange.Kind.ADDED) {
+                        events.fireMovieAdded(change.getAfter());
+                    } else {
+                        events.fireMovieReplaced(change.getBefore(), change.getAfter());
+                    }
+                }
+                return summary;
+            }
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture du catalogue à fusionner", e);
+            throw new RuntimeException("Erreur lors de la lecture du catalogue à fusionner", e);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     @Override
     public int getTotalMinutesToSchedule() {
-        return loadMovies().stream()
-                .mapToInt(m -> m.getDuration() * m.getSeances())
-                .sum();
+        return state().totalMinutes();
+    }
+
+    @Override
+    public CatalogSnapshot snapshot() {
+        return state().snapshot();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Les ajouts ({@link #addMovie(Movie)}, {@link #addMovieAsync(Movie)}) sont notifiés depuis
+     * le thread virtuel d'écriture du {@link GroupCommitWriter}, sous le verrou des écrivains,
+     * avant que les appelants ne reprennent la main ; les autres modifications sont notifiées
+     * dans le thread qui les a faites. Un observateur synchrone doit donc rester bref et ne pas
+     * attendre un autre thread qui écrirait dans ce catalogue : les écritures suivantes attendent
+     * la fin de sa notification. Pour un traitement long, utiliser
+     * {@link #addListener(CatalogListener, Executor)}.</p>
+     */
+    @Override
+    public void addListener(CatalogListener listener) {
+        events.subscribe(listener);
+    }
+
+    @Override
+    public void addListener(CatalogListener listener, Executor executor) {
+        events.subscribe(listener, executor);
+    }
+
+    @Override
+    public void removeListener(CatalogListener listener) {
+        events.unsubscribe(listener);
+    }
+
+    /**
+     * @return le répertoire contenant movies.json
+     */
+    File directory() {
+        return jsonFile.getParentFile();
     }
 
     // --- Méthodes internes ---
 
     /**
-     * Crée un fichier JSON vide avec la structure de base.
+     * Retourne l'état publié du catalogue, sans verrou dans le cas courant.
+     * Le catalogue est (re)chargé sous le verrou des écrivains s'il ne l'a jamais été
+     * ou si movies.json a été modifié hors du repository. Pendant une écriture d'un autre
+     * thread, le fichier change sous nos yeux : l'état publié est alors retourné tel quel,
+     * sans attendre.
+     *
+     * @return l'état courant du catalogue
      */
-    private void createEmptyJsonFile() {
-        try (FileWriter fw = new FileWriter(jsonFile)) {
-            fw.write("{\"movies\":[]}");
+    private CatalogState state() {
+        CatalogState current = state;
+        boolean writing = writeLock.isLocked() && !writeLock.isHeldByCurrentThread();
+        if (current != null && (writing || current.isFresh(jsonFile))) {
+            return current;
+        }
+        writeLock.lock();
+        try {
+            current = state;
+            if (current == null || !current.isFresh(jsonFile)) {
+                current = readState();
+                state = current;
+            }
+            return current;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Valide et écrit un lot de demandes d'ajout.
+     * Chaque film est ajouté à l'instantané construit à partir du catalogue courant et des films
+     * acceptés avant lui dans le lot ; les films acceptés sont écrits en une seule fois. Un film
+     * est rejeté si son titre ou son slug est déjà pris, ou s'il porterait le catalogue à
+     * {@link CatalogSnapshot#MAX_TOTAL_MINUTES}. Si un autre processus a écrit entre-temps, le
+     * catalogue est relu et tout le lot est validé à nouveau.
+     *
+     * @param batch les demandes regroupées par le {@link GroupCommitWriter}
+     */
+    private void commitBatch(List<GroupCommitWriter.PendingAdd> batch) {
+        writeLock.lock();
+        try {
+            Map<GroupCommitWriter.PendingAdd, String> rejected = new HashMap<>();
+            List<GroupCommitWriter.PendingAdd> accepted = new ArrayList<>();
+            CatalogState written = null;
+            while (written == null) {
+                CatalogState current = state();
+                CatalogSnapshot next = current.snapshot();
+                rejected.clear();
+                accepted.clear();
+
+                for (GroupCommitWriter.PendingAdd pending : batch) {
+                    try {
+                        CatalogSnapshot candidate = next.withMovie(pending.movie());
+                        CatalogSnapshot.checkCapacity(next.getTotalMinutesToSchedule(),
+                                candidate.getTotalMinutesToSchedule());
+                        next = candidate;
+                        accepted.add(pending);
+                    } catch (IllegalArgumentException e) {
+                        rejected.put(pending, e.getMessage());
+                    }
+                }
+
+                if (accepted.isEmpty()) {
+                    break;
+                }
+                written = writeMovies(current.version(), next);
+                if (written == null) {
+                    state = readState();
+                }
+            }
+
+            rejected.forEach((pending, message) ->
+                    pending.result().completeExceptionally(new IllegalArgumentException(message)));
+            if (written == null) {
+                return;
+            }
+            state = written;
+            logger.info("{} film(s) ajouté(s) en une écriture ({} demande(s) dans le lot)", accepted.size(), batch.size());
+            for (GroupCommitWriter.PendingAdd pending : accepted) {
+                logger.info("Film ajouté : {}", pending.movie().getSlug());
+                events.fireMovieAdded(pending.movie());
+                pending.result().complete(null);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applique une différence (ajout ou modification) à un instantané.
+     *
+     * @throws IllegalArgumentException si le film entre en conflit avec un autre film
+     *         ou si le catalogue atteindrait sa capacité
+     */
+    private static CatalogSnapshot apply(CatalogSnapshot snapshot, MovieChange change) {
+        Movie movie = change.getAfter();
+        CatalogSnapshot next;
+        if (change.getKind() == MovieChange.Kind.ADDED) {
+            next = snapshot.withMovie(movie);
+        } else {
+            boolean renamed = movie.getTitle() != null
+                    && !movie.getTitle().equalsIgnoreCase(change.getBefore().getTitle());
+            if (renamed && snapshot.existsByTitle(movie.getTitle())) {
+                throw new IllegalArgumentException("Un film avec ce titre existe déjà");
+            }
+            next = snapshot.withReplacedMovie(movie);
+        }
+        CatalogSnapshot.checkCapacity(snapshot.getTotalMinutesToSchedule(), next.getTotalMinutesToSchedule());
+        return next;
+    }
+
+    /**
+     * Lit movies.json et construit l'état correspondant.
+     * L'index projeté au démarrage est réutilisé s'il correspond au fichier.
+     *
+     * @return l'état lu
+     */
+    private CatalogState readState() {
+        if (!jsonFile.exists()) {
+            logger.info("Fichier JSON inexistant. Création d'un fichier vide.");
+            createEmptyJsonFile();
+            return CatalogState.of(CatalogSnapshot.empty(), null, jsonFile);
+        }
+
+        GcStats start = GcStats.now();
+        List<Movie> movies;
+        long version;
+        long[] ranges = null;
+        ParallelMovieLoader.Result loaded = ParallelMovieLoader.isWorthwhile(jsonFile) ? loadInParallel() : null;
+        if (loaded != null) {
+            movies = loaded.movies();
+            version = loaded.version();
+            ranges = loaded.ranges();
+        } else {
+            try (MovieJsonReader movieReader = new MovieJsonReader(new FileReader(jsonFile), new StringPool(resources))) {
+                movies = readMoviesFromJson(movieReader);
+                version = movieReader.version();
+            } catch (IOException e) {
+                logger.error("Erreur lors de la lecture du fichier JSON", e);
+                throw new RuntimeException("Erreur lors de la lecture du fichier JSON", e);
+            }
+        }
+        GcStats gc = GcStats.now().since(start);
+        logger.info("{} films chargés depuis {} ({} collections GC, {} ms)",
+                movies.size(), jsonFile.getName(), gc.collections(), gc.pauseMillis());
+
+        SlugIndex mapped = sidecar;
+        SlugIndex index = mapped != null && mapped.matches(jsonFile) ? mapped : writeIndex(movies, ranges);
+        sidecar = null;
+        return CatalogState.of(CatalogSnapshot.of(version, movies), index, jsonFile);
+    }
+
+    /**
+     * Écrit la liste complète des films dans movies.json (avec fsync) puis met à jour l'index annexe.
+     * L'écriture passe par {@link CatalogFile} : sous le verrou de fichier partagé entre processus,
+     * et seulement si la version sur disque est toujours celle attendue.
+     * Doit être appelée sous le verrou des écrivains.
+     *
+     * Chaque écriture produit exactement une version de plus, quel que soit le nombre de
+     * modifications préparées (un lot d'ajouts, une fusion).
+     *
+     * @param expectedVersion la version de l'état à partir duquel le catalogue a été préparé
+     * @param prepared le catalogue à écrire
+     * @return le nouvel état à publier, ou null si un autre processus a écrit entre-temps
+     */
+    private CatalogState writeMovies(long expectedVersion, CatalogSnapshot prepared) {
+        CatalogSnapshot next = prepared.withVersion(expectedVersion + 1);
+        List<Movie> movies = next.movies();
+        // Sérialisation directe de la liste de Movie, hors du verrou de fichier
+        JsonObject root = new JsonObject();
+        root.addProperty("version", next.version());
+        root.add("movies", GSON.toJsonTree(movies));
+        byte[] content = GSON.toJson(root).getBytes(StandardCharsets.UTF_8);
+
+        try {
+            if (!catalogFile.replace(expectedVersion, out -> out.write(content))) {
+                logger.info("{} n'est plus en version {} : catalogue relu", jsonFile.getName(), expectedVersion);
+                return null;
+            }
+            logger.info("{} films sauvegardés dans {} (version {})", movies.size(), jsonFile.getName(), next.version());
+
+            sidecar = null;
+            return CatalogState.of(next, writeIndex(movies), jsonFile);
         } catch (IOException e) {
-            logger.error("Erreur lors de la création du fichier JSON vide", e);
-            throw new RuntimeException("Erreur lors de la création du fichier JSON", e);
+            logger.error("Erreur lors de l'écriture du fichier JSON", e);
+            throw new RuntimeException("Erreur lors de l'écriture du fichier JSON", e);
         }
     }
 
     /**
-     * Lit les films depuis un Reader JSON.
+     * Recherche dans l'index projeté au démarrage, avant tout chargement complet du catalogue :
+     * seul le film trouvé est décodé.
+     */
+    private Optional<Movie> findInSidecar(SlugIndex mapped, String searchTerm, String searchSlug) {
+        // Recherche exacte par slug
+        int entry = mapped.find(searchSlug);
+        if (entry >= 0) {
+            Movie exactMatch = readMovieAt(mapped, entry);
+            logger.info("Film trouvé (correspondance exacte) : {}", exactMatch.getSlug());
+            return Optional.of(exactMatch);
+        }
+
+        // Recherche avec tolérance (distance de Levenshtein <= 3)
+        entry = mapped.findClosest(searchSlug, MAX_LEVENSHTEIN_DISTANCE);
+        if (entry < 0) {
+            logger.info("Aucun film trouvé pour la recherche : '{}'", searchTerm);
+            return Optional.empty();
+        }
+
+        Movie bestMatch = readMovieAt(mapped, entry);
+        logger.info("Film trouvé (distance Levenshtein = {}) : {}",
+                LevenshteinCalculator.calculate(searchSlug, mapped.slugAt(entry)), bestMatch.getSlug());
+        return Optional.of(bestMatch);
+    }
+
+    /**
+     * Charge movies.json avec {@link ParallelMovieLoader}.
+     * En cas d'échec, la lecture séquentielle prend le relais et signalera l'erreur éventuelle.
      *
-     * @param reader le reader contenant le JSON
-     * @return la liste des films lus
+     * @return le résultat du chargement, ou null s'il faut lire le fichier séquentiellement
      */
-    private List<Movie> readMoviesFromJson(Reader reader) {
+    private ParallelMovieLoader.Result loadInParallel() {
         try {
-            JsonObject root = gson.fromJson(reader, JsonObject.class);
+            return ParallelMovieLoader.load(jsonFile, resources, ForkJoinPool.commonPool());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Chargement parallèle de {} impossible, lecture séquentielle", jsonFile.getName(), e);
+            return null;
+        }
+    }
 
-            if (root == null) {
-                return new ArrayList<>();
+    /**
+     * Construit l'index des slugs à partir des films présents dans movies.json
+     * et l'écrit dans le fichier annexe.
+     *
+     * @param movies les films, dans l'ordre du fichier JSON
+     * @return l'index construit, ou null si la structure du fichier ne correspond pas aux films
+     */
+    private SlugIndex writeIndex(List<Movie> movies) {
+        return writeIndex(movies, null);
+    }
+
+    /**
+     * Construit l'index des slugs à partir des bornes déjà repérées dans movies.json.
+     *
+     * @param movies les films, dans l'ordre du fichier JSON
+     * @param knownRanges les bornes des films, ou null pour analyser le fichier
+     * @return l'index construit, ou null si la structure du fichier ne correspond pas aux films
+     */
+    private SlugIndex writeIndex(List<Movie> movies, long[] knownRanges) {
+        try (FileChannel channel = FileChannel.open(jsonFile.toPath(), StandardOpenOption.READ)) {
+            long[] ranges = knownRanges != null ? knownRanges : MovieJsonScanner.scanMovieRanges(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            if (ranges == null || ranges.length != movies.size() * 2) {
+                logger.warn("Structure de {} inattendue, index non construit", jsonFile.getName());
+                return null;
             }
 
-            JsonArray moviesArray = root.getAsJsonArray("movies");
+            List<String> slugs = movies.stream().map(Movie::getSlug).toList();
+            SlugIndex built = SlugIndex.build(slugs, ranges, SlugIndex.checksum(jsonFile),
+                    jsonFile.length(), jsonFile.lastModified());
+            try {
+                built.write(indexFile);
+            } catch (IOException e) {
+                logger.warn("Impossible d'écrire l'index {}", indexFile.getName(), e);
+            }
+            return built;
+        } catch (IOException e) {
+            logger.warn("Impossible d'indexer {}", jsonFile.getName(), e);
+            return null;
+        }
+    }
 
-            // Vérifie que le contenu n'est pas null ni vide
-            if (moviesArray == null || moviesArray.size() == 0) {
-                return new ArrayList<>();
+    /**
+     * Décode un seul film à partir de ses bornes dans movies.json.
+     *
+     * @param current l'index utilisé
+     * @param entry l'entrée de l'index
+     * @return le film décodé
+     */
+    private Movie readMovieAt(SlugIndex current, int entry) {
+        try (FileChannel channel = FileChannel.open(jsonFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer bytes = ByteBuffer.allocate(current.jsonLength(entry));
+            long position = current.jsonOffset(entry);
+            while (bytes.hasRemaining() && channel.read(bytes, position + bytes.position()) >= 0) {
+                // lecture jusqu'à remplir le tampon
+            }
+            bytes.flip();
+            try (MovieJsonReader movieReader = new MovieJsonReader(
+                    new StringReader(StandardCharsets.UTF_8.decode(bytes).toString()), new StringPool(resources))) {
+                return movieReader.readSingleMovie();
             }
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture du fichier JSON", e);
+            throw new RuntimeException("Erreur lors de la lecture du fichier JSON", e);
+        }
+    }
 
-            // Désérialisation directe en List<Movie> avec TypeToken
-            Type movieListType = new TypeToken<List<Movie>>(){}.getType();
-            List<Movie> movies = gson.fromJson(moviesArray, movieListType);
+    /**
+     * Ouvre movies.json pour une diffusion en flux (le fichier est créé s'il n'existe pas).
+     *
+     * @return le lecteur positionné au début du document
+     */
+    private MovieJsonReader openStream() throws IOException {
+        if (!jsonFile.exists()) {
+            state();
+        }
+        return new MovieJsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(jsonFile), StandardCharsets.UTF_8)), new StringPool(resources));
+    }
 
-            return movies != null ? movies : new ArrayList<>();
+    /**
+     * Crée un fichier JSON vide avec la structure de base.
+     */
+    private void createEmptyJsonFile() {
+        try (FileWriter fw = new FileWriter(jsonFile)) {
+            fw.write("{\"movies\":[]}");
+        } catch (IOException e) {
+            logger.error("Erreur lors de la création du fichier JSON vide", e);
+            throw new RuntimeException("Erreur lors de la création du fichier JSON", e);
+        }
+    }
 
-        } catch (JsonSyntaxException e) {
+    /**
+     * Lit les films depuis un lecteur JSON.
+     * Les films sont décodés en flux ; les chaînes répétitives sont partagées
+     * entre les films grâce à un réservoir propre à ce chargement.
+     *
+     * @param movieReader le lecteur positionné au début du document
+     * @return la liste des films lus
+     */
+    private List<Movie> readMoviesFromJson(MovieJsonReader movieReader) throws IOException {
+        try {
+            List<Movie> movies = movieReader.readAll();
+            StringPool pool = movieReader.pool();
+            logger.debug("{} chaînes répétitives lues, {} conservées", pool.lookups(), pool.size());
+            return movies;
+        } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
             logger.warn("Format JSON invalide, retour d'une liste vide", e);
             return new ArrayList<>();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.helmo.planclap_admin.domains.ScheduleCache;
+import org.helmo.planclap_admin.domains.StoredSchedule;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Cache des plannings calculés, conservé dans le fichier {@code schedule-cache.json} du
+ * répertoire d'un cinéma.
+ *
+ * <p>Seul le dernier planning est conservé, avec l'empreinte du catalogue qui l'a produit :
+ * dès que le catalogue change, l'empreinte demandée ne correspond plus et l'entrée est ignorée
+ * puis remplacée au calcul suivant.</p>
+ */
+public class JsonScheduleCache implements ScheduleCache {
+
+    private static final Logger logger = LogManager.getLogger(JsonScheduleCache.class);
+
+    private final File file;
+
+    /**
+     * Construit un cache de plannings.
+     *
+     * @param dir le répertoire du cinéma
+     */
+    public JsonScheduleCache(File dir) {
+        this.file = new File(dir, "schedule-cache.json");
+    }
+
+    @Override
+    public Optional<StoredSchedule> load(String key) {
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+        try (JsonReader in = new JsonReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String storedKey = null;
+            long[] seances = new long[0];
+            int[] unplaced = new int[0];
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "key" -> storedKey = in.nextString();
+                    case "seances" -> seances = readLongs(in);
+                    case "unplaced" -> unplaced = Arrays.stream(readLongs(in)).mapToInt(Math::toIntExact).toArray();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return key.equals(storedKey) ? Optional.of(new StoredSchedule(seances, unplaced)) : Optional.empty();
+        } catch (IOException | IllegalStateException | NumberFormatException | ArithmeticException e) {
+            logger.warn("Cache des plannings illisible : {}", file.getName(), e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(String key, StoredSchedule schedule) {
+        File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (JsonWriter out = new JsonWriter(new OutputStreamWriter(new FileOutputStream(tmpFile), StandardCharsets.UTF_8))) {
+            out.beginObject();
+            out.name("key").value(key);
+            out.name("seances").beginArray();
+            for (long seance : schedule.seances()) {
+                out.value(seance);
+            }
+            out.endArray();
+            out.name("unplaced").beginArray();
+            for (int movie : schedule.unplaced()) {
+                out.value(movie);
+            }
+            out.endArray();
+            out.endObject();
+        } catch (IOException e) {
+            logger.error("Erreur lors de l'écriture du cache des plannings", e);
+            throw new RuntimeException("Erreur lors de l'écriture du cache des plannings", e);
+        }
+        try {
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.error("Erreur lors de l'écriture du cache des plannings", e);
+            throw new RuntimeException("Erreur lors de l'écriture du cache des plannings", e);
+        }
+    }
+
+    private static long[] readLongs(JsonReader in) throws IOException {
+        long[] values = new long[64];
+        int size = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = in.nextLong();
+        }
+        in.endArray();
+        return Arrays.copyOf(values, size);
+    }
+}
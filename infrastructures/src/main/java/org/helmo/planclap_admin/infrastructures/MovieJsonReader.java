@@ -0,0 +1,213 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.helmo.planclap_admin.domains.Movie;
+import org.helmo.planclap_admin.domains.MoviePublisher;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecteur en flux des films d'un fichier {@code movies.json}.
+ *
+ * <p>Les films sont décodés un par un avec le {@link JsonReader} de Gson, sans construire
+ * l'arbre JSON complet, et créés via le constructeur de {@link Movie}. Les chaînes
+ * répétitives (libellés Cinecheck, URL de posters) passent par un {@link StringPool}
+ * propre à ce lecteur.</p>
+ *
+ * <p>Le lecteur accepte soit le document complet ({@code {"version": n, "movies": [...]}}),
+ * soit un objet film isolé (voir {@link #readSingleMovie()}). Le numéro de version
+ * est écrit avant les films ; un fichier sans version est considéré en version 0.</p>
+ */
+final class MovieJsonReader implements Closeable, MoviePublisher.Source {
+
+    private final JsonReader in;
+    private final StringPool pool;
+    private boolean positioned;
+    private boolean finished;
+    private long version;
+
+    /**
+     * Construit un lecteur sur le contenu JSON.
+     *
+     * @param reader la source JSON
+     */
+    MovieJsonReader(Reader reader) {
+        this(reader, new StringPool());
+    }
+
+    /**
+     * Construit un lecteur partageant un réservoir de chaînes existant.
+     *
+     * @param reader la source JSON
+     * @param pool le réservoir de chaînes à utiliser
+     */
+    MovieJsonReader(Reader reader, StringPool pool) {
+        this.in = new JsonReader(reader);
+        this.in.setLenient(true);
+        this.pool = pool;
+    }
+
+    /**
+     * Lit tous les films du document.
+     *
+     * @return la liste des films lus (vide si le document est vide ou sans films)
+     * @throws IOException si le contenu n'est pas un JSON valide
+     */
+    List<Movie> readAll() throws IOException {
+        List<Movie> movies = new ArrayList<>();
+        Movie movie;
+        while ((movie = next()) != null) {
+            movies.add(movie);
+        }
+        return movies;
+    }
+
+    /**
+     * Lit le film suivant du tableau {@code "movies"}.
+     *
+     * @return le film suivant, ou null s'il n'y en a plus
+     * @throws IOException si le contenu n'est pas un JSON valide
+     */
+    @Override
+    public Movie next() throws IOException {
+        if (!positioned) {
+            positioned = true;
+            finished = !moveToMoviesArray();
+        }
+        if (finished) {
+            return null;
+        }
+        if (!in.hasNext()) {
+            in.endArray();
+            finished = true;
+            return null;
+        }
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return next();
+        }
+        return readMovie();
+    }
+
+    /**
+     * Lit le numéro de version du document, sans décoder les films.
+     *
+     * @return la version du catalogue (0 si le document n'en contient pas)
+     * @throws IOException si le contenu n'est pas un JSON valide
+     */
+    long readVersion() throws IOException {
+        if (!positioned) {
+            positioned = true;
+            finished = !moveToMoviesArray();
+        }
+        return version;
+    }
+
+    /**
+     * @return la version lue dans le document (valable une fois la lecture des films commencée)
+     */
+    long version() {
+        return version;
+    }
+
+    /**
+     * Lit un objet film isolé (par exemple une tranche de movies.json repérée par l'index).
+     *
+     * @return le film lu
+     * @throws IOException si le contenu n'est pas un objet JSON valide
+     */
+    Movie readSingleMovie() throws IOException {
+        return readMovie();
+    }
+
+    /**
+     * @return le réservoir de chaînes utilisé par ce lecteur
+     */
+    StringPool pool() {
+        return pool;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // --- Méthodes internes ---
+
+    /**
+     * Avance jusqu'au début du tableau "movies" de l'objet racine,
+     * en retenant au passage le numéro de version.
+     *
+     * @return true si le tableau a été trouvé, false si le document n'en contient pas
+     */
+    private boolean moveToMoviesArray() throws IOException {
+        if (in.peek() == JsonToken.END_DOCUMENT || in.peek() != JsonToken.BEGIN_OBJECT) {
+            return false;
+        }
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if ("movies".equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                in.beginArray();
+                return true;
+            }
+            if ("version".equals(name) && in.peek() == JsonToken.NUMBER) {
+                version = in.nextLong();
+                continue;
+            }
+            in.skipValue();
+        }
+        return false;
+    }
+
+    private Movie readMovie() throws IOException {
+        String slug = null;
+        String title = null;
+        int duration = 0;
+        String posterUrl = null;
+        String description = null;
+        List<String> cinechecks = List.of();
+        int seances = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "slug" -> slug = pool.shared(in.nextString());
+                case "title" -> title = pool.shared(in.nextString());
+                case "duration" -> duration = in.nextInt();
+                case "posterUrl" -> posterUrl = pool.canonical(in.nextString());
+                case "description" -> description = pool.shared(in.nextString());
+                case "cinechecks" -> cinechecks = readLabels();
+                case "seances" -> seances = in.nextInt();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new Movie(slug, title, duration, posterUrl, description, cinechecks, seances);
+    }
+
+    private List<String> readLabels() throws IOException {
+        List<String> labels = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else {
+                labels.add(pool.canonical(in.nextString()));
+            }
+        }
+        in.endArray();
+        return labels;
+    }
+}
@@ -0,0 +1,119 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Pré-analyse structurelle d'un fichier {@code movies.json}.
+ *
+ * <p>Le scanner parcourt les octets une seule fois, sans construire d'objets JSON,
+ * et repère les bornes (début inclus, fin exclue) de chaque objet du tableau
+ * {@code "movies"} de la racine. Ces bornes permettent ensuite de ne décoder
+ * qu'un seul film à la demande.</p>
+ */
+final class MovieJsonScanner {
+
+    private static final byte[] MOVIES_KEY = "movies".getBytes(StandardCharsets.US_ASCII);
+
+    private MovieJsonScanner() {
+    }
+
+    /**
+     * Repère les bornes des films dans le contenu JSON.
+     *
+     * @param content le contenu complet du fichier (position 0 à limit)
+     * @return un tableau {début0, fin0, début1, fin1, ...} ou null si la structure est invalide
+     */
+    static long[] scanMovieRanges(ByteBuffer content) {
+        long[] ranges = new long[32];
+        int count = 0;
+
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        int keyStart = -1;
+        int keyEnd = -1;
+        boolean moviesKeyPending = false;
+        int moviesDepth = -1;
+        int elementStart = -1;
+
+        int limit = content.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = content.get(i);
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                    if (depth == 1) {
+                        keyEnd = i;
+                    }
+                }
+                continue;
+            }
+
+            switch (b) {
+                case '"' -> {
+                    inString = true;
+                    if (depth == 1) {
+                        keyStart = i + 1;
+                    }
+                }
+                case ':' -> {
+                    if (depth == 1) {
+                        moviesKeyPending = isMoviesKey(content, keyStart, keyEnd);
+                    }
+                }
+                case '{', '[' -> {
+                    if (depth == 1 && b == '[' && moviesKeyPending) {
+                        moviesDepth = depth + 1;
+                    } else if (depth == moviesDepth && b == '{') {
+                        elementStart = i;
+                    }
+                    depth++;
+                }
+                case '}', ']' -> {
+                    depth--;
+                    if (depth < 0) {
+                        return null;
+                    }
+                    if (depth == moviesDepth && b == '}' && elementStart >= 0) {
+                        if (count + 2 > ranges.length) {
+                            ranges = Arrays.copyOf(ranges, ranges.length * 2);
+                        }
+                        ranges[count++] = elementStart;
+                        ranges[count++] = i + 1;
+                        elementStart = -1;
+                    } else if (depth == 1 && b == ']' && moviesDepth == 2) {
+                        moviesDepth = -1;
+                        moviesKeyPending = false;
+                    }
+                }
+                default -> {
+                    // espaces, virgules et valeurs scalaires : rien à faire
+                }
+            }
+        }
+
+        if (depth != 0 || inString) {
+            return null;
+        }
+        return Arrays.copyOf(ranges, count);
+    }
+
+    private static boolean isMoviesKey(ByteBuffer content, int start, int end) {
+        if (start < 0 || end - start != MOVIES_KEY.length) {
+            return false;
+        }
+        for (int i = 0; i < MOVIES_KEY.length; i++) {
+            if (content.get(start + i) != MOVIES_KEY[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
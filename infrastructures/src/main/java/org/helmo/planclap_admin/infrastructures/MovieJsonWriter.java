@@ -0,0 +1,92 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import com.google.gson.stream.JsonWriter;
+import org.helmo.planclap_admin.domains.Movie;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Écriture en flux d'un fichier {@code movies.json}, film par film.
+ * Le format produit est identique à celui de {@link JsonMovieRepository}.
+ */
+final class MovieJsonWriter implements Closeable {
+
+    private final JsonWriter out;
+
+    /**
+     * Ouvre le document et le tableau {@code "movies"}, sans numéro de version.
+     *
+     * @param writer la destination
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    MovieJsonWriter(Writer writer) throws IOException {
+        this(writer, -1);
+    }
+
+    /**
+     * Ouvre le document, écrit le numéro de version puis ouvre le tableau {@code "movies"}.
+     *
+     * @param writer la destination
+     * @param version la version du catalogue (négative pour ne pas l'écrire)
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    MovieJsonWriter(Writer writer, long version) throws IOException {
+        this.out = new JsonWriter(writer);
+        this.out.setIndent("  ");
+        this.out.beginObject();
+        if (version >= 0) {
+            this.out.name("version").value(version);
+        }
+        this.out.name("movies").beginArray();
+    }
+
+    /**
+     * Écrit un film.
+     *
+     * @param movie le film à écrire
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    void write(Movie movie) throws IOException {
+        out.beginObject();
+        writeString("slug", movie.getSlug());
+        writeString("title", movie.getTitle());
+        out.name("duration").value(movie.getDuration());
+        writeString("posterUrl", movie.getPosterUrl());
+        writeString("description", movie.getDescription());
+        out.name("cinechecks").beginArray();
+        for (String label : movie.getCinechecks()) {
+            out.value(label);
+        }
+        out.endArray();
+        out.name("seances").value(movie.getSeances());
+        out.endObject();
+    }
+
+    /**
+     * Ferme le tableau et le document, sans fermer la destination.
+     *
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    void finish() throws IOException {
+        out.endArray();
+        out.endObject();
+        out.flush();
+    }
+
+    /**
+     * Ferme le tableau, le document et la destination.
+     */
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+
+    private void writeString(String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+}
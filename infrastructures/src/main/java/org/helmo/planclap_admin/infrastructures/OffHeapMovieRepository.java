@@ -0,0 +1,453 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import com.google.gson.stream.MalformedJsonException;
+import org.apache.logging.log4j.*;
+import org.helmo.planclap_admin.domains.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Variante du repository de films pour les très gros catalogues.
+ *
+ * <p>Le fichier {@code movies.json} est le même que pour {@link JsonMovieRepository},
+ * mais les films chargés sont conservés hors du tas dans un {@link OffHeapMovieStore} :
+ * des millions de films n'occupent que quelques tableaux primitifs sur le tas et
+ * n'allongent pas les pauses du ramasse-miettes. Les {@link Movie} ne sont créés
+ * qu'à la demande (recherche, liste) et ne sont pas retenus : les requêtes ({@link #find(MovieQuery)})
+ * parcourent le stockage film par film et la vue utilisée pour valider un encodage
+ * ({@link #view()}) répond directement depuis les index hors tas.</p>
+ *
+ * <p>Le chargement et l'écriture se font en flux, film par film. Le temps GC écoulé
+ * pendant le chargement est journalisé, comme pour {@link JsonMovieRepository},
+ * afin de comparer les deux implémentations.</p>
+ *
+ * <p>Comme {@link JsonMovieRepository}, le repository peut partager son répertoire avec d'autres
+ * processus : movies.json est écrit par {@link CatalogFile} (verrou movies.lock, numéro de
+ * version, remplacement atomique) et le catalogue est relu si le fichier a été modifié hors
+ * du repository. Les méthodes sont synchronisées.</p>
+ */
+public class OffHeapMovieRepository implements MovieRepository {
+
+    private static final Logger logger = LogManager.getLogger(OffHeapMovieRepository.class);
+
+    private static final int MAX_LEVENSHTEIN_DISTANCE = 3;
+
+    private final CatalogFile catalogFile;
+    private final File jsonFile;
+    private final CatalogEvents events = new CatalogEvents();
+    private OffHeapMovieStore store = new OffHeapMovieStore();
+    private boolean loaded;
+    // Version du catalogue chargé, et état de movies.json à ce moment
+    private long version;
+    private long fileLength;
+    private long fileModified;
+
+    /**
+     * Construit un repository hors tas pour les films.
+     *
+     * @param dir le répertoire contenant le fichier movies.json
+     */
+    public OffHeapMovieRepository(File dir) {
+        this.catalogFile = new CatalogFile(dir);
+        this.jsonFile = catalogFile.jsonFile();
+    }
+
+    @Override
+    public synchronized List<Movie> loadMovies() {
+        ensureLoaded();
+        List<Movie> movies = new ArrayList<>(store.size());
+        for (int i = 0; i < store.size(); i++) {
+            movies.add(store.get(i));
+        }
+        return movies;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Les films sont décodés depuis le stockage hors tas un par un, à la demande de l'abonné,
+     * dans le thread qui fait la demande.</p>
+     */
+    @Override
+    public Flow.Publisher<Movie> streamMovies() {
+        return new MoviePublisher(() -> {
+            OffHeapMovieStore current = loadedStore();
+            int[] next = {0};
+            return () -> {
+                synchronized (this) {
+                    return next[0] < current.size() ? current.get(next[0]++) : null;
+                }
+            };
+        }, Runnable::run);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ConcurrentModificationException si un autre processus a écrit movies.json
+     *         depuis le dernier chargement (le catalogue est alors relu et rien n'est écrit)
+     */
+    @Override
+    public synchronized void saveMovies(List<Movie> movies) {
+        ensureLoaded();
+        OffHeapMovieStore next = new OffHeapMovieStore();
+        for (Movie movie : movies) {
+            next.append(movie);
+        }
+        if (!persist(next)) {
+            throw new ConcurrentModificationException("Le catalogue a été modifié par un autre processus");
+        }
+        events.fireMoviesSaved(movies);
+    }
+
+    @Override
+    public synchronized Optional<Movie> findByTitleOrSlug(String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return Optional.empty();
+        }
+        ensureLoaded();
+
+        String searchSlug = Movie.generateSlug(searchTerm);
+        Movie match = store.findBySlug(searchSlug);
+        if (match == null) {
+            match = store.findClosest(searchSlug, MAX_LEVENSHTEIN_DISTANCE);
+        }
+
+        if (match != null) {
+            logger.info("Film trouvé : {}", match.getSlug());
+        } else {
+            logger.info("Aucun film trouvé pour la recherche : '{}'", searchTerm);
+        }
+        return Optional.ofNullable(match);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Le stockage est parcouru film par film, sans index : en ordre du catalogue, le parcours
+     * s'arrête dès que la page est complète ; pour un autre ordre, seuls les films de la page
+     * et ceux qui la précèdent sont conservés, dans un tas borné.</p>
+     */
+    @Override
+    public synchronized List<Movie> find(MovieQuery query) {
+        if (query.getLimit() == 0) {
+            return List.of();
+        }
+        ensureLoaded();
+        Comparator<Movie> comparator = query.comparator();
+        long wanted = (long) query.getOffset() + query.getLimit();
+
+        if (comparator == null) {
+            List<Movie> page = new ArrayList<>();
+            int skipped = 0;
+            for (int i = 0; i < store.size() && page.size() < query.getLimit(); i++) {
+                Movie movie = store.get(i);
+                if (!query.matches(movie)) {
+                    continue;
+                }
+                if (skipped < query.getOffset()) {
+                    skipped++;
+                } else {
+                    page.add(movie);
+                }
+            }
+            return page;
+        }
+
+        List<Movie> kept;
+        if (wanted >= store.size()) {
+            kept = new ArrayList<>();
+            for (int i = 0; i < store.size(); i++) {
+                Movie movie = store.get(i);
+                if (query.matches(movie)) {
+                    kept.add(movie);
+                }
+            }
+        } else {
+            // Tas inversé : la racine est le moins bon des films conservés
+            PriorityQueue<Movie> heap = new PriorityQueue<>((int) wanted + 1, comparator.reversed());
+            for (int i = 0; i < store.size(); i++) {
+                Movie movie = store.get(i);
+                if (!query.matches(movie)) {
+                    continue;
+                }
+                if (heap.size() < wanted) {
+                    heap.add(movie);
+                } else if (comparator.compare(movie, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(movie);
+                }
+            }
+            kept = new ArrayList<>(heap);
+        }
+
+        kept.sort(comparator);
+        if (query.getOffset() >= kept.size()) {
+            return List.of();
+        }
+        return new ArrayList<>(kept.subList(query.getOffset(), (int) Math.min(kept.size(), wanted)));
+    }
+
+    @Override
+    public synchronized boolean existsByTitle(String title) {
+        ensureLoaded();
+        return store.containsTitle(title);
+    }
+
+    @Override
+    public synchronized boolean existsBySlug(String slug) {
+        ensureLoaded();
+        return store.containsSlug(slug);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Le film est ajouté à la fin du stockage puis movies.json est réécrit. Si un autre
+     * processus a écrit entre-temps, le catalogue est relu et l'ajout validé à nouveau.</p>
+     */
+    @Override
+    public synchronized void addMovie(Movie movie) {
+        do {
+            if (existsByTitle(movie.getTitle())) {
+                throw new IllegalArgumentException("Un film avec ce titre existe déjà");
+            }
+            if (existsBySlug(movie.getSlug())) {
+                throw new IllegalArgumentException("Un film avec ce slug existe déjà");
+            }
+            int total = getTotalMinutesToSchedule();
+            CatalogSnapshot.checkCapacity(total, total + movie.getDuration() * movie.getSeances());
+            store.append(movie);
+        } while (!persist(store));
+
+        logger.info("Film ajouté : {}", movie.getSlug());
+        events.fireMovieAdded(movie);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Les enregistrements hors tas ne sont pas modifiables : les films sont recopiés un par un
+     * dans un nouveau stockage, qui remplace l'ancien une fois movies.json écrit.</p>
+     */
+    @Override
+    public synchronized void replaceMovie(Movie movie) {
+        Movie previous;
+        OffHeapMovieStore next;
+        do {
+            ensureLoaded();
+            previous = store.findBySlug(movie.getSlug());
+            if (previous == null) {
+                throw new IllegalArgumentException("Aucun film avec ce slug");
+            }
+
+            next = new OffHeapMovieStore();
+            boolean replaced = false;
+            for (int i = 0; i < store.size(); i++) {
+                Movie existing = store.get(i);
+                if (!replaced && movie.getSlug().equalsIgnoreCase(existing.getSlug())) {
+                    existing = movie;
+                    replaced = true;
+                }
+                next.append(existing);
+            }
+        } while (!persist(next));
+
+        logger.info("Film remplacé : {}", movie.getSlug());
+        events.fireMovieReplaced(previous, movie);
+    }
+
+    @Override
+    public synchronized int getTotalMinutesToSchedule() {
+        ensureLoaded();
+        return (int) store.totalMinutes();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Tous les films sont décodés depuis le stockage hors tas à chaque appel, et l'instantané
+     * n'est pas conservé : il est réservé aux commandes qui parcourent le catalogue complet
+     * (planification, doublons). Les vérifications d'un encodage passent par {@link #view()}.</p>
+     */
+    @Override
+    public synchronized CatalogSnapshot snapshot() {
+        ensureLoaded();
+        return CatalogSnapshot.of(version, loadMovies());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>La vue ne décode aucun film : elle retient le stockage courant et le nombre de films
+     * au moment de l'appel, et interroge ses index hors tas en ignorant les films ajoutés ensuite.
+     * Les écritures suivantes construisent un nouveau stockage ou ajoutent en fin de celui-ci,
+     * sans modifier les films vus.</p>
+     */
+    @Override
+    public synchronized CatalogView view() {
+        ensureLoaded();
+        return new StoreView(store, store.size(), version, (int) store.totalMinutes());
+    }
+
+    @Override
+    public void addListener(CatalogListener listener) {
+        events.subscribe(listener);
+    }
+
+    @Override
+    public void addListener(CatalogListener listener, Executor executor) {
+        events.subscribe(listener, executor);
+    }
+
+    @Override
+    public void removeListener(CatalogListener listener) {
+        events.unsubscribe(listener);
+    }
+
+    // --- Méthodes internes ---
+
+    /**
+     * @return le stockage à jour, chargé si nécessaire
+     */
+    private synchronized OffHeapMovieStore loadedStore() {
+        ensureLoaded();
+        return store;
+    }
+
+    /**
+     * Charge le catalogue en flux dans un nouveau stockage hors tas lors du premier accès,
+     * ou si movies.json a été modifié hors du repository.
+     */
+    private void ensureLoaded() {
+        if (loaded && jsonFile.length() == fileLength && jsonFile.lastModified() == fileModified) {
+            return;
+        }
+        if (!jsonFile.exists()) {
+            logger.info("Fichier JSON inexistant. Création d'un fichier vide.");
+            store = new OffHeapMovieStore();
+            version = 0;
+            loaded = true;
+            persist(store);
+            return;
+        }
+
+        GcStats start = GcStats.now();
+        OffHeapMovieStore read = new OffHeapMovieStore();
+        long fileVersion = 0;
+        long length = jsonFile.length();
+        long modified = jsonFile.lastModified();
+        try (MovieJsonReader reader = new MovieJsonReader(
+                new BufferedReader(new InputStreamReader(new FileInputStream(jsonFile), StandardCharsets.UTF_8)))) {
+            Movie movie;
+            while ((movie = reader.next()) != null) {
+                read.append(movie);
+            }
+            fileVersion = reader.version();
+        } catch (MalformedJsonException | EOFException | IllegalStateException
+                 | NumberFormatException e) {
+            logger.warn("Format JSON invalide, catalogue vide", e);
+            read = new OffHeapMovieStore();
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture du fichier JSON", e);
+            throw new RuntimeException("Erreur lors de la lecture du fichier JSON", e);
+        }
+        store = read;
+        version = fileVersion;
+        fileLength = length;
+        fileModified = modified;
+        loaded = true;
+
+        GcStats gc = GcStats.now().since(start);
+        logger.info("{} films chargés hors tas depuis {} ({} collections GC, {} ms)",
+                store.size(), jsonFile.getName(), gc.collections(), gc.pauseMillis());
+    }
+
+    /**
+     * Réécrit movies.json en flux à partir d'un stockage hors tas, en version suivante.
+     * L'écriture passe par {@link CatalogFile} et n'a lieu que si la version sur disque est
+     * toujours celle du catalogue chargé ; sinon le catalogue est relu.
+     *
+     * @param next le stockage à écrire, qui devient le catalogue courant une fois écrit
+     * @return true si movies.json a été écrit, false s'il a été modifié par un autre processus
+     */
+    private boolean persist(OffHeapMovieStore next) {
+        long nextVersion = version + 1;
+        try {
+            boolean written = catalogFile.replace(version, out -> {
+                MovieJsonWriter writer = new MovieJsonWriter(new BufferedWriter(
+                        new OutputStreamWriter(out, StandardCharsets.UTF_8)), nextVersion);
+                for (int i = 0; i < next.size(); i++) {
+                    writer.write(next.get(i));
+                }
+                // Fermeture du document : le flux sous-jacent est fermé par CatalogFile après fsync
+                writer.finish();
+            });
+            if (!written) {
+                logger.info("{} n'est plus en version {} : catalogue relu", jsonFile.getName(), version);
+                loaded = false;
+                ensureLoaded();
+                return false;
+            }
+        } catch (IOException e) {
+            // Le stockage courant peut contenir un film non écrit : il sera relu
+            loaded = false;
+            logger.error("Erreur lors de l'écriture du fichier JSON", e);
+            throw new RuntimeException("Erreur lors de l'écriture du fichier JSON", e);
+        }
+
+        store = next;
+        version = nextVersion;
+        fileLength = jsonFile.length();
+        fileModified = jsonFile.lastModified();
+        logger.info("{} films sauvegardés dans {} (version {})", next.size(), jsonFile.getName(), nextVersion);
+        return true;
+    }
+
+    /**
+     * Vue figée sur les premiers films d'un stockage. Les lectures sont synchronisées avec le
+     * repository : le stockage peut recevoir des ajouts en fin pendant la vie de la vue.
+     */
+    private final class StoreView implements CatalogView {
+
+        private final OffHeapMovieStore viewed;
+        private final int count;
+        private final long viewVersion;
+        private final int totalMinutes;
+
+        StoreView(OffHeapMovieStore viewed, int count, long viewVersion, int totalMinutes) {
+            this.viewed = viewed;
+            this.count = count;
+            this.viewVersion = viewVersion;
+            this.totalMinutes = totalMinutes;
+        }
+
+        @Override
+        public long version() {
+            return viewVersion;
+        }
+
+        @Override
+        public boolean existsByTitle(String title) {
+            synchronized (OffHeapMovieRepository.this) {
+                return title != null && viewed.containsTitle(title, count);
+            }
+        }
+
+        @Override
+        public boolean existsBySlug(String slug) {
+            synchronized (OffHeapMovieRepository.this) {
+                return slug != null && viewed.containsSlug(slug, count);
+            }
+        }
+
+        @Override
+        public int getTotalMinutesToSchedule() {
+            return totalMinutes;
+        }
+    }
+}
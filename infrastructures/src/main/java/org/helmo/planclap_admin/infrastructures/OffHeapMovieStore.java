@@ -0,0 +1,319 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import org.helmo.planclap_admin.domains.LevenshteinCalculator;
+import org.helmo.planclap_admin.domains.Movie;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongPredicate;
+
+/**
+ * Stockage des films hors du tas Java.
+ *
+ * <p>Chaque film est sérialisé dans une arène de {@link ByteBuffer} directs ; le tas ne
+ * contient que des tableaux primitifs : l'ordre du catalogue ({@code long[]} d'adresses)
+ * et deux tables de hachage à adressage ouvert (slug et titre → adresse). Le ramasse-miettes
+ * n'a donc presque rien à parcourir, quel que soit le nombre de films. Les {@link Movie}
+ * ne sont créés qu'à la demande.</p>
+ *
+ * <p>Format d'un enregistrement : durée, séances, slug, titre, URL du poster, description,
+ * nombre de libellés puis libellés ; chaque chaîne est précédée de sa longueur en octets
+ * (-1 pour null).</p>
+ *
+ * <p>Cette classe n'est pas thread-safe.</p>
+ */
+final class OffHeapMovieStore {
+
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private long[] addresses = new long[1024];
+    private int size;
+    private long totalMinutes;
+    private final AddressTable slugs = new AddressTable();
+    private final AddressTable titles = new AddressTable();
+
+    /**
+     * Ajoute un film à la fin du catalogue.
+     *
+     * @param movie le film à stocker
+     */
+    void append(Movie movie) {
+        byte[][] strings = {
+                encode(movie.getSlug()), encode(movie.getTitle()),
+                encode(movie.getPosterUrl()), encode(movie.getDescription())
+        };
+        List<String> cinechecks = movie.getCinechecks();
+        byte[][] labels = new byte[cinechecks.size()][];
+        int recordSize = Integer.BYTES * 2 + Short.BYTES;
+        for (byte[] s : strings) {
+            recordSize += Integer.BYTES + (s == null ? 0 : s.length);
+        }
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = encode(cinechecks.get(i));
+            recordSize += Integer.BYTES + labels[i].length;
+        }
+
+        long address = allocate(recordSize);
+        ByteBuffer chunk = chunks.get(chunkOf(address));
+        int position = offsetOf(address);
+        chunk.putInt(position, movie.getDuration());
+        chunk.putInt(position + 4, movie.getSeances());
+        position += 8;
+        for (byte[] s : strings) {
+            position = putString(chunk, position, s);
+        }
+        chunk.putShort(position, (short) labels.length);
+        position += Short.BYTES;
+        for (byte[] label : labels) {
+            position = putString(chunk, position, label);
+        }
+
+        if (size == addresses.length) {
+            addresses = Arrays.copyOf(addresses, size * 2);
+        }
+        addresses[size++] = address;
+        totalMinutes += (long) movie.getDuration() * movie.getSeances();
+        if (movie.getSlug() != null) {
+            slugs.put(hashOf(movie.getSlug()), address);
+        }
+        if (movie.getTitle() != null) {
+            titles.put(hashOf(movie.getTitle()), address);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long totalMinutes() {
+        return totalMinutes;
+    }
+
+    /**
+     * Matérialise le film à la position donnée.
+     *
+     * @param index la position dans le catalogue
+     * @return le film
+     */
+    Movie get(int index) {
+        return materialize(addresses[index]);
+    }
+
+    /**
+     * Recherche un film par slug (insensible à la casse).
+     *
+     * @param slug le slug recherché
+     * @return le film, ou null
+     */
+    Movie findBySlug(String slug) {
+        long address = slugs.find(hashOf(slug), a -> slug.equalsIgnoreCase(readSlug(a)));
+        return address < 0 ? null : materialize(address);
+    }
+
+    boolean containsSlug(String slug) {
+        return containsSlug(slug, size);
+    }
+
+    boolean containsTitle(String title) {
+        return containsTitle(title, size);
+    }
+
+    /**
+     * Vérifie la présence d'un slug parmi les premiers films du catalogue : les adresses
+     * croissent avec l'ordre d'ajout, les films ajoutés ensuite sont donc ignorés.
+     *
+     * @param slug le slug recherché (insensible à la casse)
+     * @param count le nombre de films considérés
+     * @return true si l'un de ces films porte ce slug
+     */
+    boolean containsSlug(String slug, int count) {
+        long last = count == 0 ? -1 : addresses[count - 1];
+        return slugs.find(hashOf(slug), a -> a <= last && slug.equalsIgnoreCase(readSlug(a))) >= 0;
+    }
+
+    /**
+     * Vérifie la présence d'un titre parmi les premiers films du catalogue.
+     *
+     * @param title le titre recherché (insensible à la casse)
+     * @param count le nombre de films considérés
+     * @return true si l'un de ces films porte ce titre
+     */
+    boolean containsTitle(String title, int count) {
+        long last = count == 0 ? -1 : addresses[count - 1];
+        return titles.find(hashOf(title), a -> a <= last && title.equalsIgnoreCase(readTitle(a))) >= 0;
+    }
+
+    /**
+     * Recherche le film dont le slug est le plus proche au sens de Levenshtein.
+     * Seuls les slugs sont décodés ; le film n'est créé que pour le meilleur résultat.
+     *
+     * @param slug le slug recherché
+     * @param maxDistance la distance maximale acceptée
+     * @return le film le plus proche, ou null
+     */
+    Movie findClosest(String slug, int maxDistance) {
+        long best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            String candidate = readSlug(addresses[i]);
+            if (candidate == null || Math.abs(candidate.length() - slug.length()) > maxDistance) {
+                continue;
+            }
+            int distance = LevenshteinCalculator.calculate(slug, candidate);
+            if (distance <= maxDistance && distance < bestDistance) {
+                bestDistance = distance;
+                best = addresses[i];
+            }
+        }
+        return best < 0 ? null : materialize(best);
+    }
+
+    // --- Méthodes internes ---
+
+    private long allocate(int recordSize) {
+        ByteBuffer current = chunks.isEmpty() ? null : chunks.getLast();
+        if (current == null || current.capacity() - current.position() < recordSize) {
+            current = ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, recordSize));
+            chunks.add(current);
+        }
+        int offset = current.position();
+        current.position(offset + recordSize);
+        return ((long) (chunks.size() - 1) << 32) | offset;
+    }
+
+    private Movie materialize(long address) {
+        ByteBuffer chunk = chunks.get(chunkOf(address));
+        int position = offsetOf(address);
+        int duration = chunk.getInt(position);
+        int seances = chunk.getInt(position + 4);
+        int[] cursor = {position + 8};
+        String slug = getString(chunk, cursor);
+        String title = getString(chunk, cursor);
+        String posterUrl = getString(chunk, cursor);
+        String description = getString(chunk, cursor);
+        int labelCount = chunk.getShort(cursor[0]);
+        cursor[0] += Short.BYTES;
+        List<String> cinechecks = new ArrayList<>(labelCount);
+        for (int i = 0; i < labelCount; i++) {
+            cinechecks.add(getString(chunk, cursor));
+        }
+        return new Movie(slug, title, duration, posterUrl, description, cinechecks, seances);
+    }
+
+    private String readSlug(long address) {
+        return getString(chunks.get(chunkOf(address)), new int[]{offsetOf(address) + 8});
+    }
+
+    private String readTitle(long address) {
+        ByteBuffer chunk = chunks.get(chunkOf(address));
+        int[] cursor = {offsetOf(address) + 8};
+        getString(chunk, cursor);
+        return getString(chunk, cursor);
+    }
+
+    private static int putString(ByteBuffer chunk, int position, byte[] value) {
+        if (value == null) {
+            chunk.putInt(position, -1);
+            return position + Integer.BYTES;
+        }
+        chunk.putInt(position, value.length);
+        chunk.put(position + Integer.BYTES, value);
+        return position + Integer.BYTES + value.length;
+    }
+
+    private static String getString(ByteBuffer chunk, int[] cursor) {
+        int length = chunk.getInt(cursor[0]);
+        cursor[0] += Integer.BYTES;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        chunk.get(cursor[0], bytes);
+        cursor[0] += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hashOf(String key) {
+        int h = key.toLowerCase(Locale.ROOT).hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int chunkOf(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offsetOf(long address) {
+        return (int) address;
+    }
+
+    /**
+     * Table de hachage primitive à adressage ouvert (sondage linéaire) : hash → adresse.
+     * Les clés ne sont pas stockées ; l'égalité est vérifiée en relisant l'enregistrement.
+     */
+    private static final class AddressTable {
+        private int[] hashes;
+        private long[] values;
+        private int count;
+
+        AddressTable() {
+            clear();
+        }
+
+        void clear() {
+            hashes = new int[1024];
+            values = new long[1024];
+            Arrays.fill(values, -1L);
+            count = 0;
+        }
+
+        void put(int hash, long address) {
+            if ((count + 1) * 2 > values.length) {
+                grow();
+            }
+            insert(hash, address);
+            count++;
+        }
+
+        long find(int hash, LongPredicate matches) {
+            int mask = values.length - 1;
+            for (int slot = hash & mask; values[slot] >= 0; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && matches.test(values[slot])) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        private void insert(int hash, long address) {
+            int mask = values.length - 1;
+            int slot = hash & mask;
+            while (values[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            values[slot] = address;
+        }
+
+        private void grow() {
+            int[] oldHashes = hashes;
+            long[] oldValues = values;
+            hashes = new int[oldValues.length * 2];
+            values = new long[oldValues.length * 2];
+            Arrays.fill(values, -1L);
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] >= 0) {
+                    insert(oldHashes[i], oldValues[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import org.helmo.planclap_admin.domains.Movie;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Chargement parallèle de movies.json pour les gros catalogues.
+ *
+ * <p>Le fichier est projeté en mémoire puis pré-analysé par {@link MovieJsonScanner},
+ * qui repère les bornes de chaque film du tableau {@code "movies"}. Les films sont ensuite
+ * décodés indépendamment, par tranches, sur un {@link ForkJoinPool} ; chaque tranche écrit
+ * ses films à leur position, ce qui conserve l'ordre du fichier sans étape de fusion.</p>
+ */
+final class ParallelMovieLoader {
+
+    /** Taille de fichier à partir de laquelle le chargement parallèle est utilisé. */
+    static final long MIN_FILE_SIZE = 4L * 1024 * 1024;
+    /** Nombre de films en dessous duquel une tranche est décodée sans être redécoupée. */
+    private static final int SEQUENTIAL_THRESHOLD = 512;
+
+    /**
+     * Résultat d'un chargement : la version du catalogue, les films dans l'ordre du fichier
+     * et leurs bornes (réutilisées pour construire l'index des slugs).
+     */
+    record Result(long version, List<Movie> movies, long[] ranges) {
+    }
+
+    private ParallelMovieLoader() {
+    }
+
+    /**
+     * @param jsonFile le fichier movies.json
+     * @return true si le fichier est assez gros et la machine a plusieurs cœurs
+     */
+    static boolean isWorthwhile(File jsonFile) {
+        return jsonFile.length() >= MIN_FILE_SIZE && Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    /**
+     * Charge movies.json en décodant les films en parallèle.
+     *
+     * @param jsonFile le fichier movies.json
+     * @param resources les ressources communes aux catalogues (réservoir de chaînes)
+     * @param pool le pool sur lequel les films sont décodés
+     * @return le résultat, ou null si la structure du fichier n'a pas pu être analysée
+     * @throws IOException si le fichier ne peut pas être lu ou si un film est invalide
+     */
+    static Result load(File jsonFile, CatalogResources resources, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(jsonFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long[] ranges = MovieJsonScanner.scanMovieRanges(content);
+            if (ranges == null) {
+                return null;
+            }
+
+            // La version est écrite avant le tableau : seul l'en-tête est relu
+            int headerEnd = ranges.length == 0 ? content.limit() : (int) ranges[0];
+            long version;
+            try (MovieJsonReader header = new MovieJsonReader(new StringReader(decode(content, 0, headerEnd)))) {
+                version = header.readVersion();
+            }
+
+            Movie[] movies = new Movie[ranges.length / 2];
+            try {
+                pool.invoke(new DecodeTask(content, ranges, movies, 0, movies.length, resources));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return new Result(version, Arrays.asList(movies), ranges);
+        }
+    }
+
+    private static String decode(ByteBuffer content, int start, int end) {
+        return StandardCharsets.UTF_8.decode(content.slice(start, end - start)).toString();
+    }
+
+    /**
+     * Décode les films [from, to) ; au-delà du seuil, la tranche est coupée en deux.
+     * Les tâches ne vivent que le temps d'un chargement et ne sont jamais sérialisées.
+     */
+    @SuppressWarnings("serial")
+    private static final class DecodeTask extends RecursiveAction {
+
+        private final ByteBuffer content;
+        private final long[] ranges;
+        private final Movie[] movies;
+        private final int from;
+        private final int to;
+        private final CatalogResources resources;
+
+        DecodeTask(ByteBuffer content, long[] ranges, Movie[] movies, int from, int to, CatalogResources resources) {
+            this.content = content;
+            this.ranges = ranges;
+            this.movies = movies;
+            this.from = from;
+            this.to = to;
+            this.resources = resources;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                decodeRange();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new DecodeTask(content, ranges, movies, from, middle, resources),
+                    new DecodeTask(content, ranges, movies, middle, to, resources));
+        }
+
+        /**
+         * Décode la tranche d'un seul tenant : les films et leurs séparateurs forment
+         * un tableau JSON valide, lu avec un seul lecteur.
+         */
+        private void decodeRange() {
+            String json = decode(content, (int) ranges[2 * from], (int) ranges[2 * to - 1]);
+            try (MovieJsonReader reader = new MovieJsonReader(
+                    new StringReader("{\"movies\":[" + json + "]}"), new StringPool(resources))) {
+                for (int i = from; i < to; i++) {
+                    movies[i] = reader.next();
+                    if (movies[i] == null) {
+                        throw new IOException("Film manquant à la position " + i);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
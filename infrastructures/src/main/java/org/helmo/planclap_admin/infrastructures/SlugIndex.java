@@ -0,0 +1,354 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import org.helmo.planclap_admin.domains.LevenshteinCalculator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Index des slugs stocké dans un fichier annexe ({@code movies.idx}) à côté de {@code movies.json}.
+ *
+ * <p>L'index contient une table de hachage (adressage ouvert) des slugs et un regroupement
+ * des slugs par longueur pour la recherche tolérante. Pour chaque film, il retient sa position
+ * dans le catalogue ainsi que les bornes de son objet JSON dans le fichier.</p>
+ *
+ * <p>Le fichier est projeté en mémoire au démarrage : les recherches lisent directement
+ * dans la projection, sans reconstruire quoi que ce soit. L'index est lié au contenu de
+ * {@code movies.json} par une somme de contrôle CRC32 ; s'il ne correspond plus, il doit
+ * être reconstruit.</p>
+ *
+ * <p>Format (version 1) :
+ * <pre>
+ * en-tête   : magic, version, checksum, taille json, date json, nb films, taille table, longueur max
+ * table     : tailleTable × int (position d'une entrée ou -1)
+ * longueurs : (longueurMax + 2) × int, puis nbFilms × int (entrées triées par longueur de slug)
+ * entrées   : index film, début json, longueur json, longueur slug (octets), slug UTF-8
+ * </pre></p>
+ */
+final class SlugIndex {
+
+    static final int MAGIC = 0x50434958; // "PCIX"
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 44;
+    private static final int OFFSET_CHECKSUM = 8;
+    private static final int OFFSET_JSON_LENGTH = 16;
+    private static final int OFFSET_JSON_MODIFIED = 24;
+    private static final int OFFSET_COUNT = 32;
+    private static final int OFFSET_TABLE_SIZE = 36;
+    private static final int OFFSET_MAX_LENGTH = 40;
+
+    private final ByteBuffer buffer;
+    private final int tableSize;
+    private final int maxLength;
+    private final int bucketsStart;
+    private final int orderStart;
+    // Dernier verdict de la somme de contrôle, pour la taille et la date de movies.json observées
+    private volatile Verdict verdict;
+
+    /**
+     * Résultat d'une vérification par somme de contrôle, valable tant que movies.json garde
+     * la taille et la date observées.
+     */
+    private record Verdict(long jsonLength, long jsonModified, boolean matches) {
+    }
+
+    private SlugIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.tableSize = buffer.getInt(OFFSET_TABLE_SIZE);
+        this.maxLength = buffer.getInt(OFFSET_MAX_LENGTH);
+        this.bucketsStart = HEADER_SIZE + tableSize * Integer.BYTES;
+        this.orderStart = bucketsStart + (maxLength + 2) * Integer.BYTES;
+    }
+
+    /**
+     * Construit un index en mémoire.
+     *
+     * @param slugs les slugs des films, dans l'ordre du catalogue (les slugs null sont ignorés)
+     * @param ranges les bornes JSON de chaque film ({début, fin} par film)
+     * @param checksum la somme de contrôle du fichier JSON indexé
+     * @param jsonLength la taille du fichier JSON indexé
+     * @param jsonModified la date de modification du fichier JSON indexé
+     * @return l'index construit
+     */
+    static SlugIndex build(List<String> slugs, long[] ranges, long checksum, long jsonLength, long jsonModified) {
+        List<Integer> indexed = new ArrayList<>();
+        List<byte[]> encoded = new ArrayList<>();
+        int maxLength = 0;
+        int entriesSize = 0;
+        for (int i = 0; i < slugs.size(); i++) {
+            String slug = slugs.get(i);
+            if (slug == null) {
+                continue;
+            }
+            String key = normalize(slug);
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            indexed.add(i);
+            encoded.add(bytes);
+            maxLength = Math.max(maxLength, key.length());
+            entriesSize += Integer.BYTES + Long.BYTES + Integer.BYTES + Short.BYTES + bytes.length;
+        }
+
+        int count = indexed.size();
+        int tableSize = 16;
+        while (tableSize < count * 2) {
+            tableSize <<= 1;
+        }
+
+        int bucketsStart = HEADER_SIZE + tableSize * Integer.BYTES;
+        int orderStart = bucketsStart + (maxLength + 2) * Integer.BYTES;
+        int entriesStart = orderStart + count * Integer.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate(entriesStart + entriesSize);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(OFFSET_CHECKSUM, checksum);
+        buffer.putLong(OFFSET_JSON_LENGTH, jsonLength);
+        buffer.putLong(OFFSET_JSON_MODIFIED, jsonModified);
+        buffer.putInt(OFFSET_COUNT, count);
+        buffer.putInt(OFFSET_TABLE_SIZE, tableSize);
+        buffer.putInt(OFFSET_MAX_LENGTH, maxLength);
+        for (int i = 0; i < tableSize; i++) {
+            buffer.putInt(HEADER_SIZE + i * Integer.BYTES, -1);
+        }
+
+        // Écriture des entrées et insertion dans la table de hachage
+        int[] entryOffsets = new int[count];
+        int[] lengthCounts = new int[maxLength + 2];
+        int position = entriesStart;
+        for (int n = 0; n < count; n++) {
+            int movieIndex = indexed.get(n);
+            byte[] bytes = encoded.get(n);
+            entryOffsets[n] = position;
+            buffer.putInt(position, movieIndex);
+            buffer.putLong(position + 4, ranges[movieIndex * 2]);
+            buffer.putInt(position + 12, (int) (ranges[movieIndex * 2 + 1] - ranges[movieIndex * 2]));
+            buffer.putShort(position + 16, (short) bytes.length);
+            buffer.put(position + 18, bytes);
+            position += 18 + bytes.length;
+
+            String key = new String(bytes, StandardCharsets.UTF_8);
+            lengthCounts[key.length() + 1]++;
+            int slot = slotOf(key, tableSize);
+            while (buffer.getInt(HEADER_SIZE + slot * Integer.BYTES) != -1) {
+                slot = (slot + 1) & (tableSize - 1);
+            }
+            buffer.putInt(HEADER_SIZE + slot * Integer.BYTES, entryOffsets[n]);
+        }
+
+        // Regroupement par longueur (tri par comptage, stable : l'ordre du catalogue est conservé)
+        for (int len = 1; len < lengthCounts.length; len++) {
+            lengthCounts[len] += lengthCounts[len - 1];
+        }
+        for (int len = 0; len < lengthCounts.length; len++) {
+            buffer.putInt(bucketsStart + len * Integer.BYTES, lengthCounts[len]);
+        }
+        int[] cursor = lengthCounts.clone();
+        for (int n = 0; n < count; n++) {
+            int len = new String(encoded.get(n), StandardCharsets.UTF_8).length();
+            buffer.putInt(orderStart + cursor[len]++ * Integer.BYTES, entryOffsets[n]);
+        }
+
+        return new SlugIndex(buffer);
+    }
+
+    /**
+     * Projette en mémoire un index existant.
+     *
+     * @param file le fichier d'index
+     * @return l'index, ou null si le fichier est absent, illisible ou d'une autre version
+     */
+    static SlugIndex open(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                return null;
+            }
+            return new SlugIndex(mapped);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Écrit l'index dans un fichier. Le contenu est écrit à côté puis renommé : un index
+     * projeté en mémoire au même moment (par ce processus ou un autre) garde l'ancien fichier,
+     * dont l'en-tête correspond toujours à ses positions.
+     *
+     * @param file le fichier de destination
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    void write(File file) throws IOException {
+        // Nom temporaire unique : deux processus peuvent reconstruire l'index en même temps
+        Path tmpFile = Files.createTempFile(file.getAbsoluteFile().getParentFile().toPath(), file.getName(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.WRITE)) {
+                ByteBuffer content = buffer.duplicate();
+                content.clear();
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+            }
+            Files.move(tmpFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Vérifie que l'index correspond toujours au fichier JSON.
+     * La taille et la date de modification suffisent dans le cas courant ;
+     * sinon la somme de contrôle est recalculée, une seule fois tant que le fichier garde
+     * la même taille et la même date (après un {@code touch} ou une copie, par exemple).
+     *
+     * @param jsonFile le fichier movies.json
+     * @return true si l'index décrit le contenu actuel du fichier
+     */
+    boolean matches(File jsonFile) {
+        long length = jsonFile.length();
+        long modified = jsonFile.lastModified();
+        if (length == buffer.getLong(OFFSET_JSON_LENGTH) && modified == buffer.getLong(OFFSET_JSON_MODIFIED)) {
+            return true;
+        }
+        Verdict known = verdict;
+        if (known != null && known.jsonLength() == length && known.jsonModified() == modified) {
+            return known.matches();
+        }
+        boolean matches;
+        try {
+            matches = checksum(jsonFile) == buffer.getLong(OFFSET_CHECKSUM);
+        } catch (IOException e) {
+            return false;
+        }
+        // Le fichier a pu changer pendant le calcul : le verdict n'est retenu que s'il n'a pas bougé
+        if (jsonFile.length() == length && jsonFile.lastModified() == modified) {
+            verdict = new Verdict(length, modified, matches);
+        }
+        return matches;
+    }
+
+    /**
+     * Recherche exacte d'un slug (insensible à la casse).
+     *
+     * @param slug le slug recherché
+     * @return la position de l'entrée trouvée, ou -1
+     */
+    int find(String slug) {
+        String key = normalize(slug);
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int slot = slotOf(key, tableSize);
+        int entry;
+        while ((entry = buffer.getInt(HEADER_SIZE + slot * Integer.BYTES)) != -1) {
+            if (sameSlug(entry, bytes)) {
+                return entry;
+            }
+            slot = (slot + 1) & (tableSize - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Recherche le slug le plus proche au sens de Levenshtein.
+     * Seuls les slugs dont la longueur diffère d'au plus {@code maxDistance} sont comparés.
+     * À distance égale, le premier film du catalogue l'emporte.
+     *
+     * @param slug le slug recherché
+     * @param maxDistance la distance maximale acceptée
+     * @return la position de l'entrée la plus proche, ou -1
+     */
+    int findClosest(String slug, int maxDistance) {
+        String key = normalize(slug);
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int from = Math.max(0, key.length() - maxDistance);
+        int to = Math.min(maxLength, key.length() + maxDistance);
+        for (int len = from; len <= to; len++) {
+            int start = buffer.getInt(bucketsStart + len * Integer.BYTES);
+            int end = buffer.getInt(bucketsStart + (len + 1) * Integer.BYTES);
+            for (int i = start; i < end; i++) {
+                int entry = buffer.getInt(orderStart + i * Integer.BYTES);
+                int distance = LevenshteinCalculator.calculate(key, slugAt(entry));
+                if (distance <= maxDistance && (distance < bestDistance
+                        || distance == bestDistance && movieIndex(entry) < movieIndex(best))) {
+                    best = entry;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    int movieIndex(int entry) {
+        return buffer.getInt(entry);
+    }
+
+    long jsonOffset(int entry) {
+        return buffer.getLong(entry + 4);
+    }
+
+    int jsonLength(int entry) {
+        return buffer.getInt(entry + 12);
+    }
+
+    String slugAt(int entry) {
+        byte[] bytes = new byte[buffer.getShort(entry + 16)];
+        buffer.get(entry + 18, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Calcule la somme de contrôle CRC32 d'un fichier.
+     *
+     * @param file le fichier
+     * @return la somme de contrôle
+     * @throws IOException en cas d'erreur de lecture
+     */
+    static long checksum(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            CRC32 crc = new CRC32();
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            return crc.getValue();
+        }
+    }
+
+    // --- Méthodes internes ---
+
+    private boolean sameSlug(int entry, byte[] bytes) {
+        if (buffer.getShort(entry + 16) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(entry + 18 + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int slotOf(String key, int tableSize) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (tableSize - 1);
+    }
+
+    private static String normalize(String slug) {
+        return slug.toLowerCase(Locale.ROOT);
+    }
+}
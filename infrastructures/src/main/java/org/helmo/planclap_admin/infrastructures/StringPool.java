@@ -0,0 +1,83 @@
+package org.helmo.planclap_admin.infrastructures;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Réservoir de chaînes utilisé le temps d'un chargement du catalogue.
+ *
+ * <p>Les libellés Cinecheck ("AL", "12", "Violence", "Peur", ...) et les URL de posters
+ * se répètent d'un film à l'autre. Chaque valeur lue est remplacée par une instance
+ * canonique : les films chargés partagent alors la même chaîne au lieu d'en garder
+ * chacun une copie. Contrairement à {@link String#intern()}, le réservoir est libéré
+ * avec le chargement.</p>
+ *
+ * <p>Un réservoir peut s'appuyer sur les {@link CatalogResources} communes à plusieurs
+ * catalogues : chaque nouvelle valeur y est alors remplacée par l'instance déjà lue
+ * dans un autre catalogue, et les chaînes propres à chaque film (slug, titre, description)
+ * y sont aussi partagées via {@link #shared(String)}.</p>
+ */
+final class StringPool {
+
+    private final Map<String, String> values = new HashMap<>();
+    private final CatalogResources resources;
+    private int lookups;
+
+    /**
+     * Construit un réservoir propre au chargement, sans partage entre catalogues.
+     */
+    StringPool() {
+        this(null);
+    }
+
+    /**
+     * @param resources les ressources communes aux catalogues (peut être null)
+     */
+    StringPool(CatalogResources resources) {
+        this.resources = resources;
+    }
+
+    /**
+     * Retourne l'instance canonique de la chaîne.
+     *
+     * @param value la chaîne lue (peut être null)
+     * @return la chaîne canonique égale à {@code value}, ou null
+     */
+    String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        lookups++;
+        String existing = values.get(value);
+        if (existing == null) {
+            existing = shared(value);
+            values.put(existing, existing);
+        }
+        return existing;
+    }
+
+    /**
+     * Retourne l'instance commune aux catalogues d'une chaîne propre à un film,
+     * sans la retenir dans le réservoir du chargement.
+     *
+     * @param value la chaîne lue (peut être null)
+     * @return la chaîne commune, ou {@code value} sans ressources communes
+     */
+    String shared(String value) {
+        return resources == null ? value : resources.canonical(value);
+    }
+
+    /**
+     * @return le nombre de chaînes passées par le réservoir
+     */
+    int lookups() {
+        return lookups;
+    }
+
+    /**
+     * @return le nombre de chaînes distinctes conservées
+     */
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,94 @@
+package infrastructures.json;
+
+import org.helmo.planclap_admin.domains.CatalogDiffSummary;
+import org.helmo.planclap_admin.domains.Movie;
+import org.helmo.planclap_admin.domains.MovieChange;
+import org.helmo.planclap_admin.infrastructures.CatalogDiff;
+import org.helmo.planclap_admin.infrastructures.JsonMovieRepository;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogDiffTest {
+
+    private Path tempDir;
+    private File staging;
+    private File production;
+    private File runs;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("planclap_test_");
+        staging = Files.createDirectory(tempDir.resolve("staging")).toFile();
+        production = Files.createDirectory(tempDir.resolve("production")).toFile();
+        runs = Files.createDirectory(tempDir.resolve("runs")).toFile();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.walk(tempDir)
+                .sorted(Comparator.reverseOrder())
+                .map(Path::toFile)
+                .forEach(File::delete);
+    }
+
+    @Test
+    @DisplayName("Les ajouts, retraits et modifications sont trouvés par ordre de slug, même avec des séquences de tri sur disque")
+    void testDiffWithExternalSortRuns() {
+        new JsonMovieRepository(staging).saveMovies(List.of(
+                createTestMovie("Vaiana 2", 100), createTestMovie("Dune", 170), createTestMovie("Alien", 117)));
+        new JsonMovieRepository(production).saveMovies(List.of(
+                createTestMovie("Rocky", 119), createTestMovie("Dune", 166), createTestMovie("Alien", 117)));
+
+        List<String> changes = new ArrayList<>();
+        // Une séquence de 2 films oblige à trier chaque catalogue en plusieurs fichiers
+        CatalogDiffSummary summary = assertDoesNotThrow(() ->
+                new CatalogDiff(2, runs).diff(staging, production, change -> changes.add(change.toString())));
+
+        assertEquals(List.of("CHANGED dune", "REMOVED rocky", "ADDED vaiana-2"), changes);
+        assertEquals(new CatalogDiffSummary(1, 1, 1, 0), summary);
+        assertEquals(0, Objects.requireNonNull(runs.list()).length, "Les séquences de tri doivent être supprimées");
+    }
+
+    @Test
+    @DisplayName("La fusion applique les ajouts et modifications de la source sans retirer les films de la cible")
+    void testMergeKeepsTargetOnlyMovies() {
+        new JsonMovieRepository(staging).saveMovies(List.of(createTestMovie("Vaiana 2", 100), createTestMovie("Dune", 170)));
+        JsonMovieRepository target = new JsonMovieRepository(production);
+        target.saveMovies(List.of(createTestMovie("Rocky", 119), createTestMovie("Dune", 166)));
+
+        CatalogDiffSummary summary = target.mergeFrom(staging, new CatalogDiff(2, runs));
+
+        assertEquals(0, summary.rejected());
+        List<Movie> merged = new JsonMovieRepository(production).loadMovies();
+        assertEquals(List.of("rocky", "dune", "vaiana-2"), merged.stream().map(Movie::getSlug).toList());
+        assertEquals(170, merged.get(1).getDuration());
+        assertFalse(MovieChange.sameContent(createTestMovie("Dune", 166), merged.get(1)));
+    }
+
+    @Test
+    @DisplayName("La fusion rejette les films qui porteraient la cible à 77 heures, sur le catalogue à jour")
+    void testMergeRejectsMoviesOverWeeklyCap() {
+        new JsonMovieRepository(staging).saveMovies(List.of(
+                createTestMovie("Alien", 120), new Movie("Heat", 170, null, null, List.of("AL"), 2)));
+        JsonMovieRepository target = new JsonMovieRepository(production);
+        target.saveMovies(List.of(new Movie("Dune", 150, null, null, List.of("AL"), 28)));
+        // Ajout fait par un autre processus : la cible n'en a pas encore connaissance
+        new JsonMovieRepository(production).addMovie(new Movie("Rocky", 60, null, null, List.of("AL"), 4));
+
+        CatalogDiffSummary summary = target.mergeFrom(staging, new CatalogDiff(2, runs));
+
+        // 70 h + 4 h de Rocky + 2 h d'Alien : Heat (5 h 40) ne tient plus
+        assertEquals(1, summary.rejected());
+        assertEquals(List.of("dune", "rocky", "alien"),
+                new JsonMovieRepository(production).loadMovies().stream().map(Movie::getSlug).toList());
+    }
+
+    private static Movie createTestMovie(String title, int duration) {
+        return new Movie(title, duration, "https://example.com/poster.jpg", "Description de test", List.of("AL"), 1);
+    }
+}
@@ -0,0 +1,244 @@
+package infrastructures.json;
+
+import org.helmo.planclap_admin.domains.CatalogListener;
+import org.helmo.planclap_admin.domains.Movie;
+import org.helmo.planclap_admin.infrastructures.JsonMovieRepository;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonMovieRepositoryConcurrencyTest {
+
+    private static final int INITIAL_MOVIES = 500;
+    private static final int ADDED_MOVIES = 50;
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("planclap_concurrency_");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.walk(tempDir)
+                .sorted(Comparator.reverseOrder())
+                .map(Path::toFile)
+                .forEach(File::delete);
+    }
+
+    @Test
+    @DisplayName("Les lectures restent cohérentes pendant qu'un écrivain ajoute des films")
+    void testReadersStayConsistentWhileWriterIsActive() throws Exception {
+        JsonMovieRepository repo = new JsonMovieRepository(tempDir.toFile());
+        List<Movie> initial = new ArrayList<>();
+        for (int i = 0; i < INITIAL_MOVIES; i++) {
+            initial.add(createTestMovie("Film initial " + i));
+        }
+        repo.saveMovies(initial);
+
+        // Seule la cohérence est vérifiée : le débit des lectures dépend de la machine et n'est pas mesuré
+        int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+        assertTrue(runReaders(repo, cores) > 0);
+        assertEquals(INITIAL_MOVIES + ADDED_MOVIES, repo.loadMovies().size());
+    }
+
+    @Test
+    @DisplayName("Les lectures ne sont pas bloquées pendant qu'un écrivain tient le verrou")
+    void testReadsProceedWhileWriterHoldsLock() throws Exception {
+        JsonMovieRepository repo = new JsonMovieRepository(tempDir.toFile());
+        repo.saveMovies(List.of(createTestMovie("Dune")));
+        WriterGate gate = blockWriterOnNextAdd(repo);
+
+        // L'écrivain est retenu dans la notification de l'ajout, verrou des écrivains tenu
+        CompletableFuture<Void> writing = repo.addMovieAsync(createTestMovie("Rocky"));
+        assertTrue(gate.entered().await(30, TimeUnit.SECONDS));
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> exists = readers.submit(() -> repo.existsBySlug("dune"));
+            Future<Integer> size = readers.submit(() -> repo.loadMovies().size());
+
+            assertTrue(exists.get(5, TimeUnit.SECONDS));
+            assertTrue(size.get(5, TimeUnit.SECONDS) >= 1);
+            assertFalse(writing.isDone());
+        } finally {
+            gate.release().countDown();
+            readers.shutdown();
+        }
+        writing.get(30, TimeUnit.SECONDS);
+        assertTrue(repo.existsBySlug("rocky"));
+    }
+
+    @Test
+    @DisplayName("Les ajouts concurrents sont regroupés en une seule écriture et une seule version")
+    void testConcurrentAddsShareOneWrite() throws Exception {
+        JsonMovieRepository repo = new JsonMovieRepository(tempDir.toFile());
+        repo.saveMovies(List.of(createTestMovie("Film initial")));
+        WriterGate gate = blockWriterOnNextAdd(repo);
+        long before = repo.snapshot().version();
+
+        // Le premier ajout occupe le thread d'écriture : les suivants s'accumulent dans la file
+        CompletableFuture<Void> first = repo.addMovieAsync(createTestMovie("Film bloquant"));
+        assertTrue(gate.entered().await(30, TimeUnit.SECONDS));
+        List<CompletableFuture<Void>> batch = new ArrayList<>();
+        for (int i = 0; i < ADDED_MOVIES; i++) {
+            batch.add(repo.addMovieAsync(createTestMovie("Film groupe " + i)));
+        }
+        gate.release().countDown();
+        first.get(30, TimeUnit.SECONDS);
+        CompletableFuture.allOf(batch.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        // Une écriture pour le film bloquant, une seule pour tout le lot
+        assertEquals(before + 2, repo.snapshot().version());
+        JsonMovieRepository reloaded = new JsonMovieRepository(tempDir.toFile());
+        assertEquals(before + 2, reloaded.snapshot().version());
+        assertEquals(2 + ADDED_MOVIES, reloaded.loadMovies().size());
+    }
+
+    @Test
+    @DisplayName("Dans un lot, seule la demande en conflit échoue ; les autres sont écrites")
+    void testConflictFailsOnlyItsRequest() throws Exception {
+        JsonMovieRepository repo = new JsonMovieRepository(tempDir.toFile());
+        repo.saveMovies(List.of(createTestMovie("Dune")));
+        WriterGate gate = blockWriterOnNextAdd(repo);
+        long before = repo.snapshot().version();
+
+        CompletableFuture<Void> first = repo.addMovieAsync(createTestMovie("Film bloquant"));
+        assertTrue(gate.entered().await(30, TimeUnit.SECONDS));
+        CompletableFuture<Void> rocky = repo.addMovieAsync(createTestMovie("Rocky"));
+        CompletableFuture<Void> duplicate = repo.addMovieAsync(createTestMovie("DUNE"));
+        CompletableFuture<Void> alien = repo.addMovieAsync(createTestMovie("Alien"));
+        gate.release().countDown();
+        first.get(30, TimeUnit.SECONDS);
+
+        ExecutionException conflict = assertThrows(ExecutionException.class,
+                () -> duplicate.get(30, TimeUnit.SECONDS));
+        assertInstanceOfIllegalArgument(conflict.getCause());
+        rocky.get(30, TimeUnit.SECONDS);
+        alien.get(30, TimeUnit.SECONDS);
+        assertEquals(before + 2, repo.snapshot().version());
+        assertEquals(List.of("dune", "film-bloquant", "rocky", "alien"),
+                new JsonMovieRepository(tempDir.toFile()).loadMovies().stream().map(Movie::getSlug).toList());
+    }
+
+    @Test
+    @DisplayName("Dans un lot, l'ajout qui dépasserait les 77 heures échoue seul")
+    void testWeeklyCapFailsOnlyItsRequest() throws Exception {
+        JsonMovieRepository repo = new JsonMovieRepository(tempDir.toFile());
+        repo.saveMovies(List.of(new Movie("Dune", 150, null, null, List.of("AL"), 28)));
+        WriterGate gate = blockWriterOnNextAdd(repo);
+
+        // 70 h planifiées : chaque ajout de 4 h tient seul, pas les deux
+        CompletableFuture<Void> first = repo.addMovieAsync(createTestMovie("Film bloquant"));
+        assertTrue(gate.entered().await(30, TimeUnit.SECONDS));
+        CompletableFuture<Void> rocky = repo.addMovieAsync(new Movie("Rocky", 120, null, null, List.of("AL"), 2));
+        CompletableFuture<Void> alien = repo.addMovieAsync(new Movie("Alien", 120, null, null, List.of("AL"), 2));
+        gate.release().countDown();
+        first.get(30, TimeUnit.SECONDS);
+
+        rocky.get(30, TimeUnit.SECONDS);
+        ExecutionException overCap = assertThrows(ExecutionException.class, () -> alien.get(30, TimeUnit.SECONDS));
+        assertInstanceOfIllegalArgument(overCap.getCause());
+        assertEquals(List.of("dune", "film-bloquant", "rocky"),
+                new JsonMovieRepository(tempDir.toFile()).loadMovies().stream().map(Movie::getSlug).toList());
+    }
+
+    /**
+     * Thread d'écriture retenu dans une notification : {@code entered} est relâché quand il y entre,
+     * il en sort quand {@code release} est relâché.
+     */
+    private record WriterGate(CountDownLatch entered, CountDownLatch release) {
+    }
+
+    /**
+     * Bloque le thread d'écriture dans la notification du prochain ajout :
+     * les observateurs synchrones sont notifiés depuis ce thread.
+     */
+    private static WriterGate blockWriterOnNextAdd(JsonMovieRepository repo) {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean blocked = new AtomicBoolean();
+        repo.addListener(new CatalogListener() {
+            @Override
+            public void onMovieAdded(Movie movie) {
+                if (blocked.compareAndSet(false, true)) {
+                    entered.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        return new WriterGate(entered, release);
+    }
+
+    private static void assertInstanceOfIllegalArgument(Throwable cause) {
+        assertTrue(cause instanceof IllegalArgumentException, "Conflit attendu, obtenu : " + cause);
+    }
+
+    /**
+     * Lance des lecteurs pendant qu'un écrivain ajoute des films et compte les lectures.
+     * Chaque lecteur vérifie que le catalogue ne rétrécit jamais et que les films initiaux
+     * restent trouvables. L'écrivain attend que chaque lecteur ait fait une première lecture,
+     * et les lecteurs s'arrêtent quand il a fini : les lectures couvrent toute l'écriture,
+     * quelle que soit la vitesse de la machine. Le passage à l'échelle n'est pas vérifié.
+     */
+    private long runReaders(JsonMovieRepository repo, int readers) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(readers + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        CountDownLatch started = new CountDownLatch(readers);
+        int offset = repo.loadMovies().size();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int r = 0; r < readers; r++) {
+            int seed = r;
+            futures.add(pool.submit(() -> {
+                int lastSize = 0;
+                int i = seed;
+                while (running.get()) {
+                    int size = repo.loadMovies().size();
+                    assertTrue(size >= lastSize, "Le catalogue ne doit jamais rétrécir");
+                    lastSize = size;
+                    assertTrue(repo.existsBySlug("film-initial-" + (i % INITIAL_MOVIES)));
+                    assertTrue(repo.findByTitleOrSlug("film initial " + (i % INITIAL_MOVIES)).isPresent());
+                    reads.incrementAndGet();
+                    started.countDown();
+                    i++;
+                }
+                return null;
+            }));
+        }
+        Future<?> writer = pool.submit(() -> {
+            assertTrue(started.await(30, TimeUnit.SECONDS), "Les lecteurs doivent démarrer");
+            for (int i = 0; i < ADDED_MOVIES; i++) {
+                repo.addMovie(createTestMovie("Film ajoute " + (offset + i)));
+            }
+            return null;
+        });
+
+        try {
+            writer.get(60, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        return reads.get();
+    }
+
+    private static Movie createTestMovie(String title) {
+        // Films courts : le catalogue des tests reste sous les 77 heures
+        return new Movie(title, 5, "https://example.com/poster.jpg", "Description de test", List.of("AL"), 1);
+    }
+}
@@ -1,5 +1,6 @@
 package infrastructures.json;
 
+import org.helmo.planclap_admin.domains.CatalogView;
 import org.helmo.planclap_admin.domains.Movie;
 import org.helmo.planclap_admin.infrastructures.JsonMovieRepository;
 import org.junit.jupiter.api.*;
@@ -89,4 +90,89 @@ class JsonMovieRepositoryTest {
             new JsonMovieRepository(invalidDir).loadMovies();
         });
     }
+
+    @Test
+    @DisplayName("Après une sauvegarde, l'index annexe est écrit et réutilisé par un nouveau repository")
+    void testIndexSidecarWrittenOnSave() {
+        JsonMovieRepository repo = new JsonMovieRepository(tempDir.toFile());
+        repo.saveMovies(List.of(
+                new Movie("Godzilla vs Kong", 113, "https://example.com/g.jpg", "Desc", List.of("12"), 3),
+                new Movie("Kung Fu Panda 4", 94, "https://example.com/k.jpg", "Desc", List.of("AL"), 2)
+        ));
+
+        assertTrue(new File(tempDir.toFile(), "movies.idx").exists(), "L'index movies.idx devrait avoir été écrit");
+
+        JsonMovieRepository reopened = new JsonMovieRepository(tempDir.toFile());
+        assertTrue(reopened.existsBySlug("kung-fu-panda-4"));
+        assertEquals("godzilla-vs-kong", reopened.findByTitleOrSlug("godzilla x kong").orElseThrow().getSlug());
+    }
+
+    @Test
+    @DisplayName("Un movies.json touché sans changer de contenu garde son index annexe")
+    void testTouchedFileKeepsIndex() {
+        new JsonMovieRepository(tempDir.toFile()).saveMovies(List.of(
+                new Movie("Godzilla vs Kong", 113, "https://example.com/g.jpg", "Desc", List.of("12"), 3),
+                new Movie("Kung Fu Panda 4", 94, "https://example.com/k.jpg", "Desc", List.of("AL"), 2)));
+        File json = new File(tempDir.toFile(), "movies.json");
+        assertTrue(json.setLastModified(json.lastModified() - 60_000));
+
+        JsonMovieRepository reopened = new JsonMovieRepository(tempDir.toFile());
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(reopened.existsBySlug("kung-fu-panda-4"));
+            assertEquals("godzilla-vs-kong", reopened.findByTitleOrSlug("godzilla x kong").orElseThrow().getSlug());
+        }
+        assertFalse(reopened.existsBySlug("rocky"));
+    }
+
+    @Test
+    @DisplayName("Si movies.json est modifié hors de l'application, l'index est reconstruit")
+    void testStaleIndexIsRebuilt() throws IOException {
+        JsonMovieRepository repo = new JsonMovieRepository(tempDir.toFile());
+        repo.saveMovies(List.of(new Movie("Vaiana 2", 100, "https://example.com/v.jpg", "Desc", List.of("AL"), 5)));
+
+        Files.writeString(new File(tempDir.toFile(), "movies.json").toPath(), """
+                {"movies": [{"slug": "rocky", "title": "Rocky", "duration": 119, "seances": 2}]}
+                """);
+
+        assertFalse(repo.existsBySlug("vaiana-2"));
+        assertEquals("Rocky", repo.findByTitleOrSlug("rocky").orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Deux instances sur le même répertoire ne perdent aucun ajout de l'autre")
+    void testConcurrentInstancesKeepEachOthersAdds() {
+        JsonMovieRepository first = new JsonMovieRepository(tempDir.toFile());
+        JsonMovieRepository second = new JsonMovieRepository(tempDir.toFile());
+        first.loadMovies();
+        second.loadMovies();
+
+        first.addMovie(new Movie("Dune", 166, "https://example.com/d.jpg", "Desc", List.of("12"), 2));
+        second.addMovie(new Movie("Vaiana 2", 100, "https://example.com/v.jpg", "Desc", List.of("AL"), 5));
+
+        assertEquals(2, new JsonMovieRepository(tempDir.toFile()).loadMovies().size());
+        assertThrows(IllegalArgumentException.class, () ->
+                second.addMovie(new Movie("Dune", 166, "https://example.com/d.jpg", "Desc", List.of("12"), 1)));
+    }
+
+    @Test
+    @DisplayName("Deux opérateurs validés chacun sur leur vue ne dépassent pas ensemble les 77 heures")
+    void testWeeklyCapCheckedAtCommit() {
+        JsonMovieRepository first = new JsonMovieRepository(tempDir.toFile());
+        JsonMovieRepository second = new JsonMovieRepository(tempDir.toFile());
+        first.saveMovies(List.of(new Movie("Dune", 150, null, null, List.of("AL"), 28)));
+        // 70 h planifiées : chacun voit la place pour 4 h de plus
+        CatalogView firstView = first.view();
+        CatalogView secondView = second.view();
+        assertEquals(70 * 60, firstView.getTotalMinutesToSchedule());
+        assertEquals(70 * 60, secondView.getTotalMinutesToSchedule());
+
+        first.addMovie(new Movie("Rocky", 120, null, null, List.of("AL"), 2));
+        IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class, () ->
+                second.addMovie(new Movie("Alien", 120, null, null, List.of("AL"), 2)));
+
+        assertTrue(rejected.getMessage().contains("77h"));
+        assertEquals(List.of("dune", "rocky"),
+                new JsonMovieRepository(tempDir.toFile()).loadMovies().stream().map(Movie::getSlug).toList());
+    }
 }
@@ -0,0 +1,61 @@
+package infrastructures.json;
+
+import org.helmo.planclap_admin.domains.Movie;
+import org.helmo.planclap_admin.domains.SchedulerService;
+import org.helmo.planclap_admin.domains.WeekPlan;
+import org.helmo.planclap_admin.infrastructures.JsonScheduleCache;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonScheduleCacheTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("planclap_test_");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.walk(tempDir)
+                .sorted(Comparator.reverseOrder())
+                .map(Path::toFile)
+                .forEach(File::delete);
+    }
+
+    @Test
+    @DisplayName("Un planning conservé sur disque est relu par un nouveau service pour le même catalogue")
+    void testPlanIsReadBackFromDisk() {
+        List<Movie> movies = List.of(createTestMovie("Dune", 155, 7), createTestMovie("Rocky", 120, 3));
+        LocalDate monday = LocalDate.of(2025, 11, 3);
+        WeekPlan computed = new SchedulerService().withCache(new JsonScheduleCache(tempDir.toFile())).schedule(movies, monday);
+
+        SchedulerService fresh = new SchedulerService();
+        String key = fresh.fingerprint(movies);
+        assertTrue(new JsonScheduleCache(tempDir.toFile()).load(key).isPresent());
+        assertEquals(computed.getSeances(), fresh.withCache(new JsonScheduleCache(tempDir.toFile())).schedule(movies, monday).getSeances());
+    }
+
+    @Test
+    @DisplayName("Une modification du catalogue change l'empreinte et invalide le planning conservé")
+    void testCatalogChangeInvalidatesEntry() {
+        List<Movie> movies = List.of(createTestMovie("Dune", 155, 7));
+        SchedulerService service = new SchedulerService();
+        service.withCache(new JsonScheduleCache(tempDir.toFile())).schedule(movies, LocalDate.of(2025, 11, 3));
+
+        List<Movie> changed = List.of(createTestMovie("Dune", 166, 7));
+        assertNotEquals(service.fingerprint(movies), service.fingerprint(changed));
+        assertTrue(new JsonScheduleCache(tempDir.toFile()).load(service.fingerprint(changed)).isEmpty());
+    }
+
+    private static Movie createTestMovie(String title, int duration, int seances) {
+        return new Movie(title, duration, "https://example.com/poster.jpg", "Description de test", List.of("AL"), seances);
+    }
+}
@@ -0,0 +1,196 @@
+package infrastructures.json;
+
+import org.helmo.planclap_admin.domains.CatalogView;
+import org.helmo.planclap_admin.domains.Movie;
+import org.helmo.planclap_admin.domains.MovieQuery;
+import org.helmo.planclap_admin.infrastructures.JsonMovieRepository;
+import org.helmo.planclap_admin.infrastructures.OffHeapMovieRepository;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapMovieRepositoryTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("planclap_offheap_");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.walk(tempDir)
+                .sorted(Comparator.reverseOrder())
+                .map(Path::toFile)
+                .forEach(File::delete);
+    }
+
+    @Test
+    @DisplayName("Les films sauvegardés hors tas sont relus à l'identique par un nouveau repository")
+    void testRoundTrip() {
+        Movie dune = new Movie("dune", "Dune", 166, "https://posters/dune.jpg", "Épice et vers des sables",
+                List.of("12", "Violence"), 3);
+        Movie vaiana = new Movie("vaiana-2", "Vaiana 2", 100, null, null, List.of(), 5);
+        new OffHeapMovieRepository(tempDir.toFile()).saveMovies(List.of(dune, vaiana));
+
+        List<Movie> reloaded = new OffHeapMovieRepository(tempDir.toFile()).loadMovies();
+
+        assertEquals(2, reloaded.size());
+        assertSameMovie(dune, reloaded.get(0));
+        assertSameMovie(vaiana, reloaded.get(1));
+    }
+
+    @Test
+    @DisplayName("movies.json est écrit avec un numéro de version, relu par le repository JSON")
+    void testWritesVersionedFile() {
+        OffHeapMovieRepository repo = new OffHeapMovieRepository(tempDir.toFile());
+        repo.addMovie(createTestMovie("Dune"));
+        repo.addMovie(createTestMovie("Rocky"));
+
+        JsonMovieRepository json = new JsonMovieRepository(tempDir.toFile());
+
+        assertEquals(repo.view().version(), json.snapshot().version());
+        assertEquals(2, json.loadMovies().size());
+        assertFalse(new File(tempDir.toFile(), "movies.json.tmp").exists());
+    }
+
+    @Test
+    @DisplayName("Un ajout fait par un autre processus est relu avant d'écrire : aucun film n'est perdu")
+    void testReloadsAfterExternalWrite() {
+        OffHeapMovieRepository first = new OffHeapMovieRepository(tempDir.toFile());
+        OffHeapMovieRepository second = new OffHeapMovieRepository(tempDir.toFile());
+        first.addMovie(createTestMovie("Dune"));
+
+        second.addMovie(createTestMovie("Rocky"));
+        first.addMovie(createTestMovie("Alien"));
+
+        assertEquals(List.of("dune", "rocky", "alien"),
+                new OffHeapMovieRepository(tempDir.toFile()).loadMovies().stream().map(Movie::getSlug).toList());
+        assertThrows(IllegalArgumentException.class, () -> first.addMovie(createTestMovie("ROCKY")));
+    }
+
+    @Test
+    @DisplayName("Deux slugs et deux titres de même hash restent distingués")
+    void testHashCollisions() {
+        // "aan" et "ac0" ont le même hashCode
+        assertEquals("aan".hashCode(), "ac0".hashCode());
+        OffHeapMovieRepository repo = new OffHeapMovieRepository(tempDir.toFile());
+        repo.addMovie(createTestMovie("aan"));
+
+        assertFalse(repo.existsBySlug("ac0"));
+        assertFalse(repo.existsByTitle("AC0"));
+
+        repo.addMovie(createTestMovie("ac0"));
+
+        assertTrue(repo.existsBySlug("AAN"));
+        assertTrue(repo.existsBySlug("ac0"));
+        assertEquals("ac0", repo.findByTitleOrSlug("ac0").orElseThrow().getTitle());
+        assertEquals("aan", repo.findByTitleOrSlug("aan").orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Les index restent exacts au-delà de la capacité initiale des tables")
+    void testIndexGrowth() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            movies.add(createTestMovie("Film " + i));
+        }
+        OffHeapMovieRepository repo = new OffHeapMovieRepository(tempDir.toFile());
+        repo.saveMovies(movies);
+
+        for (Movie movie : movies) {
+            assertTrue(repo.existsBySlug(movie.getSlug()), movie.getSlug());
+            assertTrue(repo.existsByTitle(movie.getTitle()), movie.getTitle());
+        }
+        assertFalse(repo.existsBySlug("film-3000"));
+        assertEquals(3000 * 100 * 2, repo.getTotalMinutesToSchedule());
+    }
+
+    @Test
+    @DisplayName("Les films répartis sur plusieurs blocs hors tas, même plus grands qu'un bloc, sont relus intacts")
+    void testChunkRollover() {
+        String longDescription = "x".repeat(300_000);
+        String hugeDescription = "y".repeat(3 << 20);
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            movies.add(new Movie("Film " + i, 100, null, i == 5 ? hugeDescription : longDescription + i,
+                    List.of("AL"), 1));
+        }
+        OffHeapMovieRepository repo = new OffHeapMovieRepository(tempDir.toFile());
+        repo.saveMovies(movies);
+
+        List<Movie> loaded = repo.loadMovies();
+        for (int i = 0; i < movies.size(); i++) {
+            assertSameMovie(movies.get(i), loaded.get(i));
+        }
+        assertEquals(hugeDescription, repo.findByTitleOrSlug("film-5").orElseThrow().getDescription());
+    }
+
+    @Test
+    @DisplayName("Une vue ignore les films ajoutés après sa création")
+    void testViewIsFrozen() {
+        OffHeapMovieRepository repo = new OffHeapMovieRepository(tempDir.toFile());
+        repo.addMovie(createTestMovie("Dune"));
+        CatalogView view = repo.view();
+
+        repo.addMovie(createTestMovie("Rocky"));
+
+        assertTrue(view.existsByTitle("dune"));
+        assertFalse(view.existsBySlug("rocky"));
+        assertEquals(200, view.getTotalMinutesToSchedule());
+        assertTrue(repo.view().existsBySlug("rocky"));
+    }
+
+    @Test
+    @DisplayName("Les requêtes parcourent le stockage et respectent filtres, ordre et pagination")
+    void testFind() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            movies.add(new Movie("Film " + i, 60 + i, null, null, List.of(i % 2 == 0 ? "AL" : "16"), 1));
+        }
+        OffHeapMovieRepository repo = new OffHeapMovieRepository(tempDir.toFile());
+        repo.saveMovies(movies);
+
+        List<Movie> longest = repo.find(MovieQuery.builder()
+                .withCinecheck("AL").orderByDescending(MovieQuery.Order.DURATION).offset(1).limit(3).build());
+        List<Movie> firstPage = repo.find(MovieQuery.builder().durationBetween(70, 200).limit(2).build());
+
+        assertEquals(List.of("film-46", "film-44", "film-42"), longest.stream().map(Movie::getSlug).toList());
+        assertEquals(List.of("film-10", "film-11"), firstPage.stream().map(Movie::getSlug).toList());
+    }
+
+    @Test
+    @DisplayName("Remplacer un film conserve l'ordre du catalogue")
+    void testReplaceMovie() {
+        OffHeapMovieRepository repo = new OffHeapMovieRepository(tempDir.toFile());
+        repo.saveMovies(List.of(createTestMovie("Dune"), createTestMovie("Rocky"), createTestMovie("Alien")));
+
+        repo.replaceMovie(new Movie("rocky", "Rocky", 120, null, "Remonté", List.of(), 4));
+
+        List<Movie> movies = new OffHeapMovieRepository(tempDir.toFile()).loadMovies();
+        assertEquals(List.of("dune", "rocky", "alien"), movies.stream().map(Movie::getSlug).toList());
+        assertEquals(120, movies.get(1).getDuration());
+        assertEquals(4, movies.get(1).getSeances());
+        assertThrows(IllegalArgumentException.class,
+                () -> repo.replaceMovie(createTestMovie("Inconnu")));
+    }
+
+    private static void assertSameMovie(Movie expected, Movie actual) {
+        assertEquals(expected.getSlug(), actual.getSlug());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDuration(), actual.getDuration());
+        assertEquals(expected.getPosterUrl(), actual.getPosterUrl());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getCinechecks(), actual.getCinechecks());
+        assertEquals(expected.getSeances(), actual.getSeances());
+    }
+
+    private static Movie createTestMovie(String title) {
+        return new Movie(title, 100, null, null, List.of(), 2);
+    }
+}
@@ -1,5 +1,7 @@
 package org.helmo.planclap_admin.presentations;
 
+import org.helmo.planclap_admin.domains.CatalogSnapshot;
+import org.helmo.planclap_admin.domains.CatalogView;
 import org.helmo.planclap_admin.domains.Movie;
 import org.helmo.planclap_admin.domains.MovieRepository;
 
@@ -20,7 +22,6 @@ public class AddMoviePresenter {
     private static final int MAX_DESCRIPTION_LENGTH = 200;
     private static final int MIN_SEANCES = 1;
     private static final int MAX_SEANCES = 9;
-    private static final int MAX_TOTAL_HOURS = 77;
 
     public AddMoviePresenter(MovieRepository repository, AddMovieView view) {
         this.repository = repository;
@@ -30,11 +31,14 @@ public class AddMoviePresenter {
     /**
      * Lance le processus d'encodage d'un film.
      * Gère toutes les étapes : saisie, validation, vérification des contraintes.
+     * Toutes les vérifications portent sur une même vue figée du catalogue.
      */
     public void addMovie() {
         try {
+            CatalogView catalog = repository.view();
+
             // 1. Saisie et validation du titre
-            String title = promptForUniqueTitle();
+            String title = promptForUniqueTitle(catalog);
             if (title == null) {
                 view.showMessage("Encodage annulé.");
                 return;
@@ -75,12 +79,13 @@ public class AddMoviePresenter {
                 return;
             }
 
-            // 7. Vérification de la contrainte de temps total
-            int currentTotalMinutes = repository.getTotalMinutesToSchedule();
+            // 7. Vérification de la contrainte de temps total, sur la vue de la commande : le
+            // repository la refait à l'écriture, sur le catalogue à jour
+            int currentTotalMinutes = catalog.getTotalMinutesToSchedule();
             int newMovieMinutes = duration * seances;
             int totalAfterAdd = currentTotalMinutes + newMovieMinutes;
 
-            if (totalAfterAdd >= MAX_TOTAL_HOURS * 60) {
+            if (totalAfterAdd >= CatalogSnapshot.MAX_TOTAL_MINUTES) {
                 view.showError("Dépassement du nombre d'heures à planifier (>= 77h). Encodage annulé.");
                 return;
             }
@@ -100,9 +105,10 @@ public class AddMoviePresenter {
      * Demande un titre unique à l'utilisateur.
      * Redemande tant que le titre ou le slug existe déjà.
      *
+     * @param catalog la vue du catalogue utilisée pour la commande
      * @return le titre validé, ou null si l'utilisateur annule
      */
-    private String promptForUniqueTitle() {
+    private String promptForUniqueTitle(CatalogView catalog) {
         int maxAttempts = 5;
         int attempts = 0;
 
@@ -114,10 +120,10 @@ public class AddMoviePresenter {
 
             String slug = Movie.generateSlug(title);
 
-            if (repository.existsByTitle(title)) {
+            if (catalog.existsByTitle(title)) {
                 view.showError("Un film avec ce titre existe déjà. Veuillez en saisir un autre.");
                 attempts++;
-            } else if (repository.existsBySlug(slug)) {
+            } else if (catalog.existsBySlug(slug)) {
                 view.showError("Un film avec ce slug (" + slug + ") existe déjà. Veuillez saisir un autre titre.");
                 attempts++;
             } else {
@@ -0,0 +1,70 @@
+package org.helmo.planclap_admin.presentations;
+
+import org.helmo.planclap_admin.domains.Movie;
+import org.helmo.planclap_admin.domains.MovieQuery;
+import org.helmo.planclap_admin.domains.MovieRepository;
+
+import java.util.List;
+
+/**
+ * Présentateur pour le parcours du catalogue page par page.
+ *
+ * <p>Chaque page est demandée au repository sous forme de {@link MovieQuery}
+ * (préfixe de titre, tri par titre, décalage et limite) : le catalogue n'est
+ * jamais chargé ni filtré en entier pour afficher une page.</p>
+ */
+public class BrowseMoviesPresenter {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final MovieRepository repository;
+    private final BrowseMoviesView view;
+
+    /**
+     * Construit un nouveau présentateur pour le parcours du catalogue.
+     *
+     * @param repository le repository pour accéder aux films
+     * @param view la vue pour interagir avec l'utilisateur
+     */
+    public BrowseMoviesPresenter(MovieRepository repository, BrowseMoviesView view) {
+        this.repository = repository;
+        this.view = view;
+    }
+
+    /**
+     * Lance le parcours : demande le filtre puis affiche les pages jusqu'à ce que
+     * l'utilisateur y mette fin.
+     */
+    public void browse() {
+        try {
+            String prefix = view.askTitlePrefix();
+            int page = 0;
+            BrowseMoviesView.Navigation navigation;
+            do {
+                // Un film de plus que la page est demandé pour savoir s'il existe une page suivante
+                List<Movie> movies = repository.find(MovieQuery.builder()
+                        .titleStartingWith(prefix == null ? null : prefix.trim())
+                        .orderBy(MovieQuery.Order.TITLE)
+                        .offset(page * PAGE_SIZE)
+                        .limit(PAGE_SIZE + 1)
+                        .build());
+                boolean hasNext = movies.size() > PAGE_SIZE;
+
+                view.showPage(movies.stream().limit(PAGE_SIZE).map(BrowseMoviesPresenter::toViewModel).toList(), page + 1);
+                navigation = view.askNavigation(page > 0, hasNext);
+                if (navigation == BrowseMoviesView.Navigation.NEXT && hasNext) {
+                    page++;
+                } else if (navigation == BrowseMoviesView.Navigation.PREVIOUS && page > 0) {
+                    page--;
+                }
+            } while (navigation != BrowseMoviesView.Navigation.QUIT);
+        } catch (Exception e) {
+            view.displayError("Impossible de parcourir les films !");
+        }
+    }
+
+    private static MovieViewModel toViewModel(Movie f) {
+        return new MovieViewModel(f.getSlug(), f.getTitle(), f.getDurationHHMM(), f.getPosterUrl(),
+                f.getDescription(), f.getCinechecks().toString(), f.getSeances());
+    }
+}
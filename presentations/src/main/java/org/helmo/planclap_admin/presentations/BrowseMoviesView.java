@@ -0,0 +1,52 @@
+package org.helmo.planclap_admin.presentations;
+
+import java.util.List;
+
+/**
+ * Interface de la vue pour parcourir le catalogue page par page.
+ *
+ * <p>Elle permet de :
+ * <ul>
+ *   <li>demander un début de titre pour filtrer le catalogue ;</li>
+ *   <li>afficher une page de films ;</li>
+ *   <li>demander à l'utilisateur la page suivante, la précédente ou la fin du parcours.</li>
+ * </ul></p>
+ */
+public interface BrowseMoviesView {
+
+    /**
+     * Choix de l'utilisateur après l'affichage d'une page.
+     */
+    enum Navigation { NEXT, PREVIOUS, QUIT }
+
+    /**
+     * Demande le début du titre des films à parcourir.
+     *
+     * @return le début de titre saisi (vide pour tout le catalogue)
+     */
+    String askTitlePrefix();
+
+    /**
+     * Affiche une page de films.
+     *
+     * @param movies les films de la page
+     * @param page le numéro de la page (à partir de 1)
+     */
+    void showPage(List<MovieViewModel> movies, int page);
+
+    /**
+     * Demande à l'utilisateur comment poursuivre le parcours.
+     *
+     * @param hasPrevious true s'il existe une page précédente
+     * @param hasNext true s'il existe une page suivante
+     * @return le choix de l'utilisateur
+     */
+    Navigation askNavigation(boolean hasPrevious, boolean hasNext);
+
+    /**
+     * Affiche un message d'erreur.
+     *
+     * @param message le message à afficher
+     */
+    void displayError(String message);
+}
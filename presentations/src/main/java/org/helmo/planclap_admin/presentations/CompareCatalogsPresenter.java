@@ -0,0 +1,87 @@
+package org.helmo.planclap_admin.presentations;
+
+import org.helmo.planclap_admin.domains.CatalogDiffSummary;
+import org.helmo.planclap_admin.domains.CatalogReconciler;
+import org.helmo.planclap_admin.domains.Movie;
+import org.helmo.planclap_admin.domains.MovieChange;
+
+import java.util.List;
+
+/**
+ * Présentateur pour la comparaison de deux catalogues et leur fusion.
+ *
+ * <p>Les différences sont affichées au fil de la comparaison ; au-delà de
+ * {@value #MAX_SHOWN} différences, seul leur nombre est indiqué. Si la source contient
+ * des films ajoutés ou modifiés, l'utilisateur peut les fusionner dans la cible.</p>
+ */
+public class CompareCatalogsPresenter {
+
+    private static final int MAX_SHOWN = 100;
+
+    private final CatalogReconciler reconciler;
+    private final CompareCatalogsView view;
+
+    /**
+     * Construit un nouveau présentateur pour la comparaison des catalogues.
+     *
+     * @param reconciler le service de comparaison et de fusion des catalogues
+     * @param view la vue pour interagir avec l'utilisateur
+     */
+    public CompareCatalogsPresenter(CatalogReconciler reconciler, CompareCatalogsView view) {
+        this.reconciler = reconciler;
+        this.view = view;
+    }
+
+    /**
+     * Lance la comparaison : demande les deux catalogues, affiche leurs différences
+     * puis propose la fusion.
+     */
+    public void compare() {
+        try {
+            List<String> names = reconciler.catalogNames();
+            if (names.size() < 2) {
+                view.displayError("Au moins deux catalogues sont nécessaires pour une comparaison !");
+                return;
+            }
+            String source = view.askCatalog("source", names);
+            if (source == null) {
+                return;
+            }
+            String target = view.askCatalog("cible", names.stream().filter(name -> !name.equals(source)).toList());
+            if (target == null) {
+                return;
+            }
+
+            int[] seen = {0};
+            CatalogDiffSummary summary = reconciler.diff(source, target, change -> {
+                if (seen[0]++ < MAX_SHOWN) {
+                    show(change);
+                }
+            });
+            if (seen[0] > MAX_SHOWN) {
+                view.showHidden(seen[0] - MAX_SHOWN);
+            }
+            view.showSummary(summary.added(), summary.removed(), summary.changed());
+
+            if (summary.added() + summary.changed() > 0 && view.askMerge(source, target)) {
+                CatalogDiffSummary merged = reconciler.merge(source, target);
+                view.showMergeResult(merged.added() + merged.changed() - merged.rejected(), merged.rejected());
+            }
+        } catch (Exception e) {
+            view.displayError("Impossible de comparer les catalogues !");
+        }
+    }
+
+    private void show(MovieChange change) {
+        switch (change.getKind()) {
+            case ADDED -> view.showAdded(toViewModel(change.getAfter()));
+            case REMOVED -> view.showRemoved(toViewModel(change.getBefore()));
+            case CHANGED -> view.showChanged(toViewModel(change.getBefore()), toViewModel(change.getAfter()));
+        }
+    }
+
+    private static MovieViewModel toViewModel(Movie f) {
+        return new MovieViewModel(f.getSlug(), f.getTitle(), f.getDurationHHMM(), f.getPosterUrl(),
+                f.getDescription(), f.getCinechecks().toString(), f.getSeances());
+    }
+}
@@ -0,0 +1,87 @@
+package org.helmo.planclap_admin.presentations;
+
+import java.util.List;
+
+/**
+ * Interface de la vue pour comparer deux catalogues et fusionner l'un dans l'autre.
+ *
+ * <p>Elle permet de :
+ * <ul>
+ *   <li>choisir le catalogue de référence (source) et le catalogue comparé (cible) ;</li>
+ *   <li>afficher les films ajoutés, retirés et modifiés, au fur et à mesure de la comparaison ;</li>
+ *   <li>demander à l'utilisateur s'il faut fusionner la source dans la cible.</li>
+ * </ul></p>
+ */
+public interface CompareCatalogsView {
+
+    /**
+     * Demande à l'utilisateur de choisir un catalogue.
+     *
+     * @param role le rôle du catalogue ("source" ou "cible")
+     * @param names les noms des catalogues disponibles
+     * @return le nom choisi, ou null si l'utilisateur abandonne
+     */
+    String askCatalog(String role, List<String> names);
+
+    /**
+     * Affiche un film présent uniquement dans la source.
+     *
+     * @param movie le film
+     */
+    void showAdded(MovieViewModel movie);
+
+    /**
+     * Affiche un film présent uniquement dans la cible.
+     *
+     * @param movie le film
+     */
+    void showRemoved(MovieViewModel movie);
+
+    /**
+     * Affiche un film modifié.
+     *
+     * @param before le film dans la cible
+     * @param after le film dans la source
+     */
+    void showChanged(MovieViewModel before, MovieViewModel after);
+
+    /**
+     * Indique que des différences n'ont pas été affichées.
+     *
+     * @param count le nombre de différences non affichées
+     */
+    void showHidden(int count);
+
+    /**
+     * Affiche le bilan de la comparaison.
+     *
+     * @param added le nombre de films ajoutés
+     * @param removed le nombre de films retirés
+     * @param changed le nombre de films modifiés
+     */
+    void showSummary(int added, int removed, int changed);
+
+    /**
+     * Demande confirmation avant de fusionner la source dans la cible.
+     *
+     * @param source le nom du catalogue source
+     * @param target le nom du catalogue cible
+     * @return true si la fusion est confirmée
+     */
+    boolean askMerge(String source, String target);
+
+    /**
+     * Affiche le résultat de la fusion.
+     *
+     * @param applied le nombre de films ajoutés ou modifiés dans la cible
+     * @param rejected le nombre de films rejetés (titre ou slug déjà utilisé)
+     */
+    void showMergeResult(int applied, int rejected);
+
+    /**
+     * Affiche un message d'erreur.
+     *
+     * @param message le message à afficher
+     */
+    void displayError(String message);
+}
@@ -19,6 +19,9 @@ import java.util.Optional;
  *   <li>Préparer les données pour l'affichage ;</li>
  *   <li>Déléguer l'affichage à la vue.</li>
  * </ul></p>
+ *
+ * <p>Chaque recherche porte sur l'instantané courant du catalogue ({@link MovieRepository#snapshot()}) :
+ * il est immuable, partagé sans copie, et reflète aussi les écritures faites par un autre processus.</p>
  */
 public class ConsultMoviePresenter {
 
@@ -84,7 +87,7 @@ public class ConsultMoviePresenter {
      * @return Optional contenant le film trouvé, ou vide si aucune correspondance
      */
     private Optional<Movie> searchWithTolerance(String searchSlug) {
-        List<Movie> allMovies = repository.loadMovies();
+        List<Movie> allMovies = repository.snapshot().movies();
 
         if (allMovies.isEmpty()) {
             return Optional.empty();
@@ -163,4 +166,4 @@ public class ConsultMoviePresenter {
 
         return sb.toString();
     }
-}
\ No newline at end of file
+}
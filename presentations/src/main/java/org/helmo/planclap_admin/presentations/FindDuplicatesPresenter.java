@@ -0,0 +1,65 @@
+package org.helmo.planclap_admin.presentations;
+
+import org.helmo.planclap_admin.domains.Movie;
+import org.helmo.planclap_admin.domains.MovieRepository;
+import org.helmo.planclap_admin.domains.SimilarityJoin;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Présentateur pour la détection des doublons du catalogue.
+ *
+ * <p>Les slugs de tout le catalogue sont comparés en une seule jointure par similarité
+ * ({@link SimilarityJoin}) : les films dont les slugs ne diffèrent que de quelques
+ * caractères ("godzilla-vs-kong" et "godzilla-x-kong") sont signalés, du plus proche
+ * au plus éloigné.</p>
+ */
+public class FindDuplicatesPresenter {
+
+    private static final int DEFAULT_DISTANCE = 2;
+    private static final int MAX_DISTANCE = 3;
+
+    private final MovieRepository repository;
+    private final FindDuplicatesView view;
+
+    /**
+     * Construit un nouveau présentateur pour la détection des doublons.
+     *
+     * @param repository le repository pour accéder aux films
+     * @param view la vue pour interagir avec l'utilisateur
+     */
+    public FindDuplicatesPresenter(MovieRepository repository, FindDuplicatesView view) {
+        this.repository = repository;
+        this.view = view;
+    }
+
+    /**
+     * Lance la détection : demande la distance maximale puis affiche les paires suspectes.
+     */
+    public void findDuplicates() {
+        try {
+            int distance = view.askMaxDistance(DEFAULT_DISTANCE, MAX_DISTANCE);
+            List<Movie> movies = repository.snapshot().movies().stream()
+                    .filter(movie -> movie.getSlug() != null)
+                    .toList();
+            List<String> slugs = movies.stream()
+                    .map(movie -> movie.getSlug().toLowerCase(Locale.ROOT))
+                    .toList();
+
+            List<SimilarityJoin.Match> matches = SimilarityJoin.selfJoin(slugs, distance);
+            for (SimilarityJoin.Match match : matches) {
+                view.showPair(toViewModel(movies.get(match.left())), toViewModel(movies.get(match.right())),
+                        match.distance());
+            }
+            view.showSummary(matches.size(), movies.size());
+        } catch (Exception e) {
+            view.displayError("Impossible de détecter les doublons !");
+        }
+    }
+
+    private static MovieViewModel toViewModel(Movie f) {
+        return new MovieViewModel(f.getSlug(), f.getTitle(), f.getDurationHHMM(), f.getPosterUrl(),
+                f.getDescription(), f.getCinechecks().toString(), f.getSeances());
+    }
+}
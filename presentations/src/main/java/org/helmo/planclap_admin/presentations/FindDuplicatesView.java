@@ -0,0 +1,47 @@
+package org.helmo.planclap_admin.presentations;
+
+/**
+ * Interface de la vue pour la détection des doublons du catalogue.
+ *
+ * <p>Elle permet de :
+ * <ul>
+ *   <li>demander la distance maximale entre deux slugs considérés comme doublons ;</li>
+ *   <li>afficher chaque paire de films suspects ;</li>
+ *   <li>afficher le bilan de la détection.</li>
+ * </ul></p>
+ */
+public interface FindDuplicatesView {
+
+    /**
+     * Demande la distance de Levenshtein maximale entre deux slugs.
+     *
+     * @param defaultDistance la distance utilisée si l'utilisateur ne saisit rien
+     * @param maxDistance la plus grande distance acceptée
+     * @return la distance choisie, entre 0 et {@code maxDistance}
+     */
+    int askMaxDistance(int defaultDistance, int maxDistance);
+
+    /**
+     * Affiche une paire de films dont les slugs sont proches.
+     *
+     * @param first le premier film (dans l'ordre du catalogue)
+     * @param second le second film
+     * @param distance la distance entre leurs slugs
+     */
+    void showPair(MovieViewModel first, MovieViewModel second, int distance);
+
+    /**
+     * Affiche le bilan de la détection.
+     *
+     * @param pairs le nombre de paires trouvées
+     * @param movies le nombre de films analysés
+     */
+    void showSummary(int pairs, int movies);
+
+    /**
+     * Affiche un message d'erreur.
+     *
+     * @param message le message à afficher
+     */
+    void displayError(String message);
+}
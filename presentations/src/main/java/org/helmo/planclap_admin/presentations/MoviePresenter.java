@@ -1,5 +1,6 @@
 package org.helmo.planclap_admin.presentations;
 
+import org.helmo.planclap_admin.domains.CatalogListener;
 import org.helmo.planclap_admin.domains.Movie;
 import org.helmo.planclap_admin.domains.MovieRepository;
 
@@ -7,19 +8,43 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
 
 /**
  * Cette classe fait le lien entre le repository de films (domaine) et la vue CLI ou autre vue implémentant
  * l'interface {@link MovieView}. Elle récupère les films depuis le repository et les convertit en
  * {@link MovieViewModel} avant de les envoyer à la vue pour affichage.
+ *
+ * <p>Les modèles de vue et le total de minutes sont gardés en cache après le premier chargement,
+ * avec la version du catalogue à laquelle ils correspondent. Le présentateur est abonné aux
+ * événements du repository : le cache est mis à jour film par film lors d'un ajout ou d'un
+ * remplacement, sans recharger le catalogue. Une écriture faite par un autre processus ne produit
+ * pas d'événement : si la version du catalogue n'est plus celle du cache, il est reconstruit.</p>
+ *
+ * <p>Le premier affichage est progressif : les films sont reçus en flux
+ * ({@link MovieRepository#streamMovies()}) et affichés dès leur lecture, par lots de
+ * {@value #STREAM_BATCH} films demandés au repository.</p>
  */
 public class MoviePresenter {
 
+    //Nombre de films demandés à la fois lors d'un affichage progressif
+    private static final int STREAM_BATCH = 64;
+
     //Référence vers le repository de films permettant de charger les données du domaine
     private final MovieRepository repository;
     //Référence vers la vue qui affichera les films
     private final MovieView view;
+    //Cache des modèles de vue (null tant que le catalogue n'a pas été chargé)
+    private List<MovieViewModel> cachedModels;
+    //Total des minutes à planifier correspondant au cache
+    private int cachedTotalMinutes;
+    //Version du catalogue correspondant au cache
+    private long cachedVersion;
+    //Nombre de modifications du catalogue reçues (un flux croisant une modification n'est pas mis en cache)
+    private long catalogChanges;
 
     /**
      * Construit un {@code MoviePresenter} avec le repository et la vue spécifiés.
@@ -30,6 +55,7 @@ public class MoviePresenter {
     public MoviePresenter(MovieRepository repository, MovieView view) {
         this.repository = repository;
         this.view = view;
+        repository.addListener(new CacheUpdater());
     }
 
     /**
@@ -37,25 +63,35 @@ public class MoviePresenter {
      * à la vue pour affichage.
      * Chaque {@link MovieViewModel} contient le titre, la durée formatée en HH:MM et le nombre de séances
      * prévues pour le film.
+     * Tant que le cache n'est pas construit, les films sont affichés au fil de leur lecture ;
+     * la méthode rend la main une fois le dernier film affiché.
      */
 
     public void displayMovies() {
         try{
-            List<Movie> movies = repository.loadMovies();
-            List<MovieViewModel> models = movies.stream()
-                    .map(f -> new MovieViewModel(f.getSlug(),f.getTitle(), f.getDurationHHMM(),f.getPosterUrl(),f.getDescription(),f.getCinechecks().toString(), f.getSeances()))
-                    .toList();
-            // Calcul du total d'heures
-            int totalMinutes = movies.stream()
-                    .mapToInt(m -> m.getDuration() * m.getSeances())
-                    .sum();
-            int heures = totalMinutes / 60;
-            int minutes = totalMinutes % 60;
+            List<MovieViewModel> models = null;
+            int totalMinutes = 0;
+            long version = repository.view().version();
+            synchronized (this) {
+                if (cachedModels != null && cachedVersion == version) {
+                    models = List.copyOf(cachedModels);
+                    totalMinutes = cachedTotalMinutes;
+                }
+            }
 
             // Calcul du lundi de la semaine prochaine
             LocalDate lundiProchain = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
             String dateFormattee = lundiProchain.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
 
+            if (models == null) {
+                streamMovies(dateFormattee, version);
+                return;
+            }
+
+            // Calcul du total d'heures
+            int heures = totalMinutes / 60;
+            int minutes = totalMinutes % 60;
+
             // Envoie toutes les infos à la vue
             view.showMovies(models, dateFormattee, heures, minutes);
         }catch (Exception e){
@@ -63,4 +99,156 @@ public class MoviePresenter {
         }
 
     }
+
+    /**
+     * Affiche les films au fil de leur lecture puis construit le cache.
+     *
+     * @param date la date du lundi de la semaine prochaine
+     * @param version la version du catalogue lue avant le flux
+     */
+    private void streamMovies(String date, long version) throws InterruptedException {
+        long changesBefore;
+        synchronized (this) {
+            changesBefore = catalogChanges;
+        }
+
+        StreamingDisplay display = new StreamingDisplay(date);
+        repository.streamMovies().subscribe(display);
+        display.done.await();
+
+        if (display.failure != null) {
+            view.displayError("Impossible de charger les films !");
+            return;
+        }
+        // Un flux croisant une écriture (de ce processus ou d'un autre) n'est pas mis en cache
+        boolean unchanged = repository.view().version() == version;
+        synchronized (this) {
+            if (unchanged && catalogChanges == changesBefore) {
+                cachedModels = display.models;
+                cachedTotalMinutes = display.totalMinutes;
+                cachedVersion = version;
+            }
+        }
+    }
+
+    /**
+     * Associe le cache à la version du catalogue qui suit une modification reçue.
+     * Les événements sont délivrés juste après l'écriture : la version lue est celle écrite.
+     */
+    private void stampCache() {
+        if (cachedModels != null) {
+            cachedVersion = repository.view().version();
+        }
+    }
+
+    private void resetCache(List<Movie> movies) {
+        cachedModels = new ArrayList<>(movies.stream().map(MoviePresenter::toViewModel).toList());
+        cachedTotalMinutes = movies.stream()
+                .mapToInt(m -> m.getDuration() * m.getSeances())
+                .sum();
+    }
+
+    private static MovieViewModel toViewModel(Movie f) {
+        return new MovieViewModel(f.getSlug(),f.getTitle(), f.getDurationHHMM(),f.getPosterUrl(),f.getDescription(),f.getCinechecks().toString(), f.getSeances());
+    }
+
+    /**
+     * Abonné qui transmet chaque film reçu à la vue et demande les suivants par lots.
+     */
+    private final class StreamingDisplay implements Flow.Subscriber<Movie> {
+
+        private final String date;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final List<MovieViewModel> models = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private int totalMinutes;
+        private int outstanding;
+        private volatile Throwable failure;
+
+        StreamingDisplay(String date) {
+            this.date = date;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            view.beginMovies(date);
+            outstanding = STREAM_BATCH;
+            subscription.request(STREAM_BATCH);
+        }
+
+        @Override
+        public void onNext(Movie movie) {
+            MovieViewModel model = toViewModel(movie);
+            models.add(model);
+            totalMinutes += movie.getDuration() * movie.getSeances();
+            view.showMovie(model);
+
+            // Nouveau lot demandé dès que la moitié du précédent a été affichée
+            if (--outstanding <= STREAM_BATCH / 2) {
+                outstanding += STREAM_BATCH;
+                subscription.request(STREAM_BATCH);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            view.endMovies(models.size(), totalMinutes / 60, totalMinutes % 60);
+            done.countDown();
+        }
+    }
+
+    /**
+     * Met à jour le cache des modèles de vue à partir des événements du repository.
+     * Tant que le cache n'a pas été construit, les événements sont ignorés.
+     * Le cache mis à jour est associé à la version qui suit la modification.
+     */
+    private final class CacheUpdater implements CatalogListener {
+
+        @Override
+        public void onMovieAdded(Movie movie) {
+            synchronized (MoviePresenter.this) {
+                catalogChanges++;
+                if (cachedModels != null) {
+                    cachedModels.add(toViewModel(movie));
+                    cachedTotalMinutes += movie.getDuration() * movie.getSeances();
+                    stampCache();
+                }
+            }
+        }
+
+        @Override
+        public void onMovieReplaced(Movie previous, Movie movie) {
+            synchronized (MoviePresenter.this) {
+                catalogChanges++;
+                if (cachedModels == null) {
+                    return;
+                }
+                for (int i = 0; i < cachedModels.size(); i++) {
+                    if (previous.getSlug().equals(cachedModels.get(i).getSlug())) {
+                        cachedModels.set(i, toViewModel(movie));
+                        cachedTotalMinutes += movie.getDuration() * movie.getSeances()
+                                - previous.getDuration() * previous.getSeances();
+                        stampCache();
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onMoviesSaved(List<Movie> movies) {
+            synchronized (MoviePresenter.this) {
+                catalogChanges++;
+                resetCache(movies);
+                stampCache();
+            }
+        }
+    }
 }
@@ -4,6 +4,29 @@ import java.util.List;
 
 public interface MovieView {
     void showMovies(List<MovieViewModel> movies, String date, int heures, int minutes);
+
+    /**
+     * Début d'un affichage progressif : les films suivent un par un ({@link #showMovie(MovieViewModel)}).
+     *
+     * @param date la date du lundi de la semaine prochaine
+     */
+    void beginMovies(String date);
+
+    /**
+     * Affiche un film d'un affichage progressif.
+     *
+     * @param movie le film à afficher
+     */
+    void showMovie(MovieViewModel movie);
+
+    /**
+     * Fin d'un affichage progressif.
+     *
+     * @param count le nombre de films affichés
+     * @param heures le total d'heures à planifier
+     * @param minutes les minutes restantes du total à planifier
+     */
+    void endMovies(int count, int heures, int minutes);
     void displayError(String message);
 }
 
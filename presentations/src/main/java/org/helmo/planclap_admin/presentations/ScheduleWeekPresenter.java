@@ -1,4 +1,165 @@
 package org.helmo.planclap_admin.presentations;
 
+import org.helmo.planclap_admin.domains.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Présentateur pour la planification des séances de la semaine prochaine.
+ *
+ * <p>Toutes les séances demandées par le catalogue sont placées par le {@link SchedulerService},
+ * le planning obtenu est enregistré puis affiché jour par jour. La recherche tourne sur un thread
+ * virtuel : la vue en affiche l'avancement et l'utilisateur peut l'interrompre pour garder le
+ * meilleur planning trouvé jusque-là.</p>
+ *
+ * <p>Plusieurs semaines peuvent être planifiées d'un coup (horizon glissant) : chaque semaine
+ * suivante reprend le planning de la précédente et n'en corrige que les différences.</p>
+ *
+ * <p>Si la semaine a déjà été planifiée, le planning enregistré n'est pas recalculé : les
+ * différences entre ses films et ceux du catalogue (films encodés, retirés ou modifiés, y compris
+ * par un autre processus) lui sont appliquées incrémentalement, et la vue reçoit les séances
+ * ajoutées, déplacées et supprimées. Un planning enregistré modifié à la main est d'abord
+ * vérifié : les séances en conflit sont signalées puis replacées.</p>
+ */
 public class ScheduleWeekPresenter {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int DEFAULT_WEEKS = 1;
+    private static final int MAX_WEEKS = 8;
+
+    private final MovieRepository repository;
+    private final PlanningRepository planningRepository;
+    private final SchedulerService scheduler;
+    private final ScheduleWeekView view;
+
+    /**
+     * Construit un nouveau présentateur pour la planification de la semaine.
+     *
+     * @param repository le repository pour accéder aux films
+     * @param planningRepository le repository pour enregistrer les plannings
+     * @param scheduler le service de planification
+     * @param view la vue pour interagir avec l'utilisateur
+     */
+    public ScheduleWeekPresenter(MovieRepository repository, PlanningRepository planningRepository,
+                                 SchedulerService scheduler, ScheduleWeekView view) {
+        this.repository = repository;
+        this.planningRepository = planningRepository;
+        this.scheduler = scheduler;
+        this.view = view;
+    }
+
+    /**
+     * Planifie la semaine prochaine (ou met à jour son planning), l'enregistre et l'affiche,
+     * puis planifie les semaines suivantes demandées à partir de celle-ci.
+     */
+    public void scheduleWeek() {
+        try {
+            int weeks = Math.max(1, view.askWeeks(DEFAULT_WEEKS, MAX_WEEKS));
+            LocalDate monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            CatalogSnapshot catalog = repository.snapshot();
+
+            Optional<WeekPlan> previous = planningRepository.load(monday, catalog);
+            previous.map(scheduler::validate).filter(conflicts -> !conflicts.isEmpty()).ifPresent(conflicts ->
+                    view.showConflicts(conflicts.stream().map(ScheduleWeekPresenter::conflictLabel).toList()));
+            Replan replan = previous.map(plan -> scheduler.replan(plan, catalog)).orElse(null);
+            WeekPlan plan = replan != null ? replan.getPlan() : search(catalog.movies(), monday);
+            planningRepository.save(plan);
+
+            show(plan);
+            if (replan != null) {
+                view.showRevision(
+                        replan.getAdded().stream().map(ScheduleWeekPresenter::seanceLabel).toList(),
+                        replan.getMoved().stream()
+                                .map(move -> seanceLabel(move.from()) + " -> " + seanceLabel(move.to()))
+                                .toList(),
+                        replan.getRemoved().stream().map(ScheduleWeekPresenter::seanceLabel).toList());
+            }
+            List<String> unplacedTitles = plan.getUnplaced().stream().map(Movie::getTitle).toList();
+            view.endSchedule(plan.getSeances().size(), unplacedTitles.size(), unplacedTitles);
+
+            // Semaines suivantes : chacune part de la précédente (ou de son planning enregistré)
+            for (Replan following : scheduler.planFollowingWeeks(plan, weeks - 1, catalog, planningRepository)) {
+                WeekPlan week = following.getPlan();
+                planningRepository.save(week);
+                view.showFollowingWeek(week.getMonday().format(DATE_FORMAT), week.getSeances().size(),
+                        week.getUnplaced().size(),
+                        following.getAdded().size() + following.getMoved().size() + following.getRemoved().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            view.displayError("Impossible de planifier la semaine !");
+        } catch (ExecutionException | RuntimeException e) {
+            view.displayError("Impossible de planifier la semaine !");
+        }
+    }
+
+    /**
+     * Lance la recherche du planning sur un thread virtuel : la vue affiche l'avancement et
+     * peut interrompre la recherche, qui rend alors le meilleur planning trouvé.
+     */
+    private WeekPlan search(List<Movie> movies, LocalDate monday) throws InterruptedException, ExecutionException {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        FutureTask<WeekPlan> search = new FutureTask<>(() -> scheduler.schedule(movies, monday,
+                progress -> view.showProgress(progress.explored(), progress.strategies(),
+                        hoursMinutes(progress.scheduledMinutes()), progress.unplaced()),
+                cancelled::get));
+        Thread.ofVirtual().name("planification-semaine").start(search);
+        if (view.waitForSearch(search) && !search.isDone()) {
+            cancelled.set(true);
+            WeekPlan plan = search.get();
+            view.showSearchInterrupted();
+            return plan;
+        }
+        return search.get();
+    }
+
+    private void show(WeekPlan plan) {
+        view.beginSchedule(plan.getMonday().format(DATE_FORMAT));
+        for (int day = 0; day < SchedulerService.DAYS; day++) {
+            LocalDate date = plan.getMonday().plusDays(day);
+            List<SeanceViewModel> seances = plan.getSeances(date).stream()
+                    .map(ScheduleWeekPresenter::toViewModel)
+                    .toList();
+            view.showDay(dayLabel(date), seances);
+        }
+    }
+
+    private static String dayLabel(LocalDate date) {
+        String name = date.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.FRENCH);
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1) + " " + date.format(DATE_FORMAT);
+    }
+
+    private static String seanceLabel(Seance s) {
+        return s.getMovie().getTitle() + " (" + dayLabel(s.getDate()) + " " + time(s.getStartMinute())
+                + ", salle " + (s.getRoom() + 1) + ")";
+    }
+
+    private static String conflictLabel(PlanConflict conflict) {
+        return conflict.isOutOfHours()
+                ? seanceLabel(conflict.seance()) + " hors des horaires permis"
+                : seanceLabel(conflict.seance()) + " chevauche " + seanceLabel(conflict.other());
+    }
+
+    private static SeanceViewModel toViewModel(Seance s) {
+        return new SeanceViewModel(time(s.getStartMinute()), time(s.getEndMinute()), s.getRoom() + 1,
+                s.getMovie().getTitle(), s.getMovie().getDurationHHMM());
+    }
+
+    private static String hoursMinutes(int minutes) {
+        return String.format("%d h %02d", minutes / 60, minutes % 60);
+    }
+
+    private static String time(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
 }
@@ -1,4 +1,112 @@
 package org.helmo.planclap_admin.presentations;
 
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Interface de la vue pour la planification des séances de la semaine prochaine.
+ *
+ * <p>Elle permet de :
+ * <ul>
+ *   <li>demander le nombre de semaines à planifier ;</li>
+ *   <li>suivre et interrompre la recherche du planning ;</li>
+ *   <li>annoncer la semaine planifiée ;</li>
+ *   <li>afficher les séances de chaque jour ;</li>
+ *   <li>afficher les changements apportés à un planning déjà enregistré ;</li>
+ *   <li>afficher le bilan, avec les films dont une séance n'a pas trouvé de place ;</li>
+ *   <li>afficher le bilan des semaines suivantes.</li>
+ * </ul></p>
+ */
 public interface ScheduleWeekView {
+
+    /**
+     * Demande le nombre de semaines à planifier, à partir de la semaine prochaine.
+     *
+     * @param defaultWeeks le nombre utilisé si l'utilisateur ne saisit rien
+     * @param maxWeeks le plus grand nombre accepté
+     * @return le nombre choisi, entre 1 et {@code maxWeeks}
+     */
+    int askWeeks(int defaultWeeks, int maxWeeks);
+
+    /**
+     * Attend la fin de la recherche du planning, qui se déroule sur un autre thread.
+     * L'utilisateur doit pouvoir l'interrompre pendant l'attente.
+     *
+     * @param search la recherche en cours
+     * @return true si l'utilisateur a demandé l'interruption
+     */
+    boolean waitForSearch(Future<?> search);
+
+    /**
+     * Affiche l'avancement de la recherche. Appelée depuis le thread de la recherche.
+     *
+     * @param explored le nombre de stratégies examinées
+     * @param strategies le nombre total de stratégies
+     * @param bestScheduled la durée de projection placée par le meilleur planning trouvé (HH h MM)
+     * @param unplaced le nombre de séances sans place dans ce planning
+     */
+    void showProgress(int explored, int strategies, String bestScheduled, int unplaced);
+
+    /**
+     * Signale que la recherche a été interrompue et que le meilleur planning trouvé est retenu.
+     */
+    void showSearchInterrupted();
+
+    /**
+     * Annonce le début du planning.
+     *
+     * @param mondayDate le lundi de la semaine planifiée (dd/MM/yyyy)
+     */
+    void beginSchedule(String mondayDate);
+
+    /**
+     * Affiche les séances d'un jour.
+     *
+     * @param dayLabel le libellé du jour (ex. "Lundi 03/11/2025")
+     * @param seances les séances du jour, par ordre chronologique
+     */
+    void showDay(String dayLabel, List<SeanceViewModel> seances);
+
+    /**
+     * Signale les conflits du planning enregistré (séances qui se chevauchent ou sortent des
+     * heures d'ouverture) avant leur correction.
+     *
+     * @param conflicts la description de chaque conflit
+     */
+    void showConflicts(List<String> conflicts);
+
+    /**
+     * Affiche ce que la mise à jour a changé dans un planning déjà enregistré.
+     *
+     * @param added les séances ajoutées
+     * @param moved les séances déplacées ("avant -> après")
+     * @param removed les séances supprimées
+     */
+    void showRevision(List<String> added, List<String> moved, List<String> removed);
+
+    /**
+     * Affiche le bilan du planning.
+     *
+     * @param placed le nombre de séances placées
+     * @param unplaced le nombre de séances sans place
+     * @param unplacedTitles les titres des films concernés (une entrée par séance manquante)
+     */
+    void endSchedule(int placed, int unplaced, List<String> unplacedTitles);
+
+    /**
+     * Affiche le bilan d'une semaine suivante, planifiée à partir de la précédente.
+     *
+     * @param mondayDate le lundi de la semaine (dd/MM/yyyy)
+     * @param placed le nombre de séances placées
+     * @param unplaced le nombre de séances sans place
+     * @param changed le nombre de séances ajoutées, déplacées ou supprimées par rapport au point de départ
+     */
+    void showFollowingWeek(String mondayDate, int placed, int unplaced, int changed);
+
+    /**
+     * Affiche un message d'erreur.
+     *
+     * @param message le message à afficher
+     */
+    void displayError(String message);
 }
@@ -0,0 +1,45 @@
+package org.helmo.planclap_admin.presentations;
+
+/**
+ * {@code SeanceViewModel} représente une séance planifiée, prête à être affichée :
+ * les heures de début et de fin (HH:MM), le numéro de la salle (à partir de 1), le titre et
+ * la durée formatée du film.
+ */
+public class SeanceViewModel {
+    private final String start;
+    private final String end;
+    private final int room;
+    private final String title;
+    private final String durationHHMM;
+
+    /**
+     * Constructeur complet pour créer une séance avec tous ses attributs.
+     */
+    public SeanceViewModel(String start, String end, int room, String title, String durationHHMM) {
+        this.start = start;
+        this.end = end;
+        this.room = room;
+        this.title = title;
+        this.durationHHMM = durationHHMM;
+    }
+
+    public String getStart() {
+        return start;
+    }
+
+    public String getEnd() {
+        return end;
+    }
+
+    public int getRoom() {
+        return room;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDurationHHMM() {
+        return durationHHMM;
+    }
+}
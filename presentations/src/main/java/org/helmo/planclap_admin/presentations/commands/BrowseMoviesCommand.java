@@ -0,0 +1,26 @@
+package org.helmo.planclap_admin.presentations.commands;
+
+import org.helmo.planclap_admin.presentations.BrowseMoviesPresenter;
+
+/**
+ * Commande CLI permettant de parcourir le catalogue page par page.
+ * Délègue l'exécution au présentateur BrowseMoviesPresenter.
+ */
+public class BrowseMoviesCommand implements CliCommand {
+
+    private final BrowseMoviesPresenter presenter;
+
+    /**
+     * Construit une commande de parcours du catalogue.
+     *
+     * @param presenter le présentateur gérant le parcours
+     */
+    public BrowseMoviesCommand(BrowseMoviesPresenter presenter) {
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void execute() {
+        presenter.browse();
+    }
+}
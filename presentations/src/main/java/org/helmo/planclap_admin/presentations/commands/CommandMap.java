@@ -15,6 +15,8 @@ public class CommandMap implements CliCommand {
     private final BufferedReader cin;
     //Flux de sortie pour afficher le menu et les messages à l'utilisateur
     private final PrintStream cout;
+    //Titre affiché au-dessus du menu
+    private final String title;
     //Liste des étiquettes correspondant aux commandes disponibles
     private final List<String> labels = new ArrayList<>();
     //Liste des commandes associées aux étiquettes
@@ -27,8 +29,20 @@ public class CommandMap implements CliCommand {
      * @param cout le flux de sortie pour afficher le menu et les messages
      */
     public CommandMap(BufferedReader cin, PrintStream cout) {
+        this(cin, cout, "MENU PRINCIPAL");
+    }
+
+    /**
+     * Construit un nouveau menu CLI portant un titre, par exemple un sous-menu.
+     *
+     * @param cin le flux d'entrée pour lire les choix de l'utilisateur
+     * @param cout le flux de sortie pour afficher le menu et les messages
+     * @param title le titre affiché au-dessus du menu
+     */
+    public CommandMap(BufferedReader cin, PrintStream cout, String title) {
         this.cin = cin;
         this.cout = cout;
+        this.title = title;
     }
 
     /**
@@ -74,7 +88,7 @@ public class CommandMap implements CliCommand {
      * Chaque commande est numérotée, et une option "Quitter" est ajoutée à la fin.
      */
     private void displayItems() {
-        cout.println("\n--- MENU PRINCIPAL ---");
+        cout.println("\n--- " + title + " ---");
         for (int i = 0; i < labels.size(); i++) {
             cout.printf("%d. %s%n", i + 1, labels.get(i));
         }
@@ -83,6 +97,7 @@ public class CommandMap implements CliCommand {
 
     /**
      * Lit le choix de l'utilisateur à partir du flux d'entrée.
+     * La fin du flux d'entrée (entrée fermée, client déconnecté) équivaut à "Quitter".
      *
      * @return l'indice choisi par l'utilisateur (1-based) ou -1 en cas d'erreur de lecture ou de format
      */
@@ -90,7 +105,10 @@ public class CommandMap implements CliCommand {
         cout.print("Votre choix : ");
         try {
             String input = cin.readLine();
-            return Integer.parseInt(input);
+            if (input == null) {
+                return labels.size() + 1;
+            }
+            return Integer.parseInt(input.trim());
         } catch (IOException | NumberFormatException e) {
             // Retourne -1 si la lecture échoue ou si l'entrée n'est pas un nombre
             return -1;
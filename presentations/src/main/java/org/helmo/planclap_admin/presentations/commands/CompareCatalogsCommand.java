@@ -0,0 +1,26 @@
+package org.helmo.planclap_admin.presentations.commands;
+
+import org.helmo.planclap_admin.presentations.CompareCatalogsPresenter;
+
+/**
+ * Commande CLI permettant de comparer deux catalogues et de fusionner l'un dans l'autre.
+ * Délègue l'exécution au présentateur CompareCatalogsPresenter.
+ */
+public class CompareCatalogsCommand implements CliCommand {
+
+    private final CompareCatalogsPresenter presenter;
+
+    /**
+     * Construit une commande de comparaison des catalogues.
+     *
+     * @param presenter le présentateur gérant la comparaison
+     */
+    public CompareCatalogsCommand(CompareCatalogsPresenter presenter) {
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void execute() {
+        presenter.compare();
+    }
+}
@@ -0,0 +1,26 @@
+package org.helmo.planclap_admin.presentations.commands;
+
+import org.helmo.planclap_admin.presentations.FindDuplicatesPresenter;
+
+/**
+ * Commande CLI permettant de détecter les doublons du catalogue.
+ * Délègue l'exécution au présentateur FindDuplicatesPresenter.
+ */
+public class FindDuplicatesCommand implements CliCommand {
+
+    private final FindDuplicatesPresenter presenter;
+
+    /**
+     * Construit une commande de détection des doublons.
+     *
+     * @param presenter le présentateur gérant la détection
+     */
+    public FindDuplicatesCommand(FindDuplicatesPresenter presenter) {
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void execute() {
+        presenter.findDuplicates();
+    }
+}
@@ -1,4 +1,26 @@
 package org.helmo.planclap_admin.presentations.commands;
 
-public class ScheduleWeekCommand {
+import org.helmo.planclap_admin.presentations.ScheduleWeekPresenter;
+
+/**
+ * Commande CLI permettant de planifier les séances de la semaine prochaine.
+ * Délègue l'exécution au présentateur ScheduleWeekPresenter.
+ */
+public class ScheduleWeekCommand implements CliCommand {
+
+    private final ScheduleWeekPresenter presenter;
+
+    /**
+     * Construit une commande de planification de la semaine.
+     *
+     * @param presenter le présentateur gérant la planification
+     */
+    public ScheduleWeekCommand(ScheduleWeekPresenter presenter) {
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void execute() {
+        presenter.scheduleWeek();
+    }
 }
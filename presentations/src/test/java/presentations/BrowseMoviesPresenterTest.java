@@ -0,0 +1,78 @@
+package presentations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.helmo.planclap_admin.presentations.*;
+import org.helmo.planclap_admin.domains.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BrowseMoviesPresenterTest {
+
+    @Mock
+    private MovieRepository mockRepository;
+
+    @Mock
+    private BrowseMoviesView mockView;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Chaque page est demandée au repository avec le préfixe, le tri par titre et un décalage")
+    void testBrowsePagesThroughQueries() {
+        // Arrange : 11 films renvoyés pour la première page (il existe donc une page suivante)
+        List<Movie> firstPage = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            firstPage.add(createTestMovie("Film " + i));
+        }
+        when(mockView.askTitlePrefix()).thenReturn("fi");
+        when(mockRepository.find(any())).thenReturn(firstPage, List.of(createTestMovie("Film 10")));
+        when(mockView.askNavigation(anyBoolean(), anyBoolean()))
+                .thenReturn(BrowseMoviesView.Navigation.NEXT, BrowseMoviesView.Navigation.QUIT);
+
+        BrowseMoviesPresenter presenter = new BrowseMoviesPresenter(mockRepository, mockView);
+
+        // Act
+        presenter.browse();
+
+        // Assert
+        ArgumentCaptor<MovieQuery> queryCaptor = ArgumentCaptor.forClass(MovieQuery.class);
+        verify(mockRepository, times(2)).find(queryCaptor.capture());
+        MovieQuery second = queryCaptor.getAllValues().get(1);
+        assertEquals("fi", second.getTitlePrefix());
+        assertEquals(MovieQuery.Order.TITLE, second.getOrder());
+        assertEquals(10, second.getOffset());
+
+        ArgumentCaptor<List<MovieViewModel>> pageCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockView).showPage(pageCaptor.capture(), eq(1));
+        assertEquals(10, pageCaptor.getValue().size());
+        verify(mockView).askNavigation(false, true);
+        verify(mockView).askNavigation(true, false);
+        verify(mockRepository, never()).loadMovies();
+    }
+
+    @Test
+    @DisplayName("Une erreur du repository est signalée à la vue")
+    void testBrowseWithRepositoryError() {
+        when(mockView.askTitlePrefix()).thenReturn("");
+        when(mockRepository.find(any())).thenThrow(new RuntimeException("Erreur simulée"));
+
+        new BrowseMoviesPresenter(mockRepository, mockView).browse();
+
+        verify(mockView).displayError(contains("Impossible de parcourir les films"));
+    }
+
+    private static Movie createTestMovie(String title) {
+        return new Movie(title, 100, "https://example.com/poster.jpg", "Description de test", List.of("AL"), 1);
+    }
+}
@@ -0,0 +1,82 @@
+package presentations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.helmo.planclap_admin.presentations.*;
+import org.helmo.planclap_admin.domains.*;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.mockito.Mockito.*;
+
+class CompareCatalogsPresenterTest {
+
+    @Mock
+    private CatalogReconciler mockReconciler;
+
+    @Mock
+    private CompareCatalogsView mockView;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockReconciler.catalogNames()).thenReturn(List.of("staging", "production"));
+    }
+
+    @Test
+    @DisplayName("Les différences sont affichées au fil de la comparaison puis la fusion est proposée")
+    void testCompareThenMerge() {
+        Movie dune = createTestMovie("Dune", 166);
+        when(mockView.askCatalog(eq("source"), any())).thenReturn("staging");
+        when(mockView.askCatalog("cible", List.of("production"))).thenReturn("production");
+        when(mockReconciler.diff(eq("staging"), eq("production"), any())).thenAnswer(invocation -> {
+            Consumer<MovieChange> changes = invocation.getArgument(2);
+            changes.accept(MovieChange.added(createTestMovie("Vaiana 2", 100)));
+            changes.accept(MovieChange.changed(dune, createTestMovie("Dune", 170)));
+            return new CatalogDiffSummary(1, 0, 1, 0);
+        });
+        when(mockView.askMerge("staging", "production")).thenReturn(true);
+        when(mockReconciler.merge("staging", "production")).thenReturn(new CatalogDiffSummary(1, 0, 1, 0));
+
+        new CompareCatalogsPresenter(mockReconciler, mockView).compare();
+
+        verify(mockView).showAdded(any());
+        verify(mockView).showChanged(any(), any());
+        verify(mockView).showSummary(1, 0, 1);
+        verify(mockView).showMergeResult(2, 0);
+    }
+
+    @Test
+    @DisplayName("Sans différence à fusionner, la fusion n'est pas proposée")
+    void testNoMergeWhenOnlyRemovals() {
+        when(mockView.askCatalog(eq("source"), any())).thenReturn("staging");
+        when(mockView.askCatalog(eq("cible"), any())).thenReturn("production");
+        when(mockReconciler.diff(any(), any(), any())).thenReturn(new CatalogDiffSummary(0, 3, 0, 0));
+
+        new CompareCatalogsPresenter(mockReconciler, mockView).compare();
+
+        verify(mockView).showSummary(0, 3, 0);
+        verify(mockView, never()).askMerge(any(), any());
+        verify(mockReconciler, never()).merge(any(), any());
+    }
+
+    @Test
+    @DisplayName("Une erreur de lecture d'un catalogue est signalée à la vue")
+    void testCompareWithReconcilerError() {
+        when(mockView.askCatalog(eq("source"), any())).thenReturn("staging");
+        when(mockView.askCatalog(eq("cible"), any())).thenReturn("production");
+        when(mockReconciler.diff(any(), any(), any())).thenThrow(new RuntimeException("Erreur simulée"));
+
+        new CompareCatalogsPresenter(mockReconciler, mockView).compare();
+
+        verify(mockView).displayError(contains("Impossible de comparer les catalogues"));
+    }
+
+    private static Movie createTestMovie(String title, int duration) {
+        return new Movie(title, duration, "https://example.com/poster.jpg", "Description de test", List.of("AL"), 1);
+    }
+}
@@ -1,4 +1,68 @@
 package presentations;
 
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.helmo.planclap_admin.presentations.*;
+import org.helmo.planclap_admin.domains.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
 public class ConsultMoviePresenterTest {
+
+    @Mock
+    private MovieRepository mockRepository;
+
+    @Mock
+    private ConsultMovieView mockView;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testConsultFindsMovieWithTypo() {
+        // Arrange
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(
+                new Movie("Dune", 166, null, null, List.of("12", "Violence"), 3))));
+        when(mockView.askForTitleOrSlug()).thenReturn("dnue");
+
+        ConsultMoviePresenter presenter = new ConsultMoviePresenter(mockRepository, mockView);
+
+        // Act
+        presenter.consult();
+
+        // Assert
+        ArgumentCaptor<MovieViewModel> captor = ArgumentCaptor.forClass(MovieViewModel.class);
+        verify(mockView).displayMovieDetails(captor.capture());
+        assertEquals("Dune", captor.getValue().getTitle());
+        assertEquals("12 ans, Violence", captor.getValue().getCinechecks());
+    }
+
+    @Test
+    void testConsultSeesMovieWrittenByAnotherProcess() {
+        // Arrange : chaque recherche lit l'instantané courant, sans cache
+        Movie dune = new Movie("Dune", 166, null, null, List.of("AL"), 3);
+        Movie rocky = new Movie("Rocky", 119, null, null, List.of("AL"), 2);
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(dune)),
+                CatalogSnapshot.of(2, List.of(dune, rocky)));
+        when(mockView.askForTitleOrSlug()).thenReturn("rocky");
+
+        ConsultMoviePresenter presenter = new ConsultMoviePresenter(mockRepository, mockView);
+
+        // Act
+        presenter.consult();
+        presenter.consult();
+
+        // Assert
+        verify(mockView).displayNoMatchFound();
+        verify(mockView).displayMovieDetails(any());
+        verify(mockRepository, never()).loadMovies();
+    }
 }
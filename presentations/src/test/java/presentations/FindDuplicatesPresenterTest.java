@@ -0,0 +1,64 @@
+package presentations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.helmo.planclap_admin.presentations.*;
+import org.helmo.planclap_admin.domains.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FindDuplicatesPresenterTest {
+
+    @Mock
+    private MovieRepository mockRepository;
+
+    @Mock
+    private FindDuplicatesView mockView;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Les films dont les slugs sont proches sont signalés, les autres non")
+    void testFindDuplicatesReportsCloseSlugs() {
+        when(mockView.askMaxDistance(anyInt(), anyInt())).thenReturn(2);
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(
+                createTestMovie("Godzilla vs Kong"),
+                createTestMovie("Rocky"),
+                createTestMovie("Godzilla x Kong"),
+                createTestMovie("Dune"))));
+
+        new FindDuplicatesPresenter(mockRepository, mockView).findDuplicates();
+
+        ArgumentCaptor<MovieViewModel> first = ArgumentCaptor.forClass(MovieViewModel.class);
+        ArgumentCaptor<MovieViewModel> second = ArgumentCaptor.forClass(MovieViewModel.class);
+        verify(mockView).showPair(first.capture(), second.capture(), eq(2));
+        assertEquals("godzilla-vs-kong", first.getValue().getSlug());
+        assertEquals("godzilla-x-kong", second.getValue().getSlug());
+        verify(mockView).showSummary(1, 4);
+    }
+
+    @Test
+    @DisplayName("Une erreur du repository est signalée à la vue")
+    void testFindDuplicatesWithRepositoryError() {
+        when(mockView.askMaxDistance(anyInt(), anyInt())).thenReturn(2);
+        when(mockRepository.snapshot()).thenThrow(new RuntimeException("Erreur simulée"));
+
+        new FindDuplicatesPresenter(mockRepository, mockView).findDuplicates();
+
+        verify(mockView).displayError(contains("Impossible de détecter les doublons"));
+    }
+
+    private static Movie createTestMovie(String title) {
+        return new Movie(title, 100, "https://example.com/poster.jpg", "Description de test", List.of("AL"), 1);
+    }
+}
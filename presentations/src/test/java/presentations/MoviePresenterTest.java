@@ -5,9 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.helmo.planclap_admin.presentations.*;
 import org.helmo.planclap_admin.domains.*;
 
+import java.io.IOException;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +26,7 @@ class MoviePresenterTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(mockRepository.view()).thenReturn(CatalogSnapshot.empty());
     }
 
     @Test
@@ -34,7 +37,7 @@ class MoviePresenterTest {
                 createTestMovie("Dune : Deuxième Partie", 166, 1)
         );
 
-        when(mockRepository.loadMovies()).thenReturn(movies);
+        when(mockRepository.streamMovies()).thenReturn(MoviePublisher.of(movies));
 
         MoviePresenter presenter = new MoviePresenter(mockRepository, mockView);
 
@@ -42,37 +45,34 @@ class MoviePresenterTest {
         presenter.displayMovies();
 
         // Assert
-        // Capture les arguments passés à showMovies()
-        ArgumentCaptor<List<MovieViewModel>> moviesCaptor = ArgumentCaptor.forClass(List.class);
-        ArgumentCaptor<String> dateCaptor = ArgumentCaptor.forClass(String.class);
+        // Le premier affichage est progressif : un appel à showMovie() par film
+        ArgumentCaptor<MovieViewModel> movieCaptor = ArgumentCaptor.forClass(MovieViewModel.class);
         ArgumentCaptor<Integer> heuresCaptor = ArgumentCaptor.forClass(Integer.class);
         ArgumentCaptor<Integer> minutesCaptor = ArgumentCaptor.forClass(Integer.class);
 
-        verify(mockView).showMovies(
-                moviesCaptor.capture(),
-                dateCaptor.capture(),
-                heuresCaptor.capture(),
-                minutesCaptor.capture()
-        );
+        InOrder inOrder = inOrder(mockView);
+        inOrder.verify(mockView).beginMovies(anyString());
+        inOrder.verify(mockView, times(2)).showMovie(movieCaptor.capture());
+        inOrder.verify(mockView).endMovies(eq(2), heuresCaptor.capture(), minutesCaptor.capture());
 
         // Vérifications
-        List<MovieViewModel> displayedMovies = moviesCaptor.getValue();
+        List<MovieViewModel> displayedMovies = movieCaptor.getAllValues();
         assertEquals(2, displayedMovies.size());
         assertEquals("Vaiana", displayedMovies.get(0).getTitle());
         assertEquals("Dune : Deuxième Partie", displayedMovies.get(1).getTitle());
 
-        assertNotNull(dateCaptor.getValue());
-        assertTrue(heuresCaptor.getValue() >= 0);
-        assertTrue(minutesCaptor.getValue() >= 0);
+        assertEquals((100 + 166) / 60, heuresCaptor.getValue());
+        assertEquals((100 + 166) % 60, minutesCaptor.getValue());
 
-        // Vérifie que displayError n'a PAS été appelé
+        // Vérifie que displayError n'a PAS été appelé et que le catalogue n'est pas matérialisé
         verify(mockView, never()).displayError(anyString());
+        verify(mockRepository, never()).loadMovies();
     }
 
     @Test
     void testDisplayMoviesWithEmptyList() {
         // Arrange
-        when(mockRepository.loadMovies()).thenReturn(new ArrayList<>());
+        when(mockRepository.streamMovies()).thenReturn(MoviePublisher.of(new ArrayList<>()));
 
         MoviePresenter presenter = new MoviePresenter(mockRepository, mockView);
 
@@ -80,26 +80,15 @@ class MoviePresenterTest {
         presenter.displayMovies();
 
         // Assert
-        ArgumentCaptor<List<MovieViewModel>> moviesCaptor = ArgumentCaptor.forClass(List.class);
-        ArgumentCaptor<Integer> heuresCaptor = ArgumentCaptor.forClass(Integer.class);
-        ArgumentCaptor<Integer> minutesCaptor = ArgumentCaptor.forClass(Integer.class);
-
-        verify(mockView).showMovies(
-                moviesCaptor.capture(),
-                anyString(),
-                heuresCaptor.capture(),
-                minutesCaptor.capture()
-        );
-
-        assertTrue(moviesCaptor.getValue().isEmpty());
-        assertEquals(0, heuresCaptor.getValue());
-        assertEquals(0, minutesCaptor.getValue());
+        verify(mockView).beginMovies(anyString());
+        verify(mockView, never()).showMovie(any());
+        verify(mockView).endMovies(0, 0, 0);
     }
 
     @Test
     void testDisplayMoviesWithRepositoryError() {
         // Arrange
-        when(mockRepository.loadMovies()).thenThrow(new RuntimeException("Erreur simulée"));
+        when(mockRepository.streamMovies()).thenThrow(new RuntimeException("Erreur simulée"));
 
         MoviePresenter presenter = new MoviePresenter(mockRepository, mockView);
 
@@ -117,6 +106,78 @@ class MoviePresenterTest {
         verify(mockView, never()).showMovies(anyList(), anyString(), anyInt(), anyInt());
     }
 
+    @Test
+    void testDisplayMoviesWithStreamError() {
+        // Arrange : la source échoue après le premier film
+        Movie first = createTestMovie("Vaiana", 100, 1);
+        boolean[] delivered = {false};
+        when(mockRepository.streamMovies()).thenReturn(new MoviePublisher(() -> () -> {
+            if (delivered[0]) {
+                throw new IOException("Fichier tronqué");
+            }
+            delivered[0] = true;
+            return first;
+        }, Runnable::run));
+
+        MoviePresenter presenter = new MoviePresenter(mockRepository, mockView);
+
+        // Act
+        presenter.displayMovies();
+
+        // Assert
+        verify(mockView).showMovie(any());
+        verify(mockView, never()).endMovies(anyInt(), anyInt(), anyInt());
+        verify(mockView).displayError(contains("Impossible de charger les films"));
+    }
+
+    @Test
+    void testDisplayMoviesUsesCacheUpdatedByEvents() {
+        // Arrange
+        when(mockRepository.streamMovies()).thenReturn(MoviePublisher.of(List.of(createTestMovie("Vaiana", 100, 1))));
+
+        MoviePresenter presenter = new MoviePresenter(mockRepository, mockView);
+        ArgumentCaptor<CatalogListener> listenerCaptor = ArgumentCaptor.forClass(CatalogListener.class);
+        verify(mockRepository).addListener(listenerCaptor.capture());
+
+        // Act
+        presenter.displayMovies();
+        listenerCaptor.getValue().onMovieAdded(createTestMovie("Rocky", 119, 2));
+        presenter.displayMovies();
+
+        // Assert
+        ArgumentCaptor<List<MovieViewModel>> moviesCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Integer> heuresCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(mockView).showMovies(moviesCaptor.capture(), anyString(), heuresCaptor.capture(), anyInt());
+
+        // Le catalogue n'est lu qu'une seule fois, l'ajout est appliqué au cache
+        verify(mockRepository, times(1)).streamMovies();
+        verify(mockRepository, never()).loadMovies();
+        assertEquals(2, moviesCaptor.getValue().size());
+        assertEquals((100 + 119 * 2) / 60, heuresCaptor.getValue());
+    }
+
+    @Test
+    void testDisplayMoviesReloadsAfterWriteFromAnotherProcess() {
+        // Arrange : le catalogue change de version sans événement (écriture d'un autre processus)
+        List<Movie> before = List.of(createTestMovie("Vaiana", 100, 1));
+        List<Movie> after = List.of(createTestMovie("Vaiana", 100, 1), createTestMovie("Rocky", 119, 2));
+        when(mockRepository.view()).thenReturn(CatalogSnapshot.of(1, before));
+        when(mockRepository.streamMovies()).thenReturn(MoviePublisher.of(before), MoviePublisher.of(after));
+
+        MoviePresenter presenter = new MoviePresenter(mockRepository, mockView);
+
+        // Act
+        presenter.displayMovies();
+        presenter.displayMovies();
+        when(mockRepository.view()).thenReturn(CatalogSnapshot.of(2, after));
+        presenter.displayMovies();
+
+        // Assert : le cache sert le deuxième affichage, le troisième relit le catalogue
+        verify(mockRepository, times(2)).streamMovies();
+        verify(mockView, times(1)).showMovies(anyList(), anyString(), anyInt(), anyInt());
+        verify(mockView).endMovies(eq(2), anyInt(), anyInt());
+    }
+
     // --- Méthode utilitaire pour créer des films de test ---
 
     private static Movie createTestMovie(String title, int duration, int seances) {
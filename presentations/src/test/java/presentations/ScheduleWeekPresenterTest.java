@@ -0,0 +1,258 @@
+package presentations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.helmo.planclap_admin.presentations.*;
+import org.helmo.planclap_admin.domains.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ScheduleWeekPresenterTest {
+
+    @Mock
+    private MovieRepository mockRepository;
+
+    @Mock
+    private PlanningRepository mockPlanningRepository;
+
+    @Mock
+    private ScheduleWeekView mockView;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Toutes les séances sont placées, enregistrées et affichées sur les sept jours")
+    void testScheduleWeekPlacesAllSeances() {
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(
+                createTestMovie("Dune", 155, 7),
+                createTestMovie("Rocky", 120, 3))));
+
+        new ScheduleWeekPresenter(mockRepository, mockPlanningRepository, new SchedulerService(), mockView).scheduleWeek();
+
+        ArgumentCaptor<WeekPlan> plan = ArgumentCaptor.forClass(WeekPlan.class);
+        verify(mockPlanningRepository).save(plan.capture());
+        assertTrue(plan.getValue().isComplete());
+        assertEquals(10, plan.getValue().getSeances().size());
+        verify(mockView, times(7)).showDay(anyString(), anyList());
+        verify(mockView).endSchedule(10, 0, List.of());
+    }
+
+    @Test
+    @DisplayName("Le premier jour affiché est le lundi et ses séances commencent à l'ouverture")
+    void testScheduleWeekStartsOnMonday() {
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(
+                createTestMovie("Dune", 155, 1))));
+
+        new ScheduleWeekPresenter(mockRepository, mockPlanningRepository, new SchedulerService(), mockView).scheduleWeek();
+
+        ArgumentCaptor<String> label = ArgumentCaptor.forClass(String.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SeanceViewModel>> seances = ArgumentCaptor.forClass(List.class);
+        verify(mockView, times(7)).showDay(label.capture(), seances.capture());
+        assertTrue(label.getAllValues().get(0).startsWith("Lundi"));
+        assertEquals("13:00", seances.getAllValues().get(0).get(0).getStart());
+        assertEquals("15:35", seances.getAllValues().get(0).get(0).getEnd());
+    }
+
+    @Test
+    @DisplayName("Avec deux salles, deux films commencent à l'ouverture le même jour")
+    void testScheduleWeekUsesEveryRoom() {
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(
+                createTestMovie("Dune", 155, 1),
+                createTestMovie("Rocky", 120, 1))));
+        SchedulerService scheduler = new SchedulerService(ForkJoinPool.commonPool(), SchedulerService.DEFAULT_BUDGET, 0, 2);
+
+        new ScheduleWeekPresenter(mockRepository, mockPlanningRepository, scheduler, mockView).scheduleWeek();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SeanceViewModel>> seances = ArgumentCaptor.forClass(List.class);
+        verify(mockView, times(7)).showDay(anyString(), seances.capture());
+        List<SeanceViewModel> monday = seances.getAllValues().get(0);
+        assertEquals(2, monday.size());
+        assertEquals("13:00", monday.get(0).getStart());
+        assertEquals("13:00", monday.get(1).getStart());
+        assertEquals(Set.of(1, 2), Set.of(monday.get(0).getRoom(), monday.get(1).getRoom()));
+    }
+
+    @Test
+    @DisplayName("Avec les plages Cinecheck, un film « 18 » commence à 20 h au plus tôt, même quand la salle est libre avant")
+    void testScheduleWeekRespectsCinecheckWindows() {
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(
+                new Movie("Alien", 117, "https://example.com/poster.jpg", "Description de test", List.of("18"), 1))));
+        SchedulerService scheduler = new SchedulerService()
+                .withConstraints(ScheduleConstraints.builder().defaultCinecheckWindows().build());
+
+        new ScheduleWeekPresenter(mockRepository, mockPlanningRepository, scheduler, mockView).scheduleWeek();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SeanceViewModel>> seances = ArgumentCaptor.forClass(List.class);
+        verify(mockView, times(7)).showDay(anyString(), seances.capture());
+        assertEquals("20:00", seances.getAllValues().get(0).get(0).getStart());
+        verify(mockView).endSchedule(1, 0, List.of());
+    }
+
+    @Test
+    @DisplayName("Par défaut, un catalogue qui remplit exactement les 77 heures de la semaine est entièrement placé")
+    void testScheduleWeekFillsFullCapacityByDefault() {
+        // 4 films de 2 h 45, 7 séances chacun : 28 séances, 4 par jour, 77 heures au total
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(
+                createTestMovie("Dune", 165, 7),
+                createTestMovie("Rocky", 165, 7),
+                createTestMovie("Alien", 165, 7),
+                createTestMovie("Heat", 165, 7))));
+
+        new ScheduleWeekPresenter(mockRepository, mockPlanningRepository, new SchedulerService(), mockView).scheduleWeek();
+
+        ArgumentCaptor<WeekPlan> plan = ArgumentCaptor.forClass(WeekPlan.class);
+        verify(mockPlanningRepository).save(plan.capture());
+        assertTrue(plan.getValue().isComplete());
+        assertEquals(28, plan.getValue().getSeances().size());
+        verify(mockView).endSchedule(28, 0, List.of());
+    }
+
+    @Test
+    @DisplayName("Un film encodé après la planification est ajouté sans déplacer les séances existantes")
+    void testScheduleWeekUpdatesExistingPlan() {
+        Movie dune = createTestMovie("Dune", 155, 2);
+        Movie rocky = createTestMovie("Rocky", 120, 1);
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(dune)));
+        ScheduleWeekPresenter presenter = new ScheduleWeekPresenter(
+                mockRepository, mockPlanningRepository, new SchedulerService(), mockView);
+
+        presenter.scheduleWeek();
+        ArgumentCaptor<WeekPlan> first = ArgumentCaptor.forClass(WeekPlan.class);
+        verify(mockPlanningRepository).save(first.capture());
+        when(mockPlanningRepository.load(any(), any())).thenReturn(Optional.of(first.getValue()));
+
+        // Ajout fait par un autre processus : aucun événement n'est reçu, seul le catalogue a changé
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(2, List.of(dune, rocky)));
+        presenter.scheduleWeek();
+
+        ArgumentCaptor<WeekPlan> second = ArgumentCaptor.forClass(WeekPlan.class);
+        verify(mockPlanningRepository, times(2)).save(second.capture());
+        assertEquals(3, second.getValue().getSeances().size());
+        assertTrue(second.getValue().getSeances().containsAll(first.getValue().getSeances()));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> added = ArgumentCaptor.forClass(List.class);
+        verify(mockView).showRevision(added.capture(), eq(List.of()), eq(List.of()));
+        assertEquals(1, added.getValue().size());
+        assertTrue(added.getValue().get(0).startsWith("Rocky"));
+    }
+
+    @Test
+    @DisplayName("Quand un film demande moins de séances, les séances en trop du planning enregistré sont supprimées")
+    void testScheduleWeekRemovesExtraSeances() {
+        Movie dune = createTestMovie("Dune", 155, 3);
+        Movie rocky = createTestMovie("Rocky", 120, 1);
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(dune, rocky)));
+        ScheduleWeekPresenter presenter = new ScheduleWeekPresenter(
+                mockRepository, mockPlanningRepository, new SchedulerService(), mockView);
+        presenter.scheduleWeek();
+        ArgumentCaptor<WeekPlan> first = ArgumentCaptor.forClass(WeekPlan.class);
+        verify(mockPlanningRepository).save(first.capture());
+        when(mockPlanningRepository.load(any(), any())).thenReturn(Optional.of(first.getValue()));
+
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(2, List.of(
+                new Movie("dune", "Dune", 155, "https://example.com/poster.jpg", "Description de test",
+                        List.of("AL"), 1),
+                rocky)));
+        presenter.scheduleWeek();
+
+        ArgumentCaptor<WeekPlan> second = ArgumentCaptor.forClass(WeekPlan.class);
+        verify(mockPlanningRepository, times(2)).save(second.capture());
+        assertEquals(2, second.getValue().getSeances().size());
+        assertEquals(1, second.getValue().getSeances().stream()
+                .filter(seance -> seance.getMovie().getSlug().equals("dune")).count());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> removed = ArgumentCaptor.forClass(List.class);
+        verify(mockView).showRevision(eq(List.of()), eq(List.of()), removed.capture());
+        assertEquals(2, removed.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Les séances qui se chevauchent dans un planning modifié à la main sont signalées puis replacées")
+    void testScheduleWeekReportsConflictsOfEditedPlan() {
+        Movie dune = createTestMovie("Dune", 155, 1);
+        Movie rocky = createTestMovie("Rocky", 120, 1);
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(dune, rocky)));
+        when(mockPlanningRepository.load(any(), any())).thenAnswer(invocation -> {
+            java.time.LocalDate monday = invocation.getArgument(0);
+            return Optional.of(new WeekPlan(monday, List.of(
+                    new Seance(dune, monday, 14 * 60),
+                    new Seance(rocky, monday, 15 * 60)), List.of()));
+        });
+
+        new ScheduleWeekPresenter(mockRepository, mockPlanningRepository, new SchedulerService(), mockView).scheduleWeek();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> conflicts = ArgumentCaptor.forClass(List.class);
+        verify(mockView).showConflicts(conflicts.capture());
+        assertEquals(1, conflicts.getValue().size());
+        ArgumentCaptor<WeekPlan> plan = ArgumentCaptor.forClass(WeekPlan.class);
+        verify(mockPlanningRepository).save(plan.capture());
+        assertTrue(new SchedulerService().validate(plan.getValue()).isEmpty());
+        assertEquals(2, plan.getValue().getSeances().size());
+    }
+
+    @Test
+    @DisplayName("La recherche se déroule pendant que la vue attend, et l'interruption garde un planning")
+    void testScheduleWeekCanBeInterrupted() {
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(
+                createTestMovie("Dune", 155, 7),
+                createTestMovie("Rocky", 120, 3))));
+        when(mockView.waitForSearch(any())).thenReturn(true);
+
+        new ScheduleWeekPresenter(mockRepository, mockPlanningRepository, new SchedulerService(), mockView).scheduleWeek();
+
+        verify(mockView).waitForSearch(any());
+        verify(mockView, atLeastOnce()).showProgress(anyInt(), anyInt(), anyString(), anyInt());
+        verify(mockPlanningRepository).save(any());
+        verify(mockView, never()).displayError(anyString());
+    }
+
+    @Test
+    @DisplayName("Les semaines suivantes reprennent le planning de la semaine précédente")
+    void testScheduleWeekPlansFollowingWeeks() {
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(
+                createTestMovie("Dune", 155, 7),
+                createTestMovie("Rocky", 120, 3))));
+        when(mockView.askWeeks(anyInt(), anyInt())).thenReturn(3);
+
+        new ScheduleWeekPresenter(mockRepository, mockPlanningRepository, new SchedulerService(), mockView).scheduleWeek();
+
+        ArgumentCaptor<WeekPlan> plans = ArgumentCaptor.forClass(WeekPlan.class);
+        verify(mockPlanningRepository, times(3)).save(plans.capture());
+        WeekPlan first = plans.getAllValues().get(0);
+        WeekPlan third = plans.getAllValues().get(2);
+        assertEquals(first.getMonday().plusWeeks(2), third.getMonday());
+        assertEquals(first.getSeances().get(0).getStartMinute(), third.getSeances().get(0).getStartMinute());
+        verify(mockView, times(2)).showFollowingWeek(anyString(), eq(10), eq(0), eq(0));
+    }
+
+    @Test
+    @DisplayName("Une erreur d'enregistrement est signalée à la vue")
+    void testScheduleWeekWithSaveError() {
+        when(mockRepository.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(
+                createTestMovie("Dune", 155, 1))));
+        doThrow(new RuntimeException("Erreur simulée")).when(mockPlanningRepository).save(any());
+
+        new ScheduleWeekPresenter(mockRepository, mockPlanningRepository, new SchedulerService(), mockView).scheduleWeek();
+
+        verify(mockView).displayError(contains("Impossible de planifier la semaine"));
+    }
+
+    private static Movie createTestMovie(String title, int duration, int seances) {
+        return new Movie(title, duration, "https://example.com/poster.jpg", "Description de test", List.of("AL"), seances);
+    }
+}
@@ -0,0 +1,100 @@
+package org.helmo.planclap_admin.views;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.helmo.planclap_admin.presentations.BrowseMoviesView;
+import org.helmo.planclap_admin.presentations.MovieViewModel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Implémentation CLI de la vue pour parcourir le catalogue page par page.
+ *
+ * <p>Les films sont affichés comme dans la liste des films à planifier
+ * (titre, durée, séances) ; l'utilisateur navigue avec S (suivante),
+ * P (précédente) et Q (quitter).</p>
+ */
+public class BrowseMoviesCLIView implements BrowseMoviesView {
+
+    private static final Logger logger = LogManager.getLogger(BrowseMoviesCLIView.class);
+
+    private final BufferedReader in;
+    private final PrintStream out;
+
+    /**
+     * Construit une nouvelle vue CLI pour le parcours du catalogue.
+     *
+     * @param in le flux pour lire les entrées utilisateur
+     * @param out le flux de sortie pour afficher les messages
+     */
+    public BrowseMoviesCLIView(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    @Override
+    public String askTitlePrefix() {
+        out.println();
+        out.print("Début du titre (vide pour tous les films) : ");
+        return readLine();
+    }
+
+    @Override
+    public void showPage(List<MovieViewModel> movies, int page) {
+        out.println("\n--- FILMS (page " + page + ") ---");
+        if (movies.isEmpty()) {
+            out.println("Aucun film.");
+        }
+        for (MovieViewModel movie : movies) {
+            out.printf("%s - %s - %d séances%n",
+                    movie.getTitle(),
+                    movie.getDurationHHMM(),
+                    movie.getNbSeances());
+        }
+    }
+
+    @Override
+    public Navigation askNavigation(boolean hasPrevious, boolean hasNext) {
+        StringBuilder prompt = new StringBuilder();
+        if (hasNext) {
+            prompt.append("S = suivante, ");
+        }
+        if (hasPrevious) {
+            prompt.append("P = précédente, ");
+        }
+        prompt.append("Q = quitter : ");
+
+        while (true) {
+            out.print(prompt);
+            String input = readLine();
+            if (input == null || input.equalsIgnoreCase("q")) {
+                return Navigation.QUIT;
+            }
+            if (hasNext && input.equalsIgnoreCase("s")) {
+                return Navigation.NEXT;
+            }
+            if (hasPrevious && input.equalsIgnoreCase("p")) {
+                return Navigation.PREVIOUS;
+            }
+            out.println("Entrée inconnue");
+        }
+    }
+
+    @Override
+    public void displayError(String message) {
+        out.println("Erreur : " + message);
+    }
+
+    private String readLine() {
+        try {
+            String line = in.readLine();
+            return line == null ? null : line.trim();
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture de l'entrée utilisateur", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.helmo.planclap_admin.views;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.helmo.planclap_admin.presentations.CompareCatalogsView;
+import org.helmo.planclap_admin.presentations.MovieViewModel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Implémentation CLI de la vue pour comparer deux catalogues.
+ *
+ * <p>Les catalogues sont choisis par leur numéro ; chaque différence est affichée
+ * sur une ligne préfixée par + (ajout), - (retrait) ou ~ (modification).</p>
+ */
+public class CompareCatalogsCLIView implements CompareCatalogsView {
+
+    private static final Logger logger = LogManager.getLogger(CompareCatalogsCLIView.class);
+
+    private final BufferedReader in;
+    private final PrintStream out;
+
+    /**
+     * Construit une nouvelle vue CLI pour la comparaison des catalogues.
+     *
+     * @param in le flux pour lire les entrées utilisateur
+     * @param out le flux de sortie pour afficher les messages
+     */
+    public CompareCatalogsCLIView(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    @Override
+    public String askCatalog(String role, List<String> names) {
+        out.println("\nCatalogue " + role + " :");
+        for (int i = 0; i < names.size(); i++) {
+            out.println((i + 1) + ". " + names.get(i));
+        }
+        while (true) {
+            out.print("Votre choix (vide pour annuler) : ");
+            String input = readLine();
+            if (input == null || input.isEmpty()) {
+                return null;
+            }
+            try {
+                int choice = Integer.parseInt(input);
+                if (choice >= 1 && choice <= names.size()) {
+                    return names.get(choice - 1);
+                }
+            } catch (NumberFormatException e) {
+                // Entrée non numérique : nouvelle demande
+            }
+            out.println("Entrée inconnue");
+        }
+    }
+
+    @Override
+    public void showAdded(MovieViewModel movie) {
+        out.printf("+ %s (%s)%n", movie.getTitle(), movie.getSlug());
+    }
+
+    @Override
+    public void showRemoved(MovieViewModel movie) {
+        out.printf("- %s (%s)%n", movie.getTitle(), movie.getSlug());
+    }
+
+    @Override
+    public void showChanged(MovieViewModel before, MovieViewModel after) {
+        out.printf("~ %s (%s)%n", after.getTitle(), after.getSlug());
+        printIfDifferent("titre", before.getTitle(), after.getTitle());
+        printIfDifferent("durée", before.getDurationHHMM(), after.getDurationHHMM());
+        printIfDifferent("séances", String.valueOf(before.getNbSeances()), String.valueOf(after.getNbSeances()));
+        printIfDifferent("Cinecheck", before.getCinechecks(), after.getCinechecks());
+        printIfDifferent("affiche", before.getPosterUrl(), after.getPosterUrl());
+        printIfDifferent("description", before.getDescription(), after.getDescription());
+    }
+
+    @Override
+    public void showHidden(int count) {
+        out.println("... et " + count + " autre(s) différence(s)");
+    }
+
+    @Override
+    public void showSummary(int added, int removed, int changed) {
+        if (added + removed + changed == 0) {
+            out.println("Les deux catalogues sont identiques.");
+            return;
+        }
+        out.printf("%d film(s) ajouté(s), %d retiré(s), %d modifié(s)%n", added, removed, changed);
+    }
+
+    @Override
+    public boolean askMerge(String source, String target) {
+        out.print("Fusionner " + source + " dans " + target + " ? (o/n) : ");
+        String input = readLine();
+        return input != null && input.equalsIgnoreCase("o");
+    }
+
+    @Override
+    public void showMergeResult(int applied, int rejected) {
+        out.println(applied + " film(s) fusionné(s)" + (rejected > 0 ? ", " + rejected + " rejeté(s)" : ""));
+    }
+
+    @Override
+    public void displayError(String message) {
+        out.println("Erreur : " + message);
+    }
+
+    private void printIfDifferent(String label, String before, String after) {
+        if (before == null ? after != null : !before.equals(after)) {
+            out.printf("    %s : %s -> %s%n", label, before, after);
+        }
+    }
+
+    private String readLine() {
+        try {
+            String line = in.readLine();
+            return line == null ? null : line.trim();
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture de l'entrée utilisateur", e);
+            return null;
+        }
+    }
+}
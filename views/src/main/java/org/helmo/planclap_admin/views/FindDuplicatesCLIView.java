@@ -0,0 +1,83 @@
+package org.helmo.planclap_admin.views;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.helmo.planclap_admin.presentations.FindDuplicatesView;
+import org.helmo.planclap_admin.presentations.MovieViewModel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Implémentation CLI de la vue pour la détection des doublons du catalogue.
+ */
+public class FindDuplicatesCLIView implements FindDuplicatesView {
+
+    private static final Logger logger = LogManager.getLogger(FindDuplicatesCLIView.class);
+
+    private final BufferedReader in;
+    private final PrintStream out;
+
+    /**
+     * Construit une nouvelle vue CLI pour la détection des doublons.
+     *
+     * @param in le flux pour lire les entrées utilisateur
+     * @param out le flux de sortie pour afficher les messages
+     */
+    public FindDuplicatesCLIView(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    @Override
+    public int askMaxDistance(int defaultDistance, int maxDistance) {
+        out.println();
+        while (true) {
+            out.print("Distance maximale entre deux slugs (0 à " + maxDistance + ", " + defaultDistance + " par défaut) : ");
+            String input = readLine();
+            if (input == null || input.isEmpty()) {
+                return defaultDistance;
+            }
+            try {
+                int distance = Integer.parseInt(input);
+                if (distance >= 0 && distance <= maxDistance) {
+                    return distance;
+                }
+            } catch (NumberFormatException e) {
+                // Entrée non numérique : nouvelle demande
+            }
+            out.println("Entrée inconnue");
+        }
+    }
+
+    @Override
+    public void showPair(MovieViewModel first, MovieViewModel second, int distance) {
+        out.printf("[%d] %s (%s) <-> %s (%s)%n",
+                distance, first.getTitle(), first.getSlug(), second.getTitle(), second.getSlug());
+    }
+
+    @Override
+    public void showSummary(int pairs, int movies) {
+        if (pairs == 0) {
+            out.println("Aucun doublon parmi les " + movies + " films.");
+            return;
+        }
+        out.println(pairs + " paire(s) suspecte(s) parmi les " + movies + " films.");
+    }
+
+    @Override
+    public void displayError(String message) {
+        out.println("Erreur : " + message);
+    }
+
+    private String readLine() {
+        try {
+            String line = in.readLine();
+            return line == null ? null : line.trim();
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture de l'entrée utilisateur", e);
+            return null;
+        }
+    }
+}
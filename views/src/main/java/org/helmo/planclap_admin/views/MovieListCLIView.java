@@ -1,6 +1,8 @@
 package org.helmo.planclap_admin.views;
 
 import org.helmo.planclap_admin.presentations.*;
+
+import java.io.PrintStream;
 import java.util.List;
 
 
@@ -20,6 +22,26 @@ import java.util.List;
  * n’est disponible et une durée totale de 0 h 00.</p>
  */
 public class MovieListCLIView implements MovieView {
+
+    private final PrintStream out;
+
+    /**
+     * Construit une vue qui affiche la liste sur la sortie standard.
+     */
+    public MovieListCLIView() {
+        this(System.out);
+    }
+
+    /**
+     * Construit une vue qui affiche la liste sur le flux indiqué
+     * (par exemple la connexion d'un client en mode démon).
+     *
+     * @param out le flux de sortie pour afficher les films
+     */
+    public MovieListCLIView(PrintStream out) {
+        this.out = out;
+    }
+
     /**
      * Affiche dans la console la liste des films à planifier pour le lundi de la semaine prochaine.
      * <p>
@@ -37,27 +59,48 @@ public class MovieListCLIView implements MovieView {
      */
     @Override
     public void showMovies(List<MovieViewModel> movies, String date, int totalHeures, int totalMinutes) {
-        System.out.println("\n--- FILMS À PLANIFIER POUR LE " + date + " ---");
+        out.println("\n--- FILMS À PLANIFIER POUR LE " + date + " ---");
 
         if (movies.isEmpty()) {
-            System.out.println("Aucun film à planifier.");
-            System.out.println("Durée totale : 0 h 00");
+            out.println("Aucun film à planifier.");
+            out.println("Durée totale : 0 h 00");
             return;
         }
 
         for (MovieViewModel movie : movies) {
-            System.out.printf("%s - %s - %d séances%n",
+            out.printf("%s - %s - %d séances%n",
                     movie.getTitle(),
                     movie.getDurationHHMM(),
                     movie.getNbSeances());
         }
 
-        System.out.printf("Durée totale : %d h %02d%n", totalHeures, totalMinutes);
+        out.printf("Durée totale : %d h %02d%n", totalHeures, totalMinutes);
+    }
+
+    @Override
+    public void beginMovies(String date) {
+        out.println("\n--- FILMS À PLANIFIER POUR LE " + date + " ---");
+    }
+
+    @Override
+    public void showMovie(MovieViewModel movie) {
+        out.printf("%s - %s - %d séances%n",
+                movie.getTitle(),
+                movie.getDurationHHMM(),
+                movie.getNbSeances());
+    }
+
+    @Override
+    public void endMovies(int count, int totalHeures, int totalMinutes) {
+        if (count == 0) {
+            out.println("Aucun film à planifier.");
+        }
+        out.printf("Durée totale : %d h %02d%n", totalHeures, totalMinutes);
     }
 
     @Override
     public void displayError(String message) {
-        System.out.println("Erreur : " + message);
+        out.println("Erreur : " + message);
     }
 
 
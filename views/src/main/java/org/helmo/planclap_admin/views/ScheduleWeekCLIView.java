@@ -1,4 +1,183 @@
 package org.helmo.planclap_admin.views;
 
-public class ScheduleWeekCLIView {
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.helmo.planclap_admin.presentations.ScheduleWeekView;
+import org.helmo.planclap_admin.presentations.SeanceViewModel;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implémentation CLI de la vue pour la planification des séances de la semaine.
+ *
+ * <p>Pendant la recherche, l'avancement est réécrit sur une seule ligne et la touche Entrée
+ * (ligne vide) interrompt la recherche : l'entrée est surveillée sans blocage (voir
+ * {@link TypeAheadReader#pollLine()}), le menu reste donc réactif. Les lignes non vides saisies
+ * pendant la recherche sont rendues au menu.</p>
+ */
+public class ScheduleWeekCLIView implements ScheduleWeekView {
+
+    private static final Logger logger = LogManager.getLogger(ScheduleWeekCLIView.class);
+
+    /** Intervalle de surveillance de l'entrée pendant la recherche, en millisecondes. */
+    private static final long INPUT_POLL_MILLIS = 50;
+
+    private final TypeAheadReader in;
+    private final PrintStream out;
+
+    /**
+     * Construit une nouvelle vue CLI pour la planification de la semaine.
+     *
+     * @param in le flux pour lire les entrées utilisateur
+     * @param out le flux de sortie pour afficher les messages
+     */
+    public ScheduleWeekCLIView(TypeAheadReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    @Override
+    public int askWeeks(int defaultWeeks, int maxWeeks) {
+        out.println();
+        while (true) {
+            out.print("Nombre de semaines à planifier (1 à " + maxWeeks + ", " + defaultWeeks + " par défaut) : ");
+            String input = readLine();
+            if (input == null || input.isEmpty()) {
+                return defaultWeeks;
+            }
+            try {
+                int weeks = Integer.parseInt(input);
+                if (weeks >= 1 && weeks <= maxWeeks) {
+                    return weeks;
+                }
+            } catch (NumberFormatException e) {
+                // Entrée non numérique : nouvelle demande
+            }
+            out.println("Entrée inconnue");
+        }
+    }
+
+    @Override
+    public boolean waitForSearch(Future<?> search) {
+        out.println();
+        out.println("Recherche du planning en cours (Entrée pour interrompre)...");
+        // Lignes saisies à l'avance (script, client du démon) : rendues au menu après la recherche
+        List<String> typedAhead = new ArrayList<>();
+        try {
+            while (!search.isDone()) {
+                String line = in.pollLine();
+                if (line != null && line.isBlank()) {
+                    return true;
+                }
+                if (line != null) {
+                    typedAhead.add(line);
+                    continue;
+                }
+                try {
+                    search.get(INPUT_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // Toujours en cours : nouvelle surveillance de l'entrée
+                } catch (ExecutionException e) {
+                    return false; // L'erreur est signalée par le présentateur
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture de l'entrée utilisateur", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (int i = typedAhead.size() - 1; i >= 0; i--) {
+                in.unread(typedAhead.get(i));
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void showProgress(int explored, int strategies, String bestScheduled, int unplaced) {
+        out.printf("\r  %d/%d stratégies, meilleur planning : %s, %d séance(s) sans place   ",
+                explored, strategies, bestScheduled, unplaced);
+    }
+
+    @Override
+    public void showSearchInterrupted() {
+        out.println();
+        out.println("Recherche interrompue : le meilleur planning trouvé est retenu.");
+    }
+
+    @Override
+    public void beginSchedule(String mondayDate) {
+        out.println();
+        out.println("Planning de la semaine du " + mondayDate);
+    }
+
+    @Override
+    public void showDay(String dayLabel, List<SeanceViewModel> seances) {
+        out.println();
+        out.println(dayLabel);
+        if (seances.isEmpty()) {
+            out.println("  Aucune séance");
+            return;
+        }
+        for (SeanceViewModel seance : seances) {
+            out.printf("  %s - %s  salle %d  %s (%s)%n", seance.getStart(), seance.getEnd(), seance.getRoom(),
+                    seance.getTitle(), seance.getDurationHHMM());
+        }
+    }
+
+    @Override
+    public void showConflicts(List<String> conflicts) {
+        out.println();
+        out.println(conflicts.size() + " conflit(s) dans le planning enregistré, corrigé(s) ci-dessous :");
+        conflicts.forEach(conflict -> out.println("! " + conflict));
+    }
+
+    @Override
+    public void showRevision(List<String> added, List<String> moved, List<String> removed) {
+        out.println();
+        if (added.isEmpty() && moved.isEmpty() && removed.isEmpty()) {
+            out.println("Planning inchangé.");
+            return;
+        }
+        added.forEach(seance -> out.println("+ " + seance));
+        moved.forEach(seance -> out.println("~ " + seance));
+        removed.forEach(seance -> out.println("- " + seance));
+    }
+
+    @Override
+    public void endSchedule(int placed, int unplaced, List<String> unplacedTitles) {
+        out.println();
+        out.println(placed + " séance(s) planifiée(s).");
+        if (unplaced > 0) {
+            out.println(unplaced + " séance(s) sans place : " + String.join(", ", unplacedTitles));
+        }
+    }
+
+    @Override
+    public void showFollowingWeek(String mondayDate, int placed, int unplaced, int changed) {
+        out.printf("Semaine du %s : %d séance(s) planifiée(s), %d sans place, %d changement(s) par rapport à la semaine précédente%n",
+                mondayDate, placed, unplaced, changed);
+    }
+
+    @Override
+    public void displayError(String message) {
+        out.println("Erreur : " + message);
+    }
+
+    private String readLine() {
+        try {
+            String line = in.readLine();
+            return line == null ? null : line.trim();
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture de l'entrée utilisateur", e);
+            return null;
+        }
+    }
 }
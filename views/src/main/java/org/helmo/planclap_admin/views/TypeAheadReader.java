@@ -0,0 +1,129 @@
+package org.helmo.planclap_admin.views;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lecteur de la console partagé par le menu et les vues, capable de lire une ligne sans bloquer.
+ *
+ * <p>{@link #pollLine()} consomme les caractères déjà disponibles et ne rend une ligne que quand
+ * elle est complète : une vue peut ainsi surveiller l'entrée pendant un traitement. Les caractères
+ * lus sans former de ligne restent en attente, et une ligne qui ne concerne pas la vue peut être
+ * rendue par {@link #unread(String)} : dans les deux cas, la lecture suivante (celle du menu, par
+ * exemple) les retrouve en premier.</p>
+ */
+public final class TypeAheadReader extends BufferedReader {
+
+    // Caractères consommés mais pas encore rendus, lus avant le flux
+    private final StringBuilder pending = new StringBuilder();
+
+    /**
+     * @param in le flux d'entrée
+     */
+    public TypeAheadReader(Reader in) {
+        super(in);
+    }
+
+    /**
+     * Lit les caractères disponibles sans bloquer.
+     *
+     * @return la prochaine ligne, sans fin de ligne, ou null si aucune ligne complète n'est disponible
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public String pollLine() throws IOException {
+        synchronized (lock) {
+            while (pending.indexOf("\n") < 0 && super.ready()) {
+                int c = super.read();
+                if (c < 0) {
+                    break;
+                }
+                pending.append((char) c);
+            }
+            return pending.indexOf("\n") < 0 ? null : takeLine();
+        }
+    }
+
+    /**
+     * Remet une ligne en tête de l'entrée : elle sera lue avant tout le reste.
+     *
+     * @param line la ligne, sans fin de ligne
+     */
+    public void unread(String line) {
+        synchronized (lock) {
+            pending.insert(0, line + "\n");
+        }
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        synchronized (lock) {
+            if (pending.indexOf("\n") >= 0) {
+                return takeLine();
+            }
+            String rest = super.readLine();
+            if (pending.isEmpty()) {
+                return rest;
+            }
+            String line = pending + (rest == null ? "" : rest);
+            pending.setLength(0);
+            return stripCarriageReturn(line);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return super.read();
+            }
+            char c = pending.charAt(0);
+            pending.deleteCharAt(0);
+            return c;
+        }
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        synchronized (lock) {
+            if (pending.isEmpty() || length == 0) {
+                return super.read(buffer, offset, length);
+            }
+            int count = Math.min(length, pending.length());
+            pending.getChars(0, count, buffer, offset);
+            pending.delete(0, count);
+            return count;
+        }
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        synchronized (lock) {
+            return !pending.isEmpty() || super.ready();
+        }
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark() n'est pas supporté");
+    }
+
+    /**
+     * Retire la première ligne complète des caractères en attente.
+     */
+    private String takeLine() {
+        int end = pending.indexOf("\n");
+        String line = pending.substring(0, end);
+        pending.delete(0, end + 1);
+        return stripCarriageReturn(line);
+    }
+
+    private static String stripCarriageReturn(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+}